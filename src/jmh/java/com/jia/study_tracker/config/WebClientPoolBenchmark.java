@@ -0,0 +1,107 @@
+package com.jia.study_tracker.config;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI WebClient 커넥션 풀 크기별 처리량 벤치마크
+ *
+ * - MockWebServer가 OpenAI 응답을 흉내 냄 (응답마다 latencyMillis 만큼 지연)
+ * - 요약 실행과 같이 CONCURRENCY 개의 요청을 동시에 보내고 모두 끝날 때까지의 처리량(요청/초)을 측정
+ * - 풀이 동시 요청 수보다 작으면 커넥션 대기로 처리량이 풀 크기에 묶이는 것을 확인할 수 있음
+ * - 커넥터는 WebClientConfig.connector와 같은 구성 (평문 HTTP라 HTTP/2는 끔)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=WebClientPoolBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WebClientPoolBenchmark {
+
+    private static final int CONCURRENCY = 64;
+
+    private static final String RESPONSE = """
+            {"choices": [{"message": {"role": "assistant", "content": "요약: 자바를 학습했습니다.\\n피드백: 멋져요!"}}]}
+            """;
+
+    private static final String REQUEST = """
+            {"model": "gpt-4o-mini", "messages": [{"role": "user", "content": "오늘 자바 공부함"}]}
+            """;
+
+    @Param({"4", "16", "64"})
+    public int poolSize;
+
+    @Param({"5"})
+    public int latencyMillis;
+
+    private MockWebServer server;
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(RESPONSE)
+                        .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        HttpClientProperties.Upstream settings = new HttpClientProperties.Upstream(
+                poolSize, 10_000, Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofMinutes(5),
+                Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofSeconds(30), true, false);
+        connectionProvider = WebClientConfig.connectionProvider("benchmark-" + poolSize, settings);
+        webClient = WebClient.builder()
+                .baseUrl(server.url("/v1").toString())
+                .clientConnector(WebClientConfig.connector(connectionProvider, settings))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        connectionProvider.dispose();
+        server.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public Long concurrentCompletions() {
+        return Flux.range(0, CONCURRENCY)
+                .flatMap(i -> webClient.post()
+                        .uri("/chat/completions")
+                        .bodyValue(REQUEST)
+                        .retrieve()
+                        .bodyToMono(String.class), CONCURRENCY)
+                .count()
+                .block();
+    }
+}
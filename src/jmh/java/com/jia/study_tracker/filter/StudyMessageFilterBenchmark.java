@@ -0,0 +1,71 @@
+package com.jia.study_tracker.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KeywordStudyMessageFilter(키워드마다 contains)와 AhoCorasickStudyMessageFilter(한 번 순회) 비교
+ *
+ * - keywordCount: 팀별 동의어까지 늘렸을 때를 가정한 키워드 수
+ * - 메시지는 학습/비학습이 섞여 있고, 비학습 메시지는 끝까지 훑어야 하므로 최악의 경우에 해당함
+ * - 실행: ./gradlew jmh -Pjmh.includes=StudyMessageFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StudyMessageFilterBenchmark {
+
+    private static final List<String> BASE_KEYWORDS = List.of(
+            "공부", "강의", "복습", "학습", "인강", "문제풀이", "예습", "과제", "스터디", "독서",
+            "study", "lecture", "review", "homework", "leetcode", "algorithm", "course", "tutorial");
+
+    private static final String[] MESSAGES = {
+            "오늘 인강 2시간 들음",
+            "점심은 뭐 먹지? 오늘은 날씨가 좋아서 산책하고 싶다",
+            "Finished the Spring Security lecture and took notes",
+            "고양이가 귀엽다. 퇴근하고 집에 가서 영화나 봐야겠다. 내일은 주말이라 늦잠 예정",
+            "went to the gym after work and cooked dinner, nothing special today",
+            "알고리즘 문제풀이 3문제 완료",
+    };
+
+    @Param({"6", "100", "500"})
+    private int keywordCount;
+
+    private StudyMessageFilter keywordFilter;
+    private StudyMessageFilter ahoCorasickFilter;
+
+    @Setup
+    public void setUp() {
+        List<String> keywords = new ArrayList<>(BASE_KEYWORDS.subList(0, Math.min(keywordCount, BASE_KEYWORDS.size())));
+        for (int i = 0; keywords.size() < keywordCount; i++) {
+            keywords.add((i % 2 == 0 ? "학습주제" : "topic-") + i);
+        }
+        keywordFilter = new KeywordStudyMessageFilter(keywords);
+        ahoCorasickFilter = new AhoCorasickStudyMessageFilter(keywords);
+    }
+
+    @Benchmark
+    public void keyword(Blackhole blackhole) {
+        for (String message : MESSAGES) {
+            blackhole.consume(keywordFilter.isStudyRelated(message));
+        }
+    }
+
+    @Benchmark
+    public void ahoCorasick(Blackhole blackhole) {
+        for (String message : MESSAGES) {
+            blackhole.consume(ahoCorasickFilter.isStudyRelated(message));
+        }
+    }
+}
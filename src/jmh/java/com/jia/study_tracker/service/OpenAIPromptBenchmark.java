@@ -0,0 +1,65 @@
+package com.jia.study_tracker.service;
+
+import com.jia.study_tracker.dto.StudyLogSnapshot;
+import com.jia.study_tracker.service.dto.SummaryResult;
+import com.jia.study_tracker.service.dto.openai.Message;
+import com.jia.study_tracker.service.dto.openai.OpenAIRequest;
+import com.jia.study_tracker.service.dto.openai.OpenAIResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAIClientImpl의 CPU 구간 벤치마크 (HTTP 호출 제외)
+ *
+ * - buildRequest: 학습 로그를 합쳐 프롬프트를 만드는 구간
+ * - parseResponse: 응답 content에서 요약/피드백을 분리하는 구간
+ * - logCount: DAILY(수 건) ~ MONTHLY(수백 건) 요약에 들어가는 로그 수
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OpenAIPromptBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int logCount;
+
+    private OpenAIPromptBuilder promptBuilder;
+    private List<StudyLogSnapshot> logs;
+    private OpenAIResponse response;
+
+    @Setup
+    public void setUp() {
+        promptBuilder = new OpenAIPromptBuilder("gpt-4o-mini");
+
+        logs = new ArrayList<>(logCount);
+        LocalDateTime base = LocalDateTime.of(2025, 5, 1, 9, 0);
+        for (int i = 0; i < logCount; i++) {
+            logs.add(new StudyLogSnapshot("U123", "스프링 JPA 강의 " + i + "강을 듣고 영속성 컨텍스트를 복습했다", base.plusMinutes(i)));
+        }
+
+        response = new OpenAIResponse(List.of(new OpenAIResponse.Choice(new Message("assistant",
+                "요약: 이번 기간에는 스프링 JPA 강의를 꾸준히 수강하며 영속성 컨텍스트와 트랜잭션을 복습했습니다.\n"
+                        + "피드백: 매일 빠짐없이 기록한 점이 인상적이에요. 지금 페이스를 유지해보세요!"))));
+    }
+
+    @Benchmark
+    public OpenAIRequest buildRequest() {
+        return promptBuilder.buildRequest(logs);
+    }
+
+    @Benchmark
+    public SummaryResult parseResponse() {
+        return promptBuilder.parseResponse(response);
+    }
+}
@@ -0,0 +1,64 @@
+package com.jia.study_tracker.slack;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 슬랙 이벤트 역직렬화 벤치마크
+ *
+ * - SlackEventType.from: @JsonCreator로 매 요청마다 호출되는 enum 변환
+ * - SlackEventPayload 파싱: 컨트롤러에서 서명 검증 직후 수행하는 Jackson 역직렬화
+ *   (스프링과 같은 모듈 구성을 쓰기 위해 Jackson2ObjectMapperBuilder로 ObjectMapper 생성)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlackEventParsingBenchmark {
+
+    private static final String MESSAGE_EVENT = """
+            {
+              "token": "XXYYZZ",
+              "team_id": "T123ABC456",
+              "api_app_id": "A123ABC456",
+              "type": "event_callback",
+              "event_id": "Ev123ABC456",
+              "event_time": 1700000000,
+              "event": {
+                "type": "message",
+                "channel": "C123ABC456",
+                "user": "U123ABC456",
+                "text": "오늘은 스프링 트랜잭션 강의를 듣고 복습했다",
+                "ts": "1700000000.000100",
+                "event_ts": "1700000000.000100",
+                "client_msg_id": "a1b2c3d4-0000-0000-0000-000000000000",
+                "channel_type": "im"
+              }
+            }
+            """;
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public SlackEventType eventTypeFrom() {
+        return SlackEventType.from("event_callback");
+    }
+
+    @Benchmark
+    public SlackEventPayload parsePayload() throws Exception {
+        return objectMapper.readValue(MESSAGE_EVENT, SlackEventPayload.class);
+    }
+}
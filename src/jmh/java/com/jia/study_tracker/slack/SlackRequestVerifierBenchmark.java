@@ -0,0 +1,118 @@
+package com.jia.study_tracker.slack;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlackRequestVerifier.isValid 벤치마크 (모든 슬랙 요청마다 실행되는 HMAC 검증)
+ *
+ * - bodySize: 요청 본문 크기 (일반 메시지 이벤트는 1~2KB 수준)
+ * - legacy*: 요청마다 Mac 생성 + 문자열 결합 + hex 문자열 비교하던 이전 구현
+ * - replayRejected: 이미 처리한 요청이 다시 들어와 HMAC 계산 전에 거부되는 경로
+ * - 할당량 비교는 gc 프로파일러의 gc.alloc.rate.norm (B/op) 값으로 확인
+ * - 타임스탬프는 Setup 시점 기준이라 5분 허용 범위 안에서 측정이 끝나야 함
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlackRequestVerifierBenchmark {
+
+    private static final String SIGNING_SECRET = "benchmark-signing-secret";
+
+    @Param({"512", "4096"})
+    private int bodySize;
+
+    private SlackRequestVerifier verifier;
+    private SlackRequestVerifier replayCheckingVerifier;
+    private String timestamp;
+    private String body;
+    private byte[] rawBody;
+    private String validSignature;
+    private String invalidSignature;
+
+    @Setup
+    public void setUp() throws Exception {
+        // HMAC 경로를 반복 측정하기 위해 replay 캐시는 끔
+        verifier = newVerifier(false);
+        replayCheckingVerifier = newVerifier(true);
+
+        timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        body = "{\"type\":\"event_callback\",\"event\":{\"type\":\"message\",\"text\":\""
+                + "공부".repeat(Math.max(0, bodySize / 6)) + "\"}}";
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SIGNING_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] hmac = mac.doFinal(("v0:" + timestamp + ":" + body).getBytes(StandardCharsets.UTF_8));
+        rawBody = body.getBytes(StandardCharsets.UTF_8);
+        validSignature = "v0=" + HexFormat.of().formatHex(hmac);
+        invalidSignature = "v0=" + "0".repeat(64);
+
+        replayCheckingVerifier.isValid(validSignature, timestamp, rawBody);
+    }
+
+    private static SlackRequestVerifier newVerifier(boolean replayEnabled) {
+        SlackReplayCache replayCache = new SlackReplayCache(null, new SimpleMeterRegistry(), replayEnabled,
+                Duration.ofMinutes(5), Duration.ofSeconds(30), 100_000, false);
+        SlackRequestVerifier verifier = new SlackRequestVerifier(replayCache);
+        verifier.setSigningSecret(SIGNING_SECRET);
+        verifier.setVerifySignature(true);
+        return verifier;
+    }
+
+    @Benchmark
+    public boolean validSignature() {
+        return verifier.isValid(validSignature, timestamp, rawBody);
+    }
+
+    @Benchmark
+    public boolean invalidSignature() {
+        return verifier.isValid(invalidSignature, timestamp, rawBody);
+    }
+
+    @Benchmark
+    public boolean replayRejected() {
+        return replayCheckingVerifier.isValid(validSignature, timestamp, rawBody);
+    }
+
+    @Benchmark
+    public boolean legacyValidSignature() {
+        return legacyIsValid(validSignature, timestamp, body);
+    }
+
+    @Benchmark
+    public boolean legacyInvalidSignature() {
+        return legacyIsValid(invalidSignature, timestamp, body);
+    }
+
+    // 이전 SlackRequestVerifier 구현 (비교용)
+    private static boolean legacyIsValid(String signature, String timestamp, String body) {
+        try {
+            long requestTs = Long.parseLong(timestamp);
+            if (Math.abs(System.currentTimeMillis() / 1000 - requestTs) > 5L * 60) {
+                return false;
+            }
+            String baseString = "v0:" + timestamp + ":" + body;
+            SecretKeySpec key = new SecretKeySpec(SIGNING_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            byte[] hmac = mac.doFinal(baseString.getBytes(StandardCharsets.UTF_8));
+            return ("v0=" + HexFormat.of().formatHex(hmac)).equals(signature);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.jia.study_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 외부 API(OpenAI, Slack)별 HTTP 커넥터 설정 (http.client.openai.*, http.client.slack.*)
+ */
+@ConfigurationProperties(prefix = "http.client")
+public record HttpClientProperties(
+        @DefaultValue Upstream openai,
+        @DefaultValue Upstream slack
+) {
+
+    /**
+     * @param maxConnections          커넥션 풀 최대 크기 (요약 동시 요청 수 이상으로 잡아야 대기가 생기지 않음)
+     * @param pendingAcquireMaxCount  풀이 가득 찼을 때 커넥션을 기다릴 수 있는 최대 요청 수 (넘으면 바로 실패)
+     * @param pendingAcquireTimeout   커넥션을 기다리는 최대 시간
+     * @param maxIdleTime             이 시간 동안 쓰이지 않은 커넥션은 닫음 (서버/LB가 먼저 끊기 전에 정리)
+     * @param maxLifeTime             커넥션 최대 수명 (DNS 변경 반영)
+     * @param evictionInterval        유휴/수명 초과 커넥션을 백그라운드에서 정리하는 주기
+     * @param connectTimeout          TCP 연결 타임아웃
+     * @param responseTimeout         요청 전송 후 응답 헤더까지의 타임아웃
+     * @param compress                gzip 응답 압축 사용 여부
+     * @param http2                   TLS(ALPN)로 HTTP/2를 협상할지 여부 (불가하면 HTTP/1.1)
+     */
+    public record Upstream(
+            @DefaultValue("50") int maxConnections,
+            @DefaultValue("500") int pendingAcquireMaxCount,
+            @DefaultValue("10s") Duration pendingAcquireTimeout,
+            @DefaultValue("30s") Duration maxIdleTime,
+            @DefaultValue("5m") Duration maxLifeTime,
+            @DefaultValue("30s") Duration evictionInterval,
+            @DefaultValue("5s") Duration connectTimeout,
+            @DefaultValue("60s") Duration responseTimeout,
+            @DefaultValue("true") boolean compress,
+            @DefaultValue("true") boolean http2
+    ) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.jia.study_tracker.config;
 
 import com.jia.study_tracker.dto.SummaryRetryRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -10,12 +11,22 @@ import org.springframework.data.redis.serializer.*;
 @Configuration
 public class RedisConfig {
 
+    /**
+     * 재시도 큐(SummaryRetryRequest)용 템플릿
+     * summary.retry.serializer=binary면 클래스 정보 없이 필드 값만 저장하는 바이너리 형식을 사용
+     * (binary는 기존 JSON 항목도 읽을 수 있지만, binary → json 으로 되돌릴 때는 큐가 비어 있어야 함)
+     * 처리 중 목록의 항목은 꺼낼 때 받은 원본 바이트로 ack하므로 json → binary 전환은 큐가 비어 있지 않아도 됨
+     */
     @Bean
-    public RedisTemplate<String, SummaryRetryRequest> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, SummaryRetryRequest> redisTemplate(
+            RedisConnectionFactory connectionFactory,
+            @Value("${summary.retry.serializer:json}") String serializer) {
         RedisTemplate<String, SummaryRetryRequest> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer("binary".equalsIgnoreCase(serializer)
+                ? new SummaryRetryRequestSerializer()
+                : new GenericJackson2JsonRedisSerializer());
 
         return template;
     }
@@ -0,0 +1,84 @@
+package com.jia.study_tracker.config;
+
+import com.jia.study_tracker.dto.SummaryRetryRequest;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * SummaryRetryRequest 전용 바이너리 직렬화기 (summary.retry.serializer=binary)
+ *
+ * 배경:
+ * - GenericJackson2JsonRedisSerializer는 항목마다 필드 이름과 클래스 이름(@class)을 함께 저장해서
+ *   재시도 큐가 커지면 Redis 메모리와 네트워크 전송량이 불필요하게 늘어남
+ *
+ * 형식:
+ * - [버전(1바이트)] [slackUserId] [slackUsername] [summaryType] [targetDate] [retryCount(int)]
+ * - 문자열은 null 여부(1바이트) + modified UTF-8
+ * - 첫 바이트가 '{'면 이전 JSON 형식으로 보고 JSON으로 읽음 (json → binary 전환 중 남아 있는 항목 처리)
+ */
+public class SummaryRetryRequestSerializer implements RedisSerializer<SummaryRetryRequest> {
+
+    private static final byte VERSION = 1;
+
+    private final GenericJackson2JsonRedisSerializer legacySerializer = new GenericJackson2JsonRedisSerializer();
+
+    @Override
+    public byte[] serialize(SummaryRetryRequest request) throws SerializationException {
+        if (request == null) return null;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, request.getSlackUserId());
+            writeString(out, request.getSlackUsername());
+            writeString(out, request.getSummaryType());
+            writeString(out, request.getTargetDate());
+            out.writeInt(request.getRetryCount());
+        } catch (IOException e) {
+            throw new SerializationException("SummaryRetryRequest 직렬화 실패", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public SummaryRetryRequest deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) return null;
+        if (bytes[0] == '{') {
+            return (SummaryRetryRequest) legacySerializer.deserialize(bytes);
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new SerializationException("지원하지 않는 SummaryRetryRequest 형식 버전: " + version);
+            }
+            return new SummaryRetryRequest(
+                    readString(in),
+                    readString(in),
+                    readString(in),
+                    readString(in),
+                    in.readInt()
+            );
+        } catch (IOException e) {
+            throw new SerializationException("SummaryRetryRequest 역직렬화 실패", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -1,30 +1,95 @@
 package com.jia.study_tracker.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+/**
+ * 외부 API별 WebClient 구성
+ *
+ * 외부 API마다 별도 커넥션 풀(ConnectionProvider)을 사용함:
+ * - 요약 실행 중 OpenAI 요청이 몰려도 슬랙 전송이 커넥션을 기다리지 않도록 분리
+ * - 커넥션을 재사용(keep-alive)해서 요청마다 TCP/TLS 핸드셰이크를 하지 않음
+ * - 풀 지표는 Micrometer로 노출됨 (reactor.netty.connection.provider.*, name=openai|slack)
+ *
+ * 설정은 http.client.openai.*, http.client.slack.* (HttpClientProperties)
+ */
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class WebClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openAIConnectionProvider(HttpClientProperties properties) {
+        return connectionProvider("openai", properties.openai());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider slackConnectionProvider(HttpClientProperties properties) {
+        return connectionProvider("slack", properties.slack());
+    }
+
     @Bean
-    public WebClient openAIWebClient(@Value("${openai.api-key}") String openaiApiKey) {
+    public WebClient openAIWebClient(@Value("${openai.api-key}") String openaiApiKey,
+                                     ConnectionProvider openAIConnectionProvider,
+                                     HttpClientProperties properties) {
         return WebClient.builder()
                 .baseUrl("https://api.openai.com/v1")
+                .clientConnector(connector(openAIConnectionProvider, properties.openai()))
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + openaiApiKey)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
 
     @Bean
-    public WebClient slackWebClient(@Value("${slack.bot-token}") String botToken) {
+    public WebClient slackWebClient(@Value("${slack.bot-token}") String botToken,
+                                    ConnectionProvider slackConnectionProvider,
+                                    HttpClientProperties properties) {
         return WebClient.builder()
                 .baseUrl("https://slack.com/api")
+                .clientConnector(connector(slackConnectionProvider, properties.slack()))
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + botToken)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * 외부 API 하나의 커넥션 풀 생성 (벤치마크에서도 같은 구성을 쓰기 위해 public static)
+     */
+    public static ConnectionProvider connectionProvider(String name, HttpClientProperties.Upstream settings) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(settings.maxConnections())
+                .pendingAcquireMaxCount(settings.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.pendingAcquireTimeout())
+                .maxIdleTime(settings.maxIdleTime())
+                .maxLifeTime(settings.maxLifeTime())
+                .evictInBackground(settings.evictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * 커넥션 풀 위에 타임아웃/압축/프로토콜 설정을 얹은 커넥터
+     */
+    public static ReactorClientHttpConnector connector(ConnectionProvider connectionProvider, HttpClientProperties.Upstream settings) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(settings.connectTimeout().toMillis()))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(settings.responseTimeout())
+                .compress(settings.compress());
+        if (settings.http2()) {
+            // https 요청은 ALPN으로 HTTP/2를 협상하고, 서버가 지원하지 않으면 HTTP/1.1 사용
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -0,0 +1,69 @@
+package com.jia.study_tracker.controller;
+
+import com.jia.study_tracker.dto.SummaryDeadLetterPage;
+import com.jia.study_tracker.service.SummaryDeadLetterQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * 재시도를 포기한 요약 요청(DLQ) 관리 API
+ *
+ * - GET  /admin/summary-dlq?offset=0&limit=50 : 오래된 순 페이지 조회
+ * - POST /admin/summary-dlq/replay?limit=100 : 오래된 순으로 limit 개를 재시도 큐에 다시 등록
+ *
+ * X-Admin-Token 헤더가 admin.token과 같아야 하며, admin.token이 비어 있으면 모든 요청을 거부함
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/summary-dlq")
+@RequiredArgsConstructor
+public class SummaryDeadLetterAdminController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_REPLAY_SIZE = 10000;
+
+    private final SummaryDeadLetterQueue summaryDeadLetterQueue;
+
+    @Value("${admin.token:}")
+    private String adminToken;
+
+    @GetMapping
+    public ResponseEntity<SummaryDeadLetterPage> list(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @RequestParam(defaultValue = "0") long offset,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (!isAuthorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(summaryDeadLetterQueue.list(offset, Math.clamp(limit, 1, MAX_PAGE_SIZE)));
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Integer>> replay(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (!isAuthorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        int replayed = summaryDeadLetterQueue.replay(Math.clamp(limit, 1, MAX_REPLAY_SIZE));
+        log.info("DLQ 재처리 요청 - limit: {}, 등록: {}건", limit, replayed);
+        return ResponseEntity.ok(Map.of("replayed", replayed));
+    }
+
+    // 응답 시간으로 토큰을 추측할 수 없도록 상수 시간 비교
+    private boolean isAuthorized(String token) {
+        if (!StringUtils.hasText(adminToken) || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -8,13 +8,17 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 
+// 사용자별 기간 조회(user + timestamp 범위)를 위한 복합 인덱스
 @Entity
+@Table(indexes = @Index(name = "idx_study_log_user_timestamp", columnList = "user_slack_user_id, timestamp"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class StudyLog {
+public class StudyLog implements StudyLogContent {
 
+    // IDENTITY 전략은 insert마다 키를 받아와야 해서 JDBC 배치가 꺼지므로, pooled 시퀀스로 50개씩 미리 할당
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "study_log_seq")
+    @SequenceGenerator(name = "study_log_seq", sequenceName = "study_log_seq", allocationSize = 50)
     private Long id;
 
     private String content;
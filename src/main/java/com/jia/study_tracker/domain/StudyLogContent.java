@@ -0,0 +1,13 @@
+package com.jia.study_tracker.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * 요약 생성에 필요한 학습 로그의 최소 정보 (내용 + 작성 시각)
+ * StudyLog 엔티티와 읽기 전용 프로젝션(StudyLogSnapshot)이 함께 구현함
+ */
+public interface StudyLogContent {
+    String getContent();
+
+    LocalDateTime getTimestamp();
+}
@@ -9,7 +9,9 @@ import java.time.LocalDate;
 
 
 
+// 상위 기간 요약(rollup) 시 사용자별 타입/날짜 범위 조회를 위한 복합 인덱스
 @Entity
+@Table(indexes = @Index(name = "idx_summary_user_type_date", columnList = "user_slack_user_id, type, date"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Summary {
@@ -33,6 +35,7 @@ public class Summary {
     private String failureReason;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_slack_user_id")
     private User user;
 
     @Enumerated(EnumType.STRING)
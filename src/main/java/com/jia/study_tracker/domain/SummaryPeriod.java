@@ -0,0 +1,29 @@
+package com.jia.study_tracker.domain;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * 요약 타입(일/주/월)과 기준 날짜로 결정되는 로그 조회 구간
+ */
+public record SummaryPeriod(LocalDateTime start, LocalDateTime end) {
+
+    public static SummaryPeriod of(LocalDate baseDate, SummaryType type) {
+        return switch (type) {
+            case DAILY -> new SummaryPeriod(
+                    baseDate.atStartOfDay(),
+                    baseDate.plusDays(1).atStartOfDay());
+            // baseDate: 일요일(주 시작 기준)
+            case WEEKLY -> new SummaryPeriod(
+                    baseDate.atStartOfDay(),
+                    baseDate.plusDays(7).atStartOfDay());
+            case MONTHLY -> {
+                YearMonth month = YearMonth.from(baseDate);
+                yield new SummaryPeriod(
+                        month.atDay(1).atStartOfDay(),
+                        month.plusMonths(1).atDay(1).atStartOfDay());
+            }
+        };
+    }
+}
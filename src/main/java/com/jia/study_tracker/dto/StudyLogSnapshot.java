@@ -0,0 +1,19 @@
+package com.jia.study_tracker.dto;
+
+import com.jia.study_tracker.domain.StudyLogContent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 요약 생성용 StudyLog 읽기 전용 프로젝션
+ * 영속성 컨텍스트에 관리되지 않고, User 프록시도 만들지 않음
+ */
+@Getter
+@AllArgsConstructor
+public class StudyLogSnapshot implements StudyLogContent {
+    private String slackUserId;
+    private String content;
+    private LocalDateTime timestamp;
+}
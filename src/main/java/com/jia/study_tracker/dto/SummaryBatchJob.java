@@ -0,0 +1,12 @@
+package com.jia.study_tracker.dto;
+
+/**
+ * 제출된 배치 요약 작업 정보 (완료될 때까지 Redis에 보관됨)
+ * 작업에 담긴 사용자 ID는 별도의 Redis 집합에 보관됨 (SummaryBatchJobService 참고)
+ * @param jobId 배치 작업 ID (BatchJobClient가 발급)
+ * @param summaryType 요약 타입 (WEEKLY, MONTHLY)
+ * @param targetDate 요약 기준 날짜 (yyyy-MM-dd)
+ * @param requestCount 작업에 포함된 사용자 수
+ * @param submittedAt 제출 시각 (epoch millis)
+ */
+public record SummaryBatchJob(String jobId, String summaryType, String targetDate, int requestCount, long submittedAt) {}
@@ -0,0 +1,27 @@
+package com.jia.study_tracker.dto;
+
+/**
+ * 최대 재시도 횟수를 넘겨 폐기되는 대신 DLQ(Redis)에 보관되는 요약 요청
+ * @param slackUserId 슬랙 사용자 ID
+ * @param slackUsername 슬랙 사용자 이름
+ * @param summaryType 요약 타입 (DAILY, WEEKLY, MONTHLY)
+ * @param targetDate 요약 기준 날짜 (yyyy-MM-dd)
+ * @param attempts 재시도한 횟수
+ * @param reason 마지막 실패 원인
+ * @param failedAt DLQ로 옮겨진 시각 (epoch millis)
+ */
+public record SummaryDeadLetter(String slackUserId, String slackUsername, String summaryType, String targetDate,
+                                int attempts, String reason, long failedAt) {
+
+    public static SummaryDeadLetter of(SummaryRetryRequest request, int attempts, String reason, long failedAt) {
+        return new SummaryDeadLetter(request.getSlackUserId(), request.getSlackUsername(),
+                request.getSummaryType(), request.getTargetDate(), attempts, reason, failedAt);
+    }
+
+    /**
+     * 재처리할 때 사용하는 재시도 요청 (재시도 횟수는 0부터 다시 셈)
+     */
+    public SummaryRetryRequest toRetryRequest() {
+        return new SummaryRetryRequest(slackUserId, slackUsername, summaryType, targetDate, 0);
+    }
+}
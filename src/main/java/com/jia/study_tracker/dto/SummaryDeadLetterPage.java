@@ -0,0 +1,11 @@
+package com.jia.study_tracker.dto;
+
+import java.util.List;
+
+/**
+ * DLQ 조회 결과 (오래된 순)
+ * @param total DLQ 전체 항목 수
+ * @param offset 조회 시작 위치
+ * @param entries 조회된 항목
+ */
+public record SummaryDeadLetterPage(long total, long offset, List<SummaryDeadLetter> entries) {}
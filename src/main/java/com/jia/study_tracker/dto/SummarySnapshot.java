@@ -0,0 +1,20 @@
+package com.jia.study_tracker.dto;
+
+import com.jia.study_tracker.domain.SummaryType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 상위 기간 요약(rollup)에 쓰는 저장된 요약의 읽기 전용 프로젝션
+ * 피드백은 다시 쓰지 않으므로 요약 본문만 담음
+ */
+@Getter
+@AllArgsConstructor
+public class SummarySnapshot {
+    private String slackUserId;
+    private SummaryType type;
+    private LocalDate date;
+    private String summary;
+}
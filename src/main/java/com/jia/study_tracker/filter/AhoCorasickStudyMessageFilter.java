@@ -0,0 +1,157 @@
+package com.jia.study_tracker.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Aho–Corasick 오토마톤으로 모든 키워드를 텍스트 한 번 순회로 찾는 필터
+ *
+ * 배경:
+ * - KeywordStudyMessageFilter는 키워드마다 텍스트를 다시 훑기 때문에 키워드 수에 비례해 느려짐
+ * - 팀별 동의어(한/영)까지 수백 개로 늘릴 예정이라 키워드 수와 무관한 매칭이 필요함
+ *
+ * 구현:
+ * - 생성 시점에 트라이 + 실패 링크를 만들고, 전이를 CSR 형태의 배열(edgeStart/edgeSymbol/edgeTarget)로 압축함
+ * - 매칭 시에는 배열 조회만 하므로 호출마다 객체를 할당하지 않음
+ * - 영문은 대소문자를 구분하지 않음 (문자 단위 소문자 변환)
+ */
+@Component
+@ConditionalOnProperty(name = "study.filter.matcher", havingValue = "aho-corasick", matchIfMissing = true)
+public class AhoCorasickStudyMessageFilter implements StudyMessageFilter {
+
+    private static final int ROOT = 0;
+
+    // 키워드에 등장하는 문자 (정렬됨, 인덱스가 심볼 번호)
+    private final char[] alphabet;
+
+    // 상태 s의 전이는 edgeSymbol/edgeTarget[edgeStart[s] .. edgeStart[s + 1]) 구간 (심볼 오름차순)
+    private final int[] edgeStart;
+    private final int[] edgeSymbol;
+    private final int[] edgeTarget;
+
+    private final int[] failure;
+
+    // 이 상태(또는 실패 링크를 따라간 상태)에서 끝나는 키워드가 있는지 여부
+    private final boolean[] matches;
+
+    public AhoCorasickStudyMessageFilter(
+            @Value("${study.filter.keywords:공부,강의,복습,학습,인강,문제풀이}") List<String> keywords) {
+        List<String> normalized = keywords.stream()
+                .filter(StringUtils::hasText)
+                .map(keyword -> lowerCase(keyword.strip()))
+                .distinct()
+                .toList();
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("study.filter.keywords가 비어 있습니다.");
+        }
+
+        TreeSet<Character> chars = new TreeSet<>();
+        normalized.forEach(keyword -> keyword.chars().forEach(c -> chars.add((char) c)));
+        this.alphabet = new char[chars.size()];
+        int index = 0;
+        for (char c : chars) {
+            alphabet[index++] = c;
+        }
+
+        // 1. 트라이 구성 (생성 시점에만 Map 사용)
+        List<TreeMap<Integer, Integer>> trie = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(false);
+        for (String keyword : normalized) {
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                int symbol = Arrays.binarySearch(alphabet, keyword.charAt(i));
+                Integer next = trie.get(state).get(symbol);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminal.add(false);
+                    trie.get(state).put(symbol, next);
+                }
+                state = next;
+            }
+            terminal.set(state, true);
+        }
+
+        // 2. 전이를 배열로 압축
+        int stateCount = trie.size();
+        this.edgeStart = new int[stateCount + 1];
+        this.edgeSymbol = new int[stateCount - 1];
+        this.edgeTarget = new int[stateCount - 1];
+        int edge = 0;
+        for (int s = 0; s < stateCount; s++) {
+            edgeStart[s] = edge;
+            for (Map.Entry<Integer, Integer> entry : trie.get(s).entrySet()) {
+                edgeSymbol[edge] = entry.getKey();
+                edgeTarget[edge] = entry.getValue();
+                edge++;
+            }
+        }
+        edgeStart[stateCount] = edge;
+
+        // 3. BFS로 실패 링크 계산, 매칭 여부를 실패 링크 방향으로 전파
+        this.failure = new int[stateCount];
+        this.matches = new boolean[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+            queue.add(edgeTarget[e]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            matches[state] = terminal.get(state) || matches[failure[state]];
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                int child = edgeTarget[e];
+                failure[child] = transition(failure[state], edgeSymbol[e]);
+                queue.add(child);
+            }
+        }
+    }
+
+    @Override
+    public boolean isStudyRelated(String text) {
+        if (!StringUtils.hasText(text)) return false;
+
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            int symbol = Arrays.binarySearch(alphabet, Character.toLowerCase(text.charAt(i)));
+            if (symbol < 0) {
+                // 키워드에 없는 문자면 어떤 키워드도 이어질 수 없음
+                state = ROOT;
+                continue;
+            }
+            state = transition(state, symbol);
+            if (matches[state]) return true;
+        }
+        return false;
+    }
+
+    // goto가 없으면 실패 링크를 따라가며 전이 (루트에서는 제자리)
+    private int transition(int state, int symbol) {
+        while (true) {
+            int e = Arrays.binarySearch(edgeSymbol, edgeStart[state], edgeStart[state + 1], symbol);
+            if (e >= 0) return edgeTarget[e];
+            if (state == ROOT) return ROOT;
+            state = failure[state];
+        }
+    }
+
+    private static String lowerCase(String keyword) {
+        char[] chars = keyword.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+}
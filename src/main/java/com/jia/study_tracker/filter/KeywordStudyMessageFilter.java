@@ -1,19 +1,41 @@
 package com.jia.study_tracker.filter;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Locale;
 
+/**
+ * 키워드마다 String.contains로 확인하는 단순 필터
+ * study.filter.matcher=keyword 일 때 사용 (기본은 AhoCorasickStudyMessageFilter)
+ * 키워드 목록(study.filter.keywords)과 대소문자 무시 규칙은 AhoCorasickStudyMessageFilter와 같음
+ */
 @Component
+@ConditionalOnProperty(name = "study.filter.matcher", havingValue = "keyword")
 public class KeywordStudyMessageFilter implements StudyMessageFilter {
 
-    private static final List<String> STUDY_KEYWORDS = List.of("공부", "강의", "복습", "학습", "인강", "문제풀이");
+    private final List<String> keywords;
+
+    public KeywordStudyMessageFilter(
+            @Value("${study.filter.keywords:공부,강의,복습,학습,인강,문제풀이}") List<String> keywords) {
+        this.keywords = keywords.stream()
+                .filter(StringUtils::hasText)
+                .map(keyword -> keyword.strip().toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+        if (this.keywords.isEmpty()) {
+            throw new IllegalArgumentException("study.filter.keywords가 비어 있습니다.");
+        }
+    }
 
     @Override
     public boolean isStudyRelated(String text) {
         if (!StringUtils.hasText(text)) return false;
-        return STUDY_KEYWORDS.stream().anyMatch(text::contains);
+        String normalized = text.toLowerCase(Locale.ROOT);
+        return keywords.stream().anyMatch(normalized::contains);
     }
 
 }
@@ -2,12 +2,31 @@ package com.jia.study_tracker.repository;
 
 import com.jia.study_tracker.domain.StudyLog;
 import com.jia.study_tracker.domain.User;
+import com.jia.study_tracker.dto.StudyLogSnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface StudyLogRepository extends JpaRepository<StudyLog, Long> {
 
     List<StudyLog> findByUserAndTimestampBetween(User user, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 여러 사용자의 로그를 한 번의 쿼리로 조회 (user 테이블 조인 없이 FK 컬럼으로 필터링)
+     * 엔티티 대신 내용/시각만 담은 프로젝션을 반환하여 영속성 컨텍스트와 User 프록시 생성을 피함
+     */
+    @Query("""
+            select new com.jia.study_tracker.dto.StudyLogSnapshot(l.user.slackUserId, l.content, l.timestamp)
+            from StudyLog l
+            where l.user.slackUserId in :slackUserIds
+              and l.timestamp between :start and :end
+            order by l.timestamp
+            """)
+    List<StudyLogSnapshot> findSnapshots(@Param("slackUserIds") Collection<String> slackUserIds,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end);
 }
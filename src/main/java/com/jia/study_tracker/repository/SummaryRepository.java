@@ -1,8 +1,32 @@
 package com.jia.study_tracker.repository;
 
 import com.jia.study_tracker.domain.Summary;
+import com.jia.study_tracker.domain.SummaryType;
+import com.jia.study_tracker.dto.SummarySnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public interface SummaryRepository extends JpaRepository<Summary, Long> {
 
-}
\ No newline at end of file
+    /**
+     * 여러 사용자의 성공한 요약을 타입/기간([start, end))으로 한 번에 조회 (같은 날짜는 나중에 저장된 것이 뒤에 옴)
+     */
+    @Query("""
+            select new com.jia.study_tracker.dto.SummarySnapshot(s.user.slackUserId, s.type, s.date, s.summary)
+            from Summary s
+            where s.user.slackUserId in :slackUserIds
+              and s.type in :types
+              and s.success = true
+              and s.date >= :start and s.date < :end
+            order by s.date, s.id
+            """)
+    List<SummarySnapshot> findSnapshots(@Param("slackUserIds") Collection<String> slackUserIds,
+                                        @Param("types") Collection<SummaryType> types,
+                                        @Param("start") LocalDate start,
+                                        @Param("end") LocalDate end);
+}
@@ -2,8 +2,30 @@ package com.jia.study_tracker.repository;
 
 
 import com.jia.study_tracker.domain.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, String> {
 
-}
\ No newline at end of file
+    /**
+     * slackUserId 기준 keyset 페이징
+     * 직전 청크의 마지막 slackUserId 이후 사용자를 limit 명까지 정렬된 순서로 조회
+     */
+    List<User> findBySlackUserIdGreaterThanOrderBySlackUserIdAsc(String slackUserId, Limit limit);
+
+    /**
+     * 구간 (slackUserId, endInclusive] 안에서의 keyset 페이징 (분산 실행 시 파티션 처리용)
+     */
+    List<User> findBySlackUserIdGreaterThanAndSlackUserIdLessThanEqualOrderBySlackUserIdAsc(
+            String slackUserId, String endInclusive, Limit limit);
+
+    /**
+     * slackUserId 이후의 사용자 ID만 limit 개 조회 (파티션 경계를 정할 때 엔티티를 읽지 않도록)
+     */
+    @Query("select u.slackUserId from User u where u.slackUserId > :after order by u.slackUserId asc")
+    List<String> findSlackUserIdsAfter(@Param("after") String after, Limit limit);
+}
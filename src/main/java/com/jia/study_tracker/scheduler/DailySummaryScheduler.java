@@ -1,7 +1,7 @@
 package com.jia.study_tracker.scheduler;
 
 import com.jia.study_tracker.domain.SummaryType;
-import com.jia.study_tracker.service.SummaryGenerationService;
+import com.jia.study_tracker.service.SummaryRunCoordinator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -11,16 +11,17 @@ import java.time.LocalDate;
 
 /**
  * 매일 밤 10시 스케줄러 작동
+ * 인스턴스가 여러 개면 SummaryRunCoordinator가 사용자마다 한 번만 처리되도록 조정함
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class DailySummaryScheduler {
 
-    private final SummaryGenerationService summaryGenerationService;
+    private final SummaryRunCoordinator summaryRunCoordinator;
 
     @Scheduled(cron = "0 0 22 * * *")
     public void generateDailySummaries() {
-        summaryGenerationService.generateSummaries(LocalDate.now(), SummaryType.DAILY);
+        summaryRunCoordinator.run(LocalDate.now(), SummaryType.DAILY);
     }
 }
@@ -1,9 +1,11 @@
 package com.jia.study_tracker.scheduler;
 
 import com.jia.study_tracker.domain.SummaryType;
-import com.jia.study_tracker.service.SummaryGenerationService;
+import com.jia.study_tracker.service.SummaryBatchJobService;
+import com.jia.study_tracker.service.SummaryRunCoordinator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -11,18 +13,29 @@ import java.time.LocalDate;
 
 /**
  * 매월 1일 밤 8시 스케줄러 작동
+ * 인스턴스가 여러 개면 SummaryRunCoordinator가 사용자마다 한 번만 처리되도록 조정함 (배치 작업 제출은 한 인스턴스만)
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class MonthlySummaryScheduler {
 
-    private final SummaryGenerationService summaryGenerationService;
+    private final SummaryRunCoordinator summaryRunCoordinator;
+    private final SummaryBatchJobService summaryBatchJobService;
+
+    // true면 결과를 기다리지 않는 배치 작업으로 제출 (결과는 SummaryBatchJobPoller가 처리)
+    @Value("${summary.batch-job.enabled:false}")
+    private boolean batchJobEnabled;
 
     @Scheduled(cron = "0 0 20 1 * *")
     public void generateMonthlySummaries() {
         LocalDate today = LocalDate.now();
-        summaryGenerationService.generateSummaries(today, SummaryType.MONTHLY);
+        if (batchJobEnabled) {
+            summaryRunCoordinator.runExclusively("batch-job:MONTHLY:" + today,
+                    () -> summaryBatchJobService.submit(today, SummaryType.MONTHLY));
+            return;
+        }
+        summaryRunCoordinator.run(today, SummaryType.MONTHLY);
     }
 }
 
@@ -0,0 +1,24 @@
+package com.jia.study_tracker.scheduler;
+
+import com.jia.study_tracker.service.SummaryBatchJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 제출된 배치 요약 작업이 끝났는지 주기적으로 확인
+ * 작업이 끝날 때까지 스레드를 붙잡고 기다리지 않고, 폴링 주기마다 상태만 확인함
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "summary.batch-job.enabled", havingValue = "true")
+public class SummaryBatchJobPoller {
+
+    private final SummaryBatchJobService summaryBatchJobService;
+
+    @Scheduled(fixedDelayString = "${summary.batch-job.poll-interval:PT5M}")
+    public void pollBatchJobs() {
+        summaryBatchJobService.pollPendingJobs();
+    }
+}
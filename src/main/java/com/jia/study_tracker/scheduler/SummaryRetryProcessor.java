@@ -1,6 +1,6 @@
 package com.jia.study_tracker.scheduler;
 
-import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.domain.StudyLogContent;
 import com.jia.study_tracker.domain.Summary;
 import com.jia.study_tracker.domain.SummaryType;
 import com.jia.study_tracker.domain.User;
@@ -9,36 +9,52 @@ import com.jia.study_tracker.repository.UserRepository;
 import com.jia.study_tracker.service.OpenAIClient;
 import com.jia.study_tracker.service.SlackNotificationService;
 import com.jia.study_tracker.service.StudyLogQueryService;
+import com.jia.study_tracker.service.SummaryDeadLetterQueue;
+import com.jia.study_tracker.service.SummaryRetryQueue;
+import com.jia.study_tracker.service.SummaryRetryQueue.Claimed;
 import com.jia.study_tracker.service.SummarySaver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Redis 큐에 등록된 실패한 요약 요청을 주기적으로 꺼내어 재시도 처리하는 컴포넌트
  *
  * 주요 책임:
- * - Redis 리스트(summary-retry-queue)에서 실패 요청을 하나씩 꺼냄
- * - 해당 유저의 StudyLog를 조회하고, OpenAI를 통해 요약을 재생성
+ * - 재시도 큐(SummaryRetryQueue, ZSET)에서 재시도 시각이 된 요청만 batch-size 개씩 꺼냄
+ * - 같은 타입/날짜의 요청끼리 묶어 사용자와 StudyLog를 일괄 조회하고, OpenAI를 통해 요약을 재생성
+ *   (요청별 OpenAI 호출은 가상 스레드에서 병렬로 처리, 동시 요청 수는 concurrency로 제한)
  * - 성공 시 Summary 저장 및 사용자에게 Slack으로 요약 전송
- * - 실패 시 다시 큐에 넣어 재시도 기회를 유지
+ * - 실패 시 retryCount를 늘려 지수 백오프 + 지터만큼 뒤로 미뤄서 다시 등록
  *
  * 신뢰성 보장:
  * - SummaryGenerationService에서 실패한 요청을 보존하고,
  *   일정 간격으로 재시도함으로써 최소 1회 이상 요약 생성 보장 (at-least-once)
- * - 다만 재시도는 무한루프 방지를 위해 5회 미만으로 제한함
+ * - 다만 재시도는 무한루프 방지를 위해 5회 미만으로 제한하고, 재시도를 포기한 요청은 DLQ(SummaryDeadLetterQueue)에 보관함
+ * - 실패한 요청은 미래 시각으로 다시 등록되므로 같은 실행 안에서 다시 꺼내지지 않음 (busy-loop 없음)
+ * - 꺼낸 요청은 처리가 끝날 때까지 처리 중 목록에 임대로 남아 있고, 처리 도중 인스턴스가 죽으면
+ *   임대 만료 후 reclaimExpiredLeases가 큐로 되돌림 (여러 인스턴스가 동시에 소비해도 유실/중복 꺼냄 없음)
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class SummaryRetryProcessor {
 
-    private final RedisTemplate<String, SummaryRetryRequest> redisTemplate;
+    private final SummaryRetryQueue summaryRetryQueue;
+    private final SummaryDeadLetterQueue summaryDeadLetterQueue;
     private final UserRepository userRepository;
     private final StudyLogQueryService studyLogQueryService;
     private final OpenAIClient openAIClient;
@@ -47,61 +63,173 @@ public class SummaryRetryProcessor {
 
     private static final int MAX_RETRY_COUNT = 5;
 
-    @Scheduled(fixedDelay = 5 * 60 * 1000) // 5분마다 실행
+    // 한 번에 꺼내서 로그를 일괄 조회하는 요청 수
+    @Value("${summary.retry.batch-size:100}")
+    private int batchSize = 100;
+
+    // 한 번 실행할 때 처리하는 최대 배치 수 (밀린 요청은 다음 실행에서 처리)
+    @Value("${summary.retry.max-batches-per-run:10}")
+    private int maxBatchesPerRun = 10;
+
+    // 동시에 재시도하는 요청 수 (OpenAI 속도 제한은 OpenAIRateLimiter가 별도로 적용)
+    @Value("${summary.retry.concurrency:8}")
+    private int concurrency = 8;
+
+    // 정기 실행과 같은 입력으로 다시 요약하도록 SummaryGenerationService와 같은 설정을 따름
+    @Value("${summary.generation.rollup.enabled:false}")
+    private boolean rollupEnabled;
+
+    // 같은 요약 타입/날짜를 가진 요청끼리 묶어서 로그를 한 번에 조회하기 위한 키
+    private record RetryTarget(SummaryType type, LocalDate date) {
+        static RetryTarget of(SummaryRetryRequest request) {
+            return new RetryTarget(SummaryType.valueOf(request.getSummaryType()), LocalDate.parse(request.getTargetDate()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${summary.retry.poll-interval:PT30S}")
     public void processRetryQueue() {
-        while (true) {
-            SummaryRetryRequest request = redisTemplate.opsForList().leftPop("summary-retry-queue");
-            if (request == null) break;
+        int pageSize = Math.max(1, batchSize);
+        summaryRetryQueue.migrateLegacy(pageSize);
+
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<Claimed> batch = summaryRetryQueue.claimDue(pageSize);
+            if (batch.isEmpty()) break;
+
+            processBatch(batch);
 
+            if (batch.size() < pageSize) break;
+        }
+    }
+
+    // 처리하던 인스턴스가 죽어서 임대가 만료된 요청을 재시도 큐로 되돌림
+    @Scheduled(fixedDelayString = "${summary.retry.reaper-interval:PT1M}")
+    public void reclaimExpiredLeases() {
+        summaryRetryQueue.reclaimExpired(Math.max(1, batchSize));
+    }
+
+    private void processBatch(List<Claimed> batch) {
+        Map<RetryTarget, List<Claimed>> groups = new LinkedHashMap<>();
+        for (Claimed claimed : batch) {
+            SummaryRetryRequest request = claimed.request();
             if (request.getRetryCount() >= MAX_RETRY_COUNT) {
-                log.error("❌ 최대 재시도 초과 - 폐기됨: {} (type: {}, date: {})",
-                        request.getSlackUserId(), request.getSummaryType(), request.getTargetDate());
+                deadLetter(claimed, request.getRetryCount(), "최대 재시도 초과");
                 continue;
             }
+            try {
+                groups.computeIfAbsent(RetryTarget.of(request), key -> new ArrayList<>()).add(claimed);
+            } catch (Exception e) {
+                requeue(claimed, e);
+            }
+        }
 
-            log.info("Redis 재시도 처리 시작: {} (retryCount: {})",
-                    request.getSlackUserId(), request.getRetryCount());
+        Semaphore inFlight = new Semaphore(Math.max(1, concurrency));
+        // close()가 제출된 모든 재시도의 완료를 기다림
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("summary-retry-vt-", 0).factory())) {
+            groups.forEach((target, requests) -> processGroup(executor, inFlight, target, requests));
+        }
+    }
 
-            try {
-                User user = userRepository.findById(request.getSlackUserId())
-                        .orElseThrow(() -> new IllegalArgumentException("User not found: " + request.getSlackUserId()));
+    /**
+     * 같은 타입/날짜의 요청들에 대해 사용자와 로그를 각각 쿼리 한 번으로 조회한 뒤 요청별로 재시도
+     */
+    private void processGroup(ExecutorService executor, Semaphore inFlight,
+                              RetryTarget target, List<Claimed> requests) {
+        List<String> userIds = requests.stream().map(claimed -> claimed.request().getSlackUserId()).distinct().toList();
 
-                LocalDate date = LocalDate.parse(request.getTargetDate());
-                SummaryType type = SummaryType.valueOf(request.getSummaryType());
+        Map<String, User> users;
+        Map<String, List<StudyLogContent>> logsByUser;
+        try {
+            users = userRepository.findAllById(userIds).stream()
+                    .collect(Collectors.toMap(User::getSlackUserId, Function.identity()));
+            logsByUser = rollupEnabled && target.type() != SummaryType.DAILY
+                    ? studyLogQueryService.getRollupLogsByUser(userIds, target.date(), target.type())
+                    : studyLogQueryService.getLogsByUser(userIds, target.date(), target.type());
+        } catch (Exception e) {
+            requests.forEach(claimed -> requeue(claimed, e));
+            return;
+        }
 
-                List<StudyLog> logs = studyLogQueryService.getLogs(user.getSlackUserId(), date, type);
-                if (logs.isEmpty()) {
-                    log.debug("[{}] {} 로그 없음 - 요약 생략 (재시도)", user.getSlackUsername(), type);
-                    continue;
+        for (Claimed claimed : requests) {
+            String slackUserId = claimed.request().getSlackUserId();
+            User user = users.get(slackUserId);
+            List<StudyLogContent> logs = logsByUser.getOrDefault(slackUserId, List.of());
+            // 진행 중인 재시도가 가득 차면 제출을 멈춤
+            inFlight.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    retryOne(claimed, user, logs, target);
+                } finally {
+                    inFlight.release();
                 }
+            });
+        }
+    }
 
-                var result = openAIClient.generateSummaryAndFeedback(logs);
-                Summary summary = new Summary(
-                        date,
-                        result.getSummary(),
-                        result.getFeedback(),
-                        true,
-                        null,
-                        user,
-                        type
-                );
-                summarySaver.save(summary);
-                slackNotificationService.sendSummaryToUser(user, summary);
-                log.info("✅ 재시도 성공: {}", user.getSlackUserId());
+    private void retryOne(Claimed claimed, User user, List<StudyLogContent> logs, RetryTarget target) {
+        SummaryRetryRequest request = claimed.request();
+        log.info("Redis 재시도 처리 시작: {} (retryCount: {})",
+                request.getSlackUserId(), request.getRetryCount());
 
-            } catch (Exception e) {
-                log.error("❌ 재시도 실패 → 다시 큐에 넣음: {} - {}", request.getSlackUserId(), e.getMessage());
-
-                // retryCount 증가 후 재등록
-                SummaryRetryRequest retry = new SummaryRetryRequest(
-                        request.getSlackUserId(),
-                        request.getSlackUsername(),
-                        request.getSummaryType(),
-                        request.getTargetDate(),
-                        request.getRetryCount() + 1
-                );
-                redisTemplate.opsForList().rightPush("summary-retry-queue", retry);
+        try {
+            if (user == null) {
+                throw new IllegalArgumentException("User not found: " + request.getSlackUserId());
+            }
+
+            if (logs.isEmpty()) {
+                log.debug("[{}] {} 로그 없음 - 요약 생략 (재시도)", user.getSlackUsername(), target.type());
+                summaryRetryQueue.ack(claimed);
+                return;
             }
+
+            var result = openAIClient.generateSummaryAndFeedback(logs);
+            Summary summary = new Summary(
+                    target.date(),
+                    result.getSummary(),
+                    result.getFeedback(),
+                    true,
+                    null,
+                    user,
+                    target.type()
+            );
+            summarySaver.save(summary);
+            slackNotificationService.sendSummaryToUser(user, summary);
+            summaryRetryQueue.ack(claimed);
+            log.info("✅ 재시도 성공: {}", user.getSlackUserId());
+
+        } catch (Exception e) {
+            requeue(claimed, e);
+        }
+    }
+
+    private void requeue(Claimed claimed, Exception e) {
+        SummaryRetryRequest request = claimed.request();
+        int nextRetryCount = request.getRetryCount() + 1;
+        if (nextRetryCount >= MAX_RETRY_COUNT) {
+            deadLetter(claimed, nextRetryCount, e.getMessage());
+            return;
+        }
+        log.error("❌ 재시도 실패 → 백오프 후 다시 큐에 넣음: {} - {}", request.getSlackUserId(), e.getMessage());
+
+        // retryCount 증가 후 재등록
+        SummaryRetryRequest retry = new SummaryRetryRequest(
+                request.getSlackUserId(),
+                request.getSlackUsername(),
+                request.getSummaryType(),
+                request.getTargetDate(),
+                nextRetryCount
+        );
+        summaryRetryQueue.retryLater(claimed, retry);
+    }
+
+    // DLQ 보관 후 ack. 실패하면 ack하지 않고 넘어가서 임대 만료 후 다시 꺼내짐 (배치의 다른 요청은 계속 처리)
+    private void deadLetter(Claimed claimed, int retryCount, String reason) {
+        SummaryRetryRequest request = claimed.request();
+        try {
+            summaryDeadLetterQueue.add(request, retryCount, reason);
+            summaryRetryQueue.ack(claimed);
+        } catch (Exception e) {
+            log.error("DLQ 보관 실패 - 임대 만료 후 다시 처리: {} - {}", request.getSlackUserId(), e.getMessage());
         }
     }
 }
@@ -0,0 +1,284 @@
+package com.jia.study_tracker.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jia.study_tracker.domain.StudyLogContent;
+import com.jia.study_tracker.service.dto.SummaryResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 같은 로그로 다시 요약을 요청하면 OpenAI를 호출하지 않고 저장된 결과를 돌려주는 OpenAIClient / ReactiveOpenAIClient
+ *
+ * 배경:
+ * - 재시도나 수동 재실행 시 로그가 바뀌지 않았는데도 OpenAI를 다시 호출해 비용과 지연이 발생함
+ * - 재시도 프로세서(SummaryRetryProcessor)와 수동 재실행(TestSchedulerController, dev/docker 프로필)은 모두
+ *   기본(@Primary) OpenAIClient 빈인 이 클래스를 거치므로 같은 캐시를 사용함
+ *
+ * 캐시 키:
+ * - SHA-256(프롬프트 설정값(모델, 프롬프트 버전, 토큰 한도) + 순서대로의 로그 내용)
+ * - 로그 내용은 길이를 앞에 붙여서 이어 붙임 (경계가 달라 내용이 같아 보이는 경우를 구분)
+ *
+ * 저장소:
+ * - 1차: 크기 제한/TTL이 있는 인메모리 캐시
+ *   (OpenAI 호출은 캐시의 compute 밖에서 함. 호출 시간 동안 캐시 내부 락을 잡아 가상 스레드가 고정되는 것을 피하기 위함)
+ * - 2차(redis-enabled): Redis에 TTL과 함께 보관해 인스턴스 간/재시작 후에도 재사용. Redis 장애 시 건너뜀
+ *
+ * 논블로킹 경로 (summarize):
+ * - reactive 실행 모드도 같은 캐시를 사용함. 인메모리 조회는 구독 시점(Mono.defer)에 하고,
+ *   블로킹인 Redis 조회/저장은 boundedElastic 스케줄러에서 실행함
+ *
+ * 지표:
+ * - openai.summary.cache.requests (result=local-hit | redis-hit | miss), openai.summary.cache.hit.ratio
+ * - 인메모리 캐시 자체의 지표는 cache=openai-summaries로 노출됨
+ *
+ * 배치 요약 (generateBatchSummaries):
+ * - 요청 단위가 아니라 사용자별 로그로 캐시함. 사용자마다 같은 키(cacheKey)로 먼저 조회하고,
+ *   캐시에 없는 사용자만 묶어서 OpenAI에 보낸 뒤 사용자별 결과를 각각 저장함
+ */
+@Slf4j
+@Primary
+@Component
+@Profile("!mock-openai")
+public class CachingOpenAIClient implements OpenAIClient, ReactiveOpenAIClient {
+
+    private static final String KEY_PREFIX = "openai:summary:";
+
+    private final OpenAIClientImpl delegate;
+    private final OpenAIPromptBuilder openAIPromptBuilder;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final Duration ttl;
+    private final Cache<String, SummaryResult> localCache;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    public CachingOpenAIClient(OpenAIClientImpl delegate,
+                               OpenAIPromptBuilder openAIPromptBuilder,
+                               StringRedisTemplate stringRedisTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${openai.cache.enabled:true}") boolean enabled,
+                               @Value("${openai.cache.max-size:10000}") long maxSize,
+                               @Value("${openai.cache.ttl:7d}") Duration ttl,
+                               @Value("${openai.cache.redis-enabled:false}") boolean redisEnabled) {
+        this.delegate = delegate;
+        this.openAIPromptBuilder = openAIPromptBuilder;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.ttl = ttl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "openai-summaries");
+
+        this.localHits = requestCounter(meterRegistry, "local-hit");
+        this.redisHits = requestCounter(meterRegistry, "redis-hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        Gauge.builder("openai.summary.cache.hit.ratio", this, CachingOpenAIClient::hitRatio)
+                .description("요약 캐시 적중률 (인메모리 + Redis)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SummaryResult generateSummaryAndFeedback(List<? extends StudyLogContent> logs) {
+        if (!enabled) {
+            return delegate.generateSummaryAndFeedback(logs);
+        }
+
+        String key = cacheKey(logs);
+        SummaryResult cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        misses.increment();
+        // OpenAI 호출 예외는 그대로 전파되고 저장되지 않음
+        SummaryResult result = delegate.generateSummaryAndFeedback(logs);
+        localCache.put(key, result);
+        writeToRedis(key, result);
+        return result;
+    }
+
+    @Override
+    public Mono<SummaryResult> summarize(List<? extends StudyLogContent> logs) {
+        if (!enabled) {
+            return delegate.summarize(logs);
+        }
+
+        return Mono.defer(() -> {
+            String key = cacheKey(logs);
+            SummaryResult cached = localCache.getIfPresent(key);
+            if (cached != null) {
+                localHits.increment();
+                return Mono.just(cached);
+            }
+
+            Mono<SummaryResult> stored = redisEnabled
+                    ? Mono.fromCallable(() -> readFromRedis(key)).subscribeOn(Schedulers.boundedElastic())
+                    : Mono.empty();
+            return stored
+                    .doOnNext(result -> {
+                        redisHits.increment();
+                        localCache.put(key, result);
+                    })
+                    .switchIfEmpty(Mono.defer(() -> {
+                        misses.increment();
+                        // 실패 신호는 그대로 전달되고 저장되지 않음
+                        return delegate.summarize(logs).flatMap(result -> store(key, result));
+                    }));
+        });
+    }
+
+    private Mono<SummaryResult> store(String key, SummaryResult result) {
+        localCache.put(key, result);
+        if (!redisEnabled) {
+            return Mono.just(result);
+        }
+        return Mono.fromRunnable(() -> writeToRedis(key, result))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(result);
+    }
+
+    @Override
+    public Map<String, SummaryResult> generateBatchSummaries(Map<String, ? extends List<? extends StudyLogContent>> logsByUser) {
+        if (!enabled) {
+            return delegate.generateBatchSummaries(logsByUser);
+        }
+
+        Map<String, SummaryResult> results = new HashMap<>();
+        Map<String, String> missedKeys = new HashMap<>();
+        Map<String, List<? extends StudyLogContent>> missedLogs = new LinkedHashMap<>();
+        logsByUser.forEach((slackUserId, logs) -> {
+            String key = cacheKey(logs);
+            SummaryResult cached = lookup(key);
+            if (cached != null) {
+                results.put(slackUserId, cached);
+            } else {
+                missedKeys.put(slackUserId, key);
+                missedLogs.put(slackUserId, logs);
+            }
+        });
+        if (missedLogs.isEmpty()) {
+            return results;
+        }
+
+        misses.increment(missedLogs.size());
+        // 응답에서 빠진 사용자는 저장하지 않으므로 다음 요청에서 다시 호출됨
+        delegate.generateBatchSummaries(missedLogs).forEach((slackUserId, result) -> {
+            String key = missedKeys.get(slackUserId);
+            if (key == null) return;
+            localCache.put(key, result);
+            writeToRedis(key, result);
+            results.put(slackUserId, result);
+        });
+        return results;
+    }
+
+    // 인메모리 → Redis 순으로 조회하고, Redis에서 찾으면 인메모리에도 채움
+    private SummaryResult lookup(String key) {
+        SummaryResult cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+        SummaryResult stored = readFromRedis(key);
+        if (stored != null) {
+            redisHits.increment();
+            localCache.put(key, stored);
+        }
+        return stored;
+    }
+
+    private SummaryResult readFromRedis(String key) {
+        if (!redisEnabled) return null;
+        try {
+            String json = stringRedisTemplate.opsForValue().get(KEY_PREFIX + key);
+            if (json == null) return null;
+            JsonNode node = objectMapper.readTree(json);
+            return new SummaryResult(node.path("summary").asText(), node.path("feedback").asText());
+        } catch (Exception e) {
+            log.warn("Redis 요약 캐시 조회 실패 - OpenAI 호출로 진행: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToRedis(String key, SummaryResult result) {
+        if (!redisEnabled) return;
+        try {
+            String json = objectMapper.writeValueAsString(Map.of(
+                    "summary", result.getSummary(),
+                    "feedback", result.getFeedback()));
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + key, json, ttl);
+        } catch (Exception e) {
+            log.warn("Redis 요약 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    String cacheKey(List<? extends StudyLogContent> logs) {
+        MessageDigest digest = sha256();
+        update(digest, openAIPromptBuilder.promptFingerprint());
+        for (StudyLogContent log : logs) {
+            update(digest, log.getContent());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없음", e);
+        }
+    }
+
+    private double hitRatio() {
+        double hits = localHits.count() + redisHits.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("openai.summary.cache.requests")
+                .description("요약 캐시 조회 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.jia.study_tracker.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 여러 인스턴스 중 하나만 작업을 실행하도록 하는 Redis 잠금
+ *
+ * - 잠금: SET key token NX PX ttl (잠금을 잡은 인스턴스가 죽어도 ttl이 지나면 풀림)
+ * - 해제: 값이 내 토큰일 때만 삭제 (Lua). ttl이 지나 다른 인스턴스가 잡은 잠금을 지우지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DistributedLock {
+
+    private static final String KEY_PREFIX = "lock:";
+
+    static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * @return 잠금을 얻으면 해제에 사용할 토큰, 다른 인스턴스가 잡고 있으면 null
+     */
+    public String tryLock(String name, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + name, token, ttl);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    public void unlock(String name, String token) {
+        try {
+            Long released = stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + name), token);
+            if (released == null || released == 0) {
+                log.warn("잠금 해제 실패 - 이미 만료되었거나 다른 인스턴스가 잡은 잠금: {}", name);
+            }
+        } catch (Exception e) {
+            // 해제하지 못해도 ttl이 지나면 풀림
+            log.warn("잠금 해제 중 오류 - ttl 만료를 기다림: {} - {}", name, e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package com.jia.study_tracker.service;
 
-import com.jia.study_tracker.domain.StudyLog;
-import com.jia.study_tracker.domain.SummaryType;
-import com.jia.study_tracker.exception.InvalidOpenAIResponseException;
+import com.jia.study_tracker.domain.StudyLogContent;
 import com.jia.study_tracker.service.dto.SummaryResult;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
-import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * OpenAIClient를 대체하는 모킹 버전
@@ -16,14 +16,26 @@ import java.util.List;
  */
 @Component
 @Profile("mock-openai")
-public class MockOpenAIClient implements OpenAIClient {
+public class MockOpenAIClient implements OpenAIClient, ReactiveOpenAIClient {
 
     @Override
-    public SummaryResult generateSummaryAndFeedback(List<StudyLog> logs) {
+    public SummaryResult generateSummaryAndFeedback(List<? extends StudyLogContent> logs) {
         return new SummaryResult(
                 "[MOCK 요약] 공부 열심히 했어요",
                 "[MOCK 피드백] 화이팅!"
         );
     }
 
+    @Override
+    public Mono<SummaryResult> summarize(List<? extends StudyLogContent> logs) {
+        return Mono.fromSupplier(() -> generateSummaryAndFeedback(logs));
+    }
+
+    @Override
+    public Map<String, SummaryResult> generateBatchSummaries(Map<String, ? extends List<? extends StudyLogContent>> logsByUser) {
+        Map<String, SummaryResult> results = new HashMap<>();
+        logsByUser.forEach((slackUserId, logs) -> results.put(slackUserId, generateSummaryAndFeedback(logs)));
+        return results;
+    }
+
 }
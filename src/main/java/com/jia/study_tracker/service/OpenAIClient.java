@@ -1,10 +1,22 @@
 package com.jia.study_tracker.service;
 
-import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.domain.StudyLogContent;
 import com.jia.study_tracker.service.dto.SummaryResult;
 
 import java.util.List;
+import java.util.Map;
 
 public interface OpenAIClient {
-    SummaryResult generateSummaryAndFeedback(List<StudyLog> logs);
+    SummaryResult generateSummaryAndFeedback(List<? extends StudyLogContent> logs);
+
+    /**
+     * 여러 사용자의 로그를 한 번의 요청으로 요약 (키: slackUserId)
+     *
+     * 응답에서 빠졌거나 형식이 잘못된 사용자는 결과에 포함되지 않으므로,
+     * 호출 측에서 해당 사용자만 generateSummaryAndFeedback으로 다시 요청해야 함
+     * 기본 구현은 배치를 지원하지 않으므로 빈 결과를 반환함 (전원 개별 요청)
+     */
+    default Map<String, SummaryResult> generateBatchSummaries(Map<String, ? extends List<? extends StudyLogContent>> logsByUser) {
+        return Map.of();
+    }
 }
@@ -1,6 +1,6 @@
 package com.jia.study_tracker.service;
 
-import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.domain.StudyLogContent;
 import com.jia.study_tracker.exception.InvalidOpenAIResponseException;
 import com.jia.study_tracker.exception.OpenAIClientException;
 import com.jia.study_tracker.service.dto.SummaryResult;
@@ -11,90 +11,70 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 사용자의 학습 로그를 OpenAI API에 전달하여 요약 및 피드백을 생성하는 컴포넌트
  *
  * 역할:
- * - StudyLog 리스트를 문자열로 변환 후 프롬프트 형태로 구성
- * - OpenAI의 Chat Completion API에 요청을 보내고 응답을 파싱
- * - 요약 및 피드백을 추출하여 SummaryResult 객체로 반환
+ * - OpenAIPromptBuilder로 구성한 요청을 OpenAI의 Chat Completion API에 보냄
+ * - 응답을 OpenAIPromptBuilder로 파싱하여 SummaryResult 객체로 반환
+ * - 배치 모드: 여러 사용자를 한 요청(JSON 응답)으로 묶어 요청 수와 공통 프롬프트 토큰을 줄임
+ * - 로그가 토큰 한도를 넘으면 나누어 부분 요약(병렬) → 부분 요약들을 다시 요약 (map-reduce)
+ * - ReactiveOpenAIClient: 응답을 기다리지 않고 Mono로 반환 (호출마다 openai.reactive.timeout 적용)
+ * - 모든 호출은 OpenAIRateLimiter를 거치며, 429는 Retry-After만큼 기다린 뒤 다시 시도
  */
 @Component
 @Profile("!mock-openai")
 @RequiredArgsConstructor
 @Slf4j
-public class OpenAIClientImpl implements OpenAIClient {
-
-    @Value("${openai.model:gpt-4o-mini}")
-    private String model;
+public class OpenAIClientImpl implements OpenAIClient, ReactiveOpenAIClient {
 
     private final WebClient openAIWebClient;
+    private final OpenAIPromptBuilder openAIPromptBuilder;
+    private final OpenAIRateLimiter openAIRateLimiter;
+
+    // 요약 + 피드백 응답의 예상 토큰 수 (속도 제한 예약용)
+    private static final int EXPECTED_COMPLETION_TOKENS = 300;
+
+    // 429를 받았을 때 같은 요청을 다시 보내는 최대 횟수 (기다리는 시간은 OpenAIRateLimiter가 결정)
+    @Value("${openai.rate-limit.max-retries:3}")
+    private int maxRateLimitRetries = 3;
+
+    // 부분 요약을 동시에 요청하는 최대 개수
+    @Value("${openai.prompt.chunk-concurrency:4}")
+    private int chunkConcurrency = 4;
+
+    // 논블로킹 호출 한 건의 응답 대기 한도
+    @Value("${openai.reactive.timeout:60s}")
+    private Duration reactiveTimeout = Duration.ofSeconds(60);
 
     /**
      * 학습 로그 리스트를 받아 OpenAI에 요청하고 요약 및 피드백을 생성
      */
-    public SummaryResult generateSummaryAndFeedback(List<StudyLog> logs) {
-        // StudyLog의 content만 추출하여 한 개의 문자열로 결합
-        String joinedContent = logs.stream()
-                .map(StudyLog::getContent)
-                .collect(Collectors.joining("\n"));
-
-        // OpenAI에게 전달할 프롬프트 구성
-        String prompt = String.format("""
-                다음은 사용자의 학습 로그입니다:
-                ---
-                %s
-                ---
-
-                위 내용을 3~4문장 이내로 요약해주세요. 그리고 학습을 응원하는 동기부여 성격의 짧은 피드백을 함께 작성해주세요.
-                출력 형식은 다음과 같이 해주세요:
-
-                요약: ~~~
-                피드백: ~~~
-                """, joinedContent);
-
-        // DTO 기반 요청 생성
-        OpenAIRequest request = new OpenAIRequest(
-                model,
-                List.of(
-                        new Message("system", "나는 친절한 학습 요약 봇이야."),
-                        new Message("user", prompt)
-                )
-        );
-
+    public SummaryResult generateSummaryAndFeedback(List<? extends StudyLogContent> logs) {
         try {
-            // DTO 기반 응답 처리
-            OpenAIResponse response = openAIWebClient
-                    .post()
-                    .uri("/chat/completions")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(OpenAIResponse.class)
-                    .block();
-
-            if (response.choices().isEmpty()) {
-                throw new InvalidOpenAIResponseException("OpenAI 응답은 왔지만 내용(choices)이 비어 있음");
-            }
+            OpenAIRequest request = openAIPromptBuilder.fitsInBudget(logs)
+                    ? openAIPromptBuilder.buildRequest(logs)
+                    : buildMapReduceRequest(logs);
 
-            // 응답에서 content 추출
-            String content = response.choices().get(0).message().content();
-            if (!content.contains("요약:") || !content.contains("피드백:")) {
-                throw new InvalidOpenAIResponseException("응답 형식이 올바르지 않음");
-            }
-            // content 문자열에서 요약과 피드백 분리
-            String[] parts = content.split("피드백:");
-
-            String summary = parts[0].replace("요약:", "").trim();
-            String feedback = parts.length > 1 ? parts[1].trim() : "피드백 없음";
+            // DTO 기반 응답 처리
+            OpenAIResponse response = call(request).block();
 
-            return new SummaryResult(summary, feedback);
+            return openAIPromptBuilder.parseResponse(response);
 
         } catch (InvalidOpenAIResponseException e) {
             log.warn("OpenAI 응답 파싱 실패", e);
@@ -107,4 +87,130 @@ public class OpenAIClientImpl implements OpenAIClient {
             throw new OpenAIClientException("알 수 없는 오류로 OpenAI 호출 실패", e);
         }
     }
+
+    /**
+     * 학습 로그 리스트로 요약을 요청하고, 응답을 기다리지 않고 Mono로 반환
+     * 토큰 한도를 넘는 로그는 드물고 여러 번의 호출이 필요하므로 블로킹 경로(map-reduce)를 별도 스케줄러에서 실행함
+     */
+    @Override
+    public Mono<SummaryResult> summarize(List<? extends StudyLogContent> logs) {
+        if (!openAIPromptBuilder.fitsInBudget(logs)) {
+            return Mono.fromCallable(() -> generateSummaryAndFeedback(logs))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+
+        return Mono.defer(() -> call(openAIPromptBuilder.buildRequest(logs), reactiveTimeout))
+                .map(openAIPromptBuilder::parseResponse)
+                .onErrorMap(e -> !(e instanceof InvalidOpenAIResponseException || e instanceof OpenAIClientException),
+                        e -> e instanceof TimeoutException
+                                ? new OpenAIClientException("OpenAI 응답 시간 초과 (" + reactiveTimeout + ")", e)
+                                : new OpenAIClientException("OpenAI API 비동기 호출 실패", e));
+    }
+
+    /**
+     * 토큰 한도를 넘는 로그를 나누어 부분 요약한 뒤, 최종 요약 요청을 만듦
+     * 부분 요약들도 한도를 넘으면 한 묶음에 들어갈 때까지 같은 과정을 반복
+     */
+    private OpenAIRequest buildMapReduceRequest(List<? extends StudyLogContent> logs) {
+        List<String> texts = logs.stream().map(StudyLogContent::getContent).toList();
+        List<List<String>> chunks = openAIPromptBuilder.splitByTokenBudget(texts);
+        if (chunks.size() == 1) {
+            // 로그 한 건이 한도를 넘는 경우: 한도까지 잘라서 그대로 요약
+            return openAIPromptBuilder.buildRequest(logs);
+        }
+
+        while (chunks.size() > 1) {
+            List<List<String>> parts = chunks;
+            log.info("학습 로그가 토큰 한도를 넘어 {}개 부분으로 나누어 요약", parts.size());
+            List<String> partialSummaries = Flux.range(0, parts.size())
+                    .flatMapSequential(i -> summarizeChunk(parts.get(i), i + 1, parts.size()), chunkConcurrency)
+                    .collectList()
+                    .block();
+
+            chunks = openAIPromptBuilder.splitByTokenBudget(partialSummaries);
+            if (chunks.size() >= parts.size()) {
+                throw new InvalidOpenAIResponseException("부분 요약이 줄어들지 않아 최종 요약을 만들 수 없음");
+            }
+        }
+        return openAIPromptBuilder.buildReduceRequest(chunks.get(0));
+    }
+
+    private Mono<String> summarizeChunk(List<String> chunk, int part, int totalParts) {
+        return call(openAIPromptBuilder.buildChunkRequest(chunk, part, totalParts))
+                .map(openAIPromptBuilder::parseChunkSummary);
+    }
+
+    private Mono<OpenAIResponse> call(OpenAIRequest request) {
+        return call(request, null);
+    }
+
+    /**
+     * Chat Completion 호출 (모든 요청이 거치는 경로)
+     * - OpenAIRateLimiter에서 요청/토큰을 예약한 뒤 전송하고, 응답 헤더로 남은 한도를 반영
+     * - 429는 limiter가 알려준 만큼 기다린 뒤 max-retries 번까지 다시 보내고, 그래도 실패하면 원래 예외를 전달
+     * @param timeout 시도 한 번의 응답 대기 한도 (null이면 커넥터 설정만 적용)
+     */
+    private Mono<OpenAIResponse> call(OpenAIRequest request, Duration timeout) {
+        int estimatedTokens = estimateTokens(request);
+        return Mono.defer(() -> {
+                    Mono<ResponseEntity<OpenAIResponse>> exchange = openAIWebClient
+                            .post()
+                            .uri("/chat/completions")
+                            .bodyValue(request)
+                            .retrieve()
+                            .toEntity(OpenAIResponse.class);
+                    if (timeout != null) {
+                        exchange = exchange.timeout(timeout);
+                    }
+                    return openAIRateLimiter.acquire(estimatedTokens).then(exchange);
+                })
+                .doOnNext(entity -> openAIRateLimiter.onSuccess(entity.getHeaders()))
+                .doOnError(WebClientResponseException.TooManyRequests.class,
+                        e -> openAIRateLimiter.onRateLimited(e.getHeaders()))
+                .retryWhen(Retry.max(maxRateLimitRetries)
+                        .filter(WebClientResponseException.TooManyRequests.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .mapNotNull(ResponseEntity::getBody);
+    }
+
+    // 프롬프트 토큰 추정치 + 응답으로 나올 토큰 예상치
+    private static int estimateTokens(OpenAIRequest request) {
+        int tokens = EXPECTED_COMPLETION_TOKENS;
+        for (Message message : request.messages()) {
+            tokens += PromptTokenEstimator.estimate(message.content());
+        }
+        return tokens;
+    }
+
+    /**
+     * 여러 사용자의 로그를 한 번의 요청으로 요약
+     * 응답 전체가 잘못된 경우 예외를 던지고, 일부 사용자만 빠진 경우 해당 사용자를 제외한 결과를 반환
+     */
+    @Override
+    public Map<String, SummaryResult> generateBatchSummaries(Map<String, ? extends List<? extends StudyLogContent>> logsByUser) {
+        if (logsByUser.isEmpty()) {
+            return Map.of();
+        }
+        OpenAIRequest request = openAIPromptBuilder.buildBatchRequest(logsByUser);
+
+        try {
+            OpenAIResponse response = call(request).block();
+
+            Map<String, SummaryResult> results = openAIPromptBuilder.parseBatchResponse(response, logsByUser.keySet());
+            if (results.size() < logsByUser.size()) {
+                log.warn("배치 응답에서 {}명 중 {}명 누락", logsByUser.size(), logsByUser.size() - results.size());
+            }
+            return results;
+
+        } catch (InvalidOpenAIResponseException e) {
+            log.warn("OpenAI 배치 응답 파싱 실패", e);
+            throw e;
+        } catch (WebClientException e) {
+            log.error("WebClient 오류로 OpenAI 배치 API 호출 실패", e);
+            throw new OpenAIClientException("WebClient 오류로 OpenAI 배치 API 호출 실패", e);
+        } catch (Exception e) {
+            log.error("OpenAIClient 배치 처리 중 알 수 없는 예외 발생", e);
+            throw new OpenAIClientException("알 수 없는 오류로 OpenAI 배치 호출 실패", e);
+        }
+    }
 }
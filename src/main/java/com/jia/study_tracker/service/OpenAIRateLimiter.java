@@ -0,0 +1,203 @@
+package com.jia.study_tracker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI 호출 속도를 클라이언트에서 제한하는 토큰 버킷 (분당 요청 수 + 분당 토큰 수)
+ *
+ * 배경:
+ * - 429를 받으면 해당 사용자만 재시도 큐로 보내고, 나머지 요청은 그대로 보내서 연쇄적으로 429가 발생했음
+ *
+ * 동작:
+ * - 호출 전 acquire로 요청 1개와 예상 토큰 수를 예약하고, 부족하면 채워질 때까지 기다림 (예약이므로 잔량이 음수가 될 수 있음)
+ * - 버킷 용량은 BURST_SECONDS 초 분량이라 실행 시작 시 한 번에 몰리지 않음
+ * - 응답의 x-ratelimit-remaining-* 가 로컬 잔량보다 적으면 맞추고, 0이면 x-ratelimit-reset-* 까지 멈춤
+ * - 429: Retry-After(없으면 reset 헤더, 그것도 없으면 1초)만큼 모든 호출을 멈추고, 속도를 절반으로 줄임 (multiplicative decrease)
+ * - 성공할 때마다 속도를 조금씩 설정값까지 되돌림 (additive increase)
+ *
+ * 스케줄러 실행과 재시도 프로세서가 같은 빈을 공유하므로 한 인스턴스 안의 모든 OpenAI 호출이 같은 한도를 따름
+ */
+@Slf4j
+@Component
+public class OpenAIRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = Duration.ofMinutes(1).toNanos();
+    private static final int BURST_SECONDS = 10;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final double INCREASE_STEP = 0.02;
+    private static final double MIN_MULTIPLIER = 0.05;
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    // OpenAI reset 헤더 형식: "1s", "6m0s", "20ms", "1h2m3.5s"
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    private final boolean enabled;
+    private final Bucket requests;
+    private final Bucket tokens;
+    private final Counter throttledCounter;
+
+    // 설정 속도 대비 현재 속도 비율 (AIMD로 조절)
+    private double multiplier = 1.0;
+
+    // 이 시각(nanoTime)까지는 어떤 호출도 보내지 않음
+    private long pausedUntil;
+
+    public OpenAIRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${openai.rate-limit.enabled:true}") boolean enabled,
+                             @Value("${openai.rate-limit.requests-per-minute:500}") int requestsPerMinute,
+                             @Value("${openai.rate-limit.tokens-per-minute:200000}") int tokensPerMinute) {
+        this.enabled = enabled;
+        long now = System.nanoTime();
+        this.requests = new Bucket(requestsPerMinute, now);
+        this.tokens = new Bucket(tokensPerMinute, now);
+        this.pausedUntil = now;
+        this.throttledCounter = Counter.builder("openai.ratelimit.throttled")
+                .description("OpenAI에서 429(Too Many Requests)를 받은 횟수")
+                .register(meterRegistry);
+        Gauge.builder("openai.ratelimit.rate.multiplier", this, OpenAIRateLimiter::currentMultiplier)
+                .description("설정된 한도 대비 현재 호출 속도 비율 (1.0 = 설정값)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 1개와 예상 토큰 수를 예약하고, 보낼 수 있을 때 완료되는 Mono를 반환
+     */
+    public Mono<Void> acquire(int estimatedTokens) {
+        if (!enabled) return Mono.empty();
+
+        long waitNanos = reserve(estimatedTokens);
+        if (waitNanos <= 0) return Mono.empty();
+        log.debug("OpenAI 호출 속도 제한 - {}ms 대기", waitNanos / 1_000_000);
+        return Mono.delay(Duration.ofNanos(waitNanos)).then();
+    }
+
+    synchronized long reserve(int estimatedTokens) {
+        long now = System.nanoTime();
+        requests.refill(now, multiplier);
+        tokens.refill(now, multiplier);
+
+        requests.available -= 1;
+        tokens.available -= Math.min(estimatedTokens, tokens.capacity);
+        long wait = Math.max(requests.nanosUntilNonNegative(multiplier), tokens.nanosUntilNonNegative(multiplier));
+        return Math.max(wait, pausedUntil - now);
+    }
+
+    /**
+     * 성공 응답: 서버가 알려준 남은 한도에 맞추고 속도를 조금 올림
+     */
+    public synchronized void onSuccess(HttpHeaders headers) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        multiplier = Math.min(1.0, multiplier + INCREASE_STEP);
+        syncWithServer(requests, headers, "x-ratelimit-remaining-requests", "x-ratelimit-reset-requests", now);
+        syncWithServer(tokens, headers, "x-ratelimit-remaining-tokens", "x-ratelimit-reset-tokens", now);
+    }
+
+    /**
+     * 429 응답: Retry-After 동안 모든 호출을 멈추고 속도를 절반으로 줄임
+     */
+    public synchronized void onRateLimited(HttpHeaders headers) {
+        throttledCounter.increment();
+        if (!enabled) return;
+        long now = System.nanoTime();
+        Duration retryAfter = retryAfter(headers);
+        pausedUntil = Math.max(pausedUntil, now + retryAfter.toNanos());
+        multiplier = Math.max(MIN_MULTIPLIER, multiplier * DECREASE_FACTOR);
+        log.warn("OpenAI 429 수신 - {}ms 동안 호출 중지, 속도 {}%로 조정",
+                retryAfter.toMillis(), Math.round(multiplier * 100));
+    }
+
+    synchronized double currentMultiplier() {
+        return multiplier;
+    }
+
+    private void syncWithServer(Bucket bucket, HttpHeaders headers, String remainingHeader, String resetHeader, long now) {
+        Long remaining = parseLong(headers.getFirst(remainingHeader));
+        if (remaining == null) return;
+
+        bucket.refill(now, multiplier);
+        bucket.available = Math.min(bucket.available, remaining);
+        if (remaining == 0) {
+            Duration reset = parseDuration(headers.getFirst(resetHeader));
+            if (reset != null) {
+                pausedUntil = Math.max(pausedUntil, now + reset.toNanos());
+            }
+        }
+    }
+
+    private static Duration retryAfter(HttpHeaders headers) {
+        Long millis = parseLong(headers.getFirst("retry-after-ms"));
+        if (millis != null) return Duration.ofMillis(millis);
+        Long seconds = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        if (seconds != null) return Duration.ofSeconds(seconds);
+
+        Duration reset = parseDuration(headers.getFirst("x-ratelimit-reset-requests"));
+        Duration tokenReset = parseDuration(headers.getFirst("x-ratelimit-reset-tokens"));
+        if (reset == null || (tokenReset != null && tokenReset.compareTo(reset) > 0)) reset = tokenReset;
+        return reset != null ? reset : DEFAULT_RETRY_AFTER;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) return null;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static Duration parseDuration(String value) {
+        if (value == null || value.isBlank()) return null;
+        Matcher matcher = DURATION_PART.matcher(value.trim());
+        double millis = 0;
+        boolean matched = false;
+        while (matcher.find()) {
+            matched = true;
+            double amount = Double.parseDouble(matcher.group(1));
+            millis += switch (matcher.group(2)) {
+                case "h" -> amount * 3_600_000;
+                case "m" -> amount * 60_000;
+                case "s" -> amount * 1_000;
+                default -> amount;
+            };
+        }
+        return matched ? Duration.ofMillis((long) Math.ceil(millis)) : null;
+    }
+
+    /**
+     * 분당 한도(perMinute)로 채워지는 버킷 (용량 BURST_SECONDS 초 분량)
+     */
+    private static final class Bucket {
+        private final double perNano;
+        private final double capacity;
+        private double available;
+        private long refilledAt;
+
+        Bucket(int perMinute, long now) {
+            this.perNano = (double) perMinute / NANOS_PER_MINUTE;
+            this.capacity = Math.max(1, perMinute * BURST_SECONDS / 60.0);
+            this.available = capacity;
+            this.refilledAt = now;
+        }
+
+        void refill(long now, double multiplier) {
+            available = Math.min(capacity, available + (now - refilledAt) * perNano * multiplier);
+            refilledAt = now;
+        }
+
+        long nanosUntilNonNegative(double multiplier) {
+            return available >= 0 ? 0 : (long) Math.ceil(-available / (perNano * multiplier));
+        }
+    }
+}
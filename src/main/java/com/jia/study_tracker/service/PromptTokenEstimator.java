@@ -0,0 +1,48 @@
+package com.jia.study_tracker.service;
+
+/**
+ * 토크나이저 없이 문자 종류로 프롬프트 토큰 수를 추정
+ *
+ * - ASCII(영문, 숫자, 공백): 약 4글자당 1토큰
+ * - 한글 등 그 외 문자: 글자당 1토큰 (실제보다 약간 크게 잡아서 컨텍스트 초과를 피함)
+ *
+ * 계산은 1/4 토큰 단위(unit)의 정수로 함
+ */
+final class PromptTokenEstimator {
+
+    private static final int UNITS_PER_TOKEN = 4;
+
+    private PromptTokenEstimator() {
+    }
+
+    static int estimate(CharSequence text) {
+        return (units(text) + UNITS_PER_TOKEN - 1) / UNITS_PER_TOKEN;
+    }
+
+    /**
+     * 추정 토큰 수가 maxTokens 이하가 되도록 앞에서부터 자름
+     */
+    static String truncate(String text, int maxTokens) {
+        long budget = (long) maxTokens * UNITS_PER_TOKEN;
+        long used = 0;
+        for (int i = 0; i < text.length(); i++) {
+            used += units(text.charAt(i));
+            if (used > budget) {
+                return text.substring(0, i);
+            }
+        }
+        return text;
+    }
+
+    private static int units(CharSequence text) {
+        int units = 0;
+        for (int i = 0; i < text.length(); i++) {
+            units += units(text.charAt(i));
+        }
+        return units;
+    }
+
+    private static int units(char c) {
+        return c < 0x80 ? 1 : UNITS_PER_TOKEN;
+    }
+}
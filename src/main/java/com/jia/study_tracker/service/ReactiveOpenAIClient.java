@@ -0,0 +1,18 @@
+package com.jia.study_tracker.service;
+
+import com.jia.study_tracker.domain.StudyLogContent;
+import com.jia.study_tracker.service.dto.SummaryResult;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 요청 스레드를 붙잡지 않는 OpenAIClient
+ *
+ * 실패는 OpenAIClient와 같은 예외로 전달됨:
+ * - 응답 형식 오류: InvalidOpenAIResponseException
+ * - 호출 실패/타임아웃: OpenAIClientException
+ */
+public interface ReactiveOpenAIClient {
+    Mono<SummaryResult> summarize(List<? extends StudyLogContent> logs);
+}
@@ -0,0 +1,134 @@
+package com.jia.study_tracker.service;
+
+import com.jia.study_tracker.domain.StudyLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudyLog를 모아서 한 번에 저장하는 write-behind 배처
+ *
+ * 동작:
+ * - write()는 버퍼에 넣고 바로 반환함
+ * - 백그라운드 스레드가 max-size 개가 모이거나 첫 항목 이후 max-wait-ms가 지나면
+ *   모인 로그를 하나의 트랜잭션(JDBC 배치 insert)으로 저장함
+ * - 배치 저장이 실패하면 문제 있는 로그만 걸러내기 위해 한 건씩 다시 저장함
+ * - 버퍼가 가득 차면 유실을 막기 위해 호출 스레드에서 바로 저장함
+ *
+ * durable 모드:
+ * - 버퍼를 거치지 않고 호출 스레드의 트랜잭션에서 바로 저장함
+ * - slack.ingestion.async=false와 함께 쓰면 슬랙에 ACK 하기 전에 DB 반영이 보장됨
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudyLogBatchWriter {
+
+    private final StudyLogSaver studyLogSaver;
+
+    @Value("${study-log.batch.max-size:100}")
+    private int maxBatchSize;
+
+    @Value("${study-log.batch.max-wait-ms:200}")
+    private long maxWaitMillis;
+
+    @Value("${study-log.batch.capacity:10000}")
+    private int capacity;
+
+    @Value("${study-log.batch.durable:false}")
+    private boolean durable;
+
+    private BlockingQueue<StudyLog> buffer;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        if (durable) return;
+
+        running = true;
+        flusher = Thread.ofPlatform().name("study-log-flusher").daemon(true).start(this::runFlusher);
+    }
+
+    public void write(StudyLog studyLog) {
+        if (durable || !buffer.offer(studyLog)) {
+            studyLogSaver.saveAll(List.of(studyLog));
+        }
+    }
+
+    private void runFlusher() {
+        int batchSize = Math.max(1, maxBatchSize);
+        List<StudyLog> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                StudyLog first = buffer.poll(maxWaitMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 항목 이후 max-wait-ms 동안 최대 max-size 개까지 모음
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) break;
+
+                    StudyLog next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<StudyLog> batch) {
+        if (batch.isEmpty()) return;
+
+        try {
+            // 버퍼용 리스트는 재사용되므로 복사본을 넘김
+            studyLogSaver.saveAll(List.copyOf(batch));
+            log.debug("💾 StudyLog {}건 일괄 저장", batch.size());
+        } catch (Exception e) {
+            log.warn("StudyLog 일괄 저장 실패 - 한 건씩 재시도 ({}건): {}", batch.size(), e.getMessage());
+            for (StudyLog studyLog : batch) {
+                try {
+                    studyLogSaver.saveAll(List.of(studyLog));
+                } catch (Exception single) {
+                    log.error("❌ StudyLog 저장 실패 - 폐기됨: {}", studyLog.getContent(), single);
+                }
+            }
+        }
+    }
+
+    /**
+     * 종료 시 버퍼에 남은 로그를 모두 저장한 뒤 종료
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher == null) return;
+
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
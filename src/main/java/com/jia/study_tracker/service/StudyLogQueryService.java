@@ -1,22 +1,39 @@
 package com.jia.study_tracker.service;
 
 import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.domain.StudyLogContent;
+import com.jia.study_tracker.domain.SummaryPeriod;
 import com.jia.study_tracker.domain.SummaryType;
 import com.jia.study_tracker.domain.User;
+import com.jia.study_tracker.dto.StudyLogSnapshot;
+import com.jia.study_tracker.dto.SummarySnapshot;
 import com.jia.study_tracker.repository.StudyLogRepository;
+import com.jia.study_tracker.repository.SummaryRepository;
 import com.jia.study_tracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * 사용자 ID(slackUserId)를 기반으로
  * 일/주/월 단위의 학습 기록(StudyLog)을 조회하는 기능을 제공
+ *
+ * 상위 기간 요약(rollup) 조회:
+ * - 주간은 그 주의 일간 요약, 월간은 그 달 안에 완전히 들어가는 주간 요약 + 나머지 날의 일간 요약을 재사용
+ * - 요약이 없는 날만 원본 로그를 조회함 (해당 날짜 범위만 조회하고 날짜 단위로 걸러냄)
+ * - 요약이 있는 날은 요약 생성 이후(22시~자정)에 남긴 로그가 반영되지 않으므로 summary.generation.rollup.enabled로 켜야만 사용함
  */
 
 @Service
@@ -25,33 +42,122 @@ public class StudyLogQueryService {
 
     private final StudyLogRepository studyLogRepository;
     private final UserRepository userRepository;
+    private final SummaryRepository summaryRepository;
 
     @Transactional(readOnly = true)
     public List<StudyLog> getLogs(String slackUserId, LocalDate baseDate, SummaryType type) {
         User user = userRepository.findById(slackUserId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 유저"));
 
-        LocalDateTime start;
-        LocalDateTime end;
+        SummaryPeriod period = SummaryPeriod.of(baseDate, type);
+        return studyLogRepository.findByUserAndTimestampBetween(user, period.start(), period.end());
+    }
+
+    /**
+     * 여러 사용자의 로그를 쿼리 한 번으로 조회한 뒤 사용자별로 묶어서 반환 (시각 오름차순)
+     * 엔티티가 아닌 읽기 전용 프로젝션을 반환하며, 로그가 없는 사용자는 결과 맵에 포함되지 않음
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<StudyLogContent>> getLogsByUser(Collection<String> slackUserIds, LocalDate baseDate, SummaryType type) {
+        if (slackUserIds.isEmpty()) return Map.of();
+
+        SummaryPeriod period = SummaryPeriod.of(baseDate, type);
+        return studyLogRepository.findSnapshots(slackUserIds, period.start(), period.end())
+                .stream()
+                .collect(Collectors.groupingBy(StudyLogSnapshot::getSlackUserId, Collectors.<StudyLogContent>toList()));
+    }
+
+    /**
+     * getLogsByUser와 같은 형태로, 저장된 하위 기간 요약을 우선 사용하고 요약이 없는 날만 원본 로그로 채워서 반환
+     * 요약은 해당 날짜 0시를 시각으로 하는 항목("[4/28 일간 요약] ...")으로 변환되며, 결과는 시각 오름차순
+     * DAILY는 재사용할 요약이 없으므로 getLogsByUser와 같음
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<StudyLogContent>> getRollupLogsByUser(Collection<String> slackUserIds, LocalDate baseDate, SummaryType type) {
+        if (type == SummaryType.DAILY) return getLogsByUser(slackUserIds, baseDate, type);
+        if (slackUserIds.isEmpty()) return Map.of();
+
+        SummaryPeriod period = SummaryPeriod.of(baseDate, type);
+        LocalDate start = period.start().toLocalDate();
+        LocalDate end = period.end().toLocalDate();
+        List<SummaryType> sourceTypes = type == SummaryType.WEEKLY
+                ? List.of(SummaryType.DAILY)
+                : List.of(SummaryType.DAILY, SummaryType.WEEKLY);
+
+        Map<String, List<SummarySnapshot>> summariesByUser = summaryRepository
+                .findSnapshots(slackUserIds, sourceTypes, start, end)
+                .stream()
+                .collect(Collectors.groupingBy(SummarySnapshot::getSlackUserId));
+
+        Map<String, List<StudyLogContent>> contentsByUser = new HashMap<>();
+        Map<String, Set<LocalDate>> uncoveredByUser = new HashMap<>();
+        for (String slackUserId : slackUserIds) {
+            List<StudyLogContent> contents = new ArrayList<>();
+            Set<LocalDate> covered = new HashSet<>();
+            List<SummarySnapshot> summaries = summariesByUser.getOrDefault(slackUserId, List.of());
+
+            // 1. 주간 요약 (기간 안에 7일이 모두 들어가는 것만, 같은 주는 나중에 저장된 것 사용)
+            Map<LocalDate, SummarySnapshot> weekly = latestByDate(summaries, SummaryType.WEEKLY);
+            weekly.forEach((weekStart, summary) -> {
+                LocalDate weekEnd = weekStart.plusDays(7);
+                if (weekEnd.isAfter(end) || weekStart.datesUntil(weekEnd).anyMatch(covered::contains)) return;
+                weekStart.datesUntil(weekEnd).forEach(covered::add);
+                contents.add(rollupEntry(slackUserId, summary,
+                        "%s~%s 주간 요약".formatted(shortDate(weekStart), shortDate(weekEnd.minusDays(1)))));
+            });
+
+            // 2. 주간 요약으로 채워지지 않은 날의 일간 요약
+            latestByDate(summaries, SummaryType.DAILY).forEach((day, summary) -> {
+                if (covered.add(day)) {
+                    contents.add(rollupEntry(slackUserId, summary, shortDate(day) + " 일간 요약"));
+                }
+            });
 
-        switch (type) {
-            case DAILY -> {
-                start = baseDate.atStartOfDay();
-                end = baseDate.plusDays(1).atStartOfDay();
+            // 3. 요약이 없는 날은 원본 로그로 채움
+            Set<LocalDate> uncovered = start.datesUntil(end)
+                    .filter(day -> !covered.contains(day))
+                    .collect(Collectors.toSet());
+            if (!uncovered.isEmpty()) {
+                uncoveredByUser.put(slackUserId, uncovered);
             }
-            case WEEKLY -> {
-                // baseDate: 일요일(주 시작 기준)
-                start = baseDate.atStartOfDay();
-                end = baseDate.plusDays(7).atStartOfDay();
+            if (!contents.isEmpty()) {
+                contentsByUser.put(slackUserId, contents);
             }
-            case MONTHLY -> {
-                YearMonth month = YearMonth.from(baseDate);
-                start = month.atDay(1).atStartOfDay();
-                end = month.plusMonths(1).atDay(1).atStartOfDay();
+        }
+
+        fillWithRawLogs(contentsByUser, uncoveredByUser);
+
+        contentsByUser.values().forEach(contents -> contents.sort(Comparator.comparing(StudyLogContent::getTimestamp)));
+        return contentsByUser;
+    }
+
+    // 요약이 없는 날의 원본 로그를 쿼리 한 번으로 조회 (대상 사용자들의 요약 없는 날 중 가장 이른 날 ~ 가장 늦은 날)
+    private void fillWithRawLogs(Map<String, List<StudyLogContent>> contentsByUser, Map<String, Set<LocalDate>> uncoveredByUser) {
+        if (uncoveredByUser.isEmpty()) return;
+
+        LocalDate from = uncoveredByUser.values().stream().flatMap(Set::stream).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = uncoveredByUser.values().stream().flatMap(Set::stream).max(Comparator.naturalOrder()).orElseThrow();
+        for (StudyLogSnapshot log : studyLogRepository.findSnapshots(uncoveredByUser.keySet(),
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            if (uncoveredByUser.get(log.getSlackUserId()).contains(log.getTimestamp().toLocalDate())) {
+                contentsByUser.computeIfAbsent(log.getSlackUserId(), id -> new ArrayList<>()).add(log);
             }
-            default -> throw new IllegalArgumentException("지원하지 않는 SummaryType");
         }
+    }
+
+    private static Map<LocalDate, SummarySnapshot> latestByDate(List<SummarySnapshot> summaries, SummaryType type) {
+        Map<LocalDate, SummarySnapshot> byDate = new TreeMap<>();
+        summaries.stream()
+                .filter(summary -> summary.getType() == type)
+                .forEach(summary -> byDate.put(summary.getDate(), summary)); // 조회 순서상 나중에 저장된 요약이 덮어씀
+        return byDate;
+    }
+
+    private static StudyLogContent rollupEntry(String slackUserId, SummarySnapshot summary, String label) {
+        return new StudyLogSnapshot(slackUserId, "[" + label + "] " + summary.getSummary(), summary.getDate().atStartOfDay());
+    }
 
-        return studyLogRepository.findByUserAndTimestampBetween(user, start, end);
+    private static String shortDate(LocalDate date) {
+        return date.getMonthValue() + "/" + date.getDayOfMonth();
     }
 }
@@ -0,0 +1,25 @@
+package com.jia.study_tracker.service;
+
+import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.repository.StudyLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * StudyLog 묶음을 하나의 트랜잭션으로 저장하는 서비스 클래스
+ * hibernate.jdbc.batch_size 설정에 따라 insert가 JDBC 배치로 전송됨
+ */
+@Service
+@RequiredArgsConstructor
+public class StudyLogSaver {
+
+    private final StudyLogRepository studyLogRepository;
+
+    @Transactional
+    public void saveAll(List<StudyLog> studyLogs) {
+        studyLogRepository.saveAll(studyLogs);
+    }
+}
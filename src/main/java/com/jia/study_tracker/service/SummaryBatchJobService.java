@@ -0,0 +1,397 @@
+package com.jia.study_tracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jia.study_tracker.domain.StudyLogContent;
+import com.jia.study_tracker.domain.Summary;
+import com.jia.study_tracker.domain.SummaryType;
+import com.jia.study_tracker.domain.User;
+import com.jia.study_tracker.dto.SummaryBatchJob;
+import com.jia.study_tracker.exception.InvalidOpenAIResponseException;
+import com.jia.study_tracker.repository.UserRepository;
+import com.jia.study_tracker.service.batch.BatchJobClient;
+import com.jia.study_tracker.service.batch.BatchJobStatus;
+import com.jia.study_tracker.service.dto.SummaryResult;
+import com.jia.study_tracker.service.dto.openai.BatchRequestLine;
+import com.jia.study_tracker.service.dto.openai.BatchResponseLine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 주간/월간 요약을 비동기 배치 작업으로 처리하는 서비스
+ *
+ * 배경:
+ * - 주간/월간 요약은 지연에 민감하지 않은데도 일간 요약과 같은 동기 호출 경로로 처리되어
+ *   OpenAI 응답을 기다리는 동안 스레드를 붙잡고 있었음
+ * - Batch API는 응답까지 최대 24시간이 걸리는 대신 처리량 제한이 넉넉하고 비용이 저렴함
+ *
+ * 흐름:
+ * 1. submit: 사용자를 keyset 페이징으로 읽으며 요청을 JSONL 파일에 기록 → BatchJobClient로 제출
+ *    → 작업 정보와 요청한 사용자 ID 집합을 Redis에 보관하고 로컬 요청 파일은 바로 삭제
+ *    (작업은 다른 인스턴스나 재시작된 인스턴스가 마무리할 수 있으므로 로컬 파일에 의존하지 않음)
+ * 2. pollPendingJobs (SummaryBatchJobPoller가 주기적으로 호출): 완료된 작업의 결과를 한 줄씩 읽어 저장 및 슬랙 전송
+ *
+ * 실패 처리:
+ * - 결과가 실패했거나 결과에서 빠진 사용자, 작업 자체가 실패한 경우의 사용자 전원은 재시도 큐에 등록됨
+ *   (SummaryRetryProcessor가 동기 경로로 다시 요약)
+ * - 끝난 작업은 lease(DistributedLock, lease-timeout)를 잡은 인스턴스 하나만 처리하고, 처리를 마친 뒤에 Redis에서 지움
+ * - 처리 도중 인스턴스가 죽거나 예외가 나면 작업은 Redis에 남고, lease가 만료된 뒤 다음 폴링에서 다시 처리됨
+ *   (이미 저장/전송된 사용자가 다시 처리될 수 있음. 작업을 잃는 것보다 낫다고 판단함)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SummaryBatchJobService {
+
+    static final String JOBS_KEY = "summary-batch-jobs";
+    private static final String LEASE_NAME_PREFIX = "summary-batch-job:";
+    static final String USERS_KEY_PREFIX = "summary-batch-jobs:users:";
+
+    // 결과를 이 개수만큼 모아서 사용자를 한 번에 조회
+    private static final int RESULT_CHUNK_SIZE = 100;
+
+    // 요청한 사용자 ID를 Redis 집합에 이 개수씩 나누어 추가
+    private static final int STORE_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final StudyLogQueryService studyLogQueryService;
+    private final OpenAIPromptBuilder openAIPromptBuilder;
+    private final BatchJobClient batchJobClient;
+    private final SummarySaver summarySaver;
+    private final SlackNotificationService slackNotificationService;
+    private final SummaryRetryQueue summaryRetryQueue;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final DistributedLock distributedLock;
+
+    // 요청 JSONL을 기록하는 디렉터리 (작업이 끝날 때까지 보관)
+    @Value("${summary.batch-job.work-dir:${java.io.tmpdir}/study-tracker-batch}")
+    private Path workDir;
+
+    // 작업 하나에 담는 최대 요청 수 (OpenAI Batch API 제한: 50,000)
+    @Value("${summary.batch-job.max-requests-per-job:50000}")
+    private int maxRequestsPerJob;
+
+    // 끝난 작업의 결과를 처리하는 동안 다른 인스턴스가 가져가지 못하게 하는 시간 (처리 시간보다 길게)
+    @Value("${summary.batch-job.lease-timeout:30m}")
+    private Duration leaseTimeout = Duration.ofMinutes(30);
+
+    // 한 번에 조회하는 사용자 수
+    @Value("${summary.generation.chunk-size:500}")
+    private int chunkSize;
+
+    // 저장된 하위 기간 요약으로 주간/월간 요약을 만들지 여부 (SummaryGenerationService와 같은 설정)
+    @Value("${summary.generation.rollup.enabled:false}")
+    private boolean rollupEnabled;
+
+    /**
+     * 모든 사용자의 요약 요청을 배치 작업으로 제출 (결과를 기다리지 않고 바로 반환)
+     */
+    public List<SummaryBatchJob> submit(LocalDate date, SummaryType type) {
+        log.info("배치 요약 작업 제출 시작 - date: {}, type: {}", date, type);
+        List<SummaryBatchJob> jobs = new ArrayList<>();
+        int pageSize = Math.max(1, chunkSize);
+        String lastUserId = "";
+
+        RequestFileWriter writer = null;
+        try {
+            Files.createDirectories(workDir);
+            while (true) {
+                List<User> chunk = userRepository.findBySlackUserIdGreaterThanOrderBySlackUserIdAsc(lastUserId, Limit.of(pageSize));
+                if (chunk.isEmpty()) break;
+
+                List<String> userIds = chunk.stream().map(User::getSlackUserId).toList();
+                Map<String, List<StudyLogContent>> logsByUser = rollupEnabled
+                        ? studyLogQueryService.getRollupLogsByUser(userIds, date, type)
+                        : studyLogQueryService.getLogsByUser(userIds, date, type);
+                for (User user : chunk) {
+                    List<StudyLogContent> logs = logsByUser.getOrDefault(user.getSlackUserId(), List.of());
+                    if (logs.isEmpty()) continue;
+
+                    if (writer == null) {
+                        writer = new RequestFileWriter(workDir.resolve(
+                                "summary-%s-%s-%d.jsonl".formatted(type, date, System.nanoTime())));
+                    }
+                    writer.write(BatchRequestLine.chatCompletion(user.getSlackUserId(), openAIPromptBuilder.buildRequest(logs)));
+                    if (writer.count() >= maxRequestsPerJob) {
+                        submitFile(writer.close(), writer.count(), date, type).ifPresent(jobs::add);
+                        writer = null;
+                    }
+                }
+
+                if (chunk.size() < pageSize) break;
+                lastUserId = chunk.get(chunk.size() - 1).getSlackUserId();
+            }
+            if (writer != null) {
+                submitFile(writer.close(), writer.count(), date, type).ifPresent(jobs::add);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("배치 요청 파일 작성 실패", e);
+        }
+
+        log.info("배치 요약 작업 제출 완료 - type: {}, 작업 수: {}, 요청 수: {}",
+                type, jobs.size(), jobs.stream().mapToInt(SummaryBatchJob::requestCount).sum());
+        return jobs;
+    }
+
+    /**
+     * 요청 파일을 제출하고 작업 정보를 Redis에 보관 (제출 후 요청 파일은 삭제)
+     * 제출에 실패하면 파일에 담긴 사용자 전원을 재시도 큐에 등록
+     */
+    private Optional<SummaryBatchJob> submitFile(Path requestFile, int requestCount, LocalDate date, SummaryType type) {
+        String jobId;
+        try {
+            jobId = batchJobClient.submit(requestFile);
+        } catch (Exception e) {
+            log.error("배치 작업 제출 실패 - 요청 {}건을 재시도 큐에 등록: {}", requestCount, e.getMessage());
+            registerRetries(readRequestedUserIds(requestFile), date, type);
+            deleteQuietly(requestFile);
+            return Optional.empty();
+        }
+
+        // 폴링하는 인스턴스가 작업을 보기 전에 사용자 ID부터 보관
+        storeRequestedUserIds(jobId, requestFile);
+        deleteQuietly(requestFile);
+
+        SummaryBatchJob job = new SummaryBatchJob(jobId, type.name(), date.toString(), requestCount, System.currentTimeMillis());
+        try {
+            stringRedisTemplate.opsForHash().put(JOBS_KEY, jobId, objectMapper.writeValueAsString(job));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("배치 작업 정보 직렬화 실패: " + jobId, e);
+        }
+        log.info("배치 작업 제출 - job: {}, type: {}, 요청 수: {}", jobId, type, requestCount);
+        return Optional.of(job);
+    }
+
+    /**
+     * 보관 중인 작업들의 상태를 확인하고, 끝난 작업의 결과를 처리
+     */
+    public void pollPendingJobs() {
+        Map<Object, Object> pending = stringRedisTemplate.opsForHash().entries(JOBS_KEY);
+        for (Map.Entry<Object, Object> entry : pending.entrySet()) {
+            String jobId = (String) entry.getKey();
+            try {
+                SummaryBatchJob job = objectMapper.readValue((String) entry.getValue(), SummaryBatchJob.class);
+                BatchJobStatus status = batchJobClient.getStatus(jobId);
+                if (!status.isFinished()) {
+                    log.debug("배치 작업 진행 중 - job: {}", jobId);
+                    continue;
+                }
+
+                // 다른 인스턴스가 처리 중인 작업이면 건너뜀
+                String leaseToken = distributedLock.tryLock(LEASE_NAME_PREFIX + jobId, leaseTimeout);
+                if (leaseToken == null) continue;
+
+                // 처리에 실패하면 lease를 풀지 않음 → 만료된 뒤 다시 처리 (바로 다시 시도해도 같은 원인으로 실패할 가능성이 높음)
+                completeJob(job, status);
+                stringRedisTemplate.opsForHash().delete(JOBS_KEY, jobId);
+                stringRedisTemplate.delete(USERS_KEY_PREFIX + jobId);
+                distributedLock.unlock(LEASE_NAME_PREFIX + jobId, leaseToken);
+            } catch (Exception e) {
+                log.error("배치 작업 확인 실패 - job: {}", jobId, e);
+            }
+        }
+    }
+
+    private void completeJob(SummaryBatchJob job, BatchJobStatus status) {
+        LocalDate date = LocalDate.parse(job.targetDate());
+        SummaryType type = SummaryType.valueOf(job.summaryType());
+
+        Set<String> handled = new HashSet<>();
+        if (status.state() == BatchJobStatus.State.COMPLETED) {
+            List<BatchResponseLine> buffer = new ArrayList<>(RESULT_CHUNK_SIZE);
+            batchJobClient.readResults(status, line -> {
+                try {
+                    buffer.add(objectMapper.readValue(line, BatchResponseLine.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("배치 결과 줄 파싱 실패 - job: {}: {}", job.jobId(), e.getMessage());
+                    return;
+                }
+                if (buffer.size() >= RESULT_CHUNK_SIZE) {
+                    processResults(buffer, date, type, handled);
+                    buffer.clear();
+                }
+            });
+            processResults(buffer, date, type, handled);
+        } else {
+            log.error("배치 작업 실패 - job: {}, type: {}, 요청 {}건을 재시도 큐에 등록", job.jobId(), type, job.requestCount());
+        }
+
+        // 결과에 없던 사용자 (작업 실패 포함)는 동기 경로로 재시도
+        List<String> missing = requestedUserIds(job.jobId()).stream()
+                .filter(userId -> !handled.contains(userId))
+                .toList();
+        registerRetries(missing, date, type);
+
+        log.info("배치 작업 처리 완료 - job: {}, type: {}, 결과 처리: {}, 재시도 등록: {}",
+                job.jobId(), type, handled.size(), missing.size());
+    }
+
+    /**
+     * 결과 묶음 처리: 사용자를 한 번에 조회한 뒤 성공한 결과는 저장/전송, 실패한 결과는 재시도 큐에 등록
+     */
+    private void processResults(List<BatchResponseLine> results, LocalDate date, SummaryType type, Set<String> handled) {
+        if (results.isEmpty()) return;
+
+        List<String> userIds = results.stream().map(BatchResponseLine::customId).toList();
+        Map<String, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getSlackUserId, Function.identity()));
+
+        for (BatchResponseLine result : results) {
+            User user = users.get(result.customId());
+            handled.add(result.customId());
+            if (user == null) {
+                log.warn("배치 결과의 사용자를 찾을 수 없음: {}", result.customId());
+                continue;
+            }
+
+            try {
+                if (!result.isSuccess()) {
+                    String reason = result.error() != null ? result.error().message() : "status " + result.response().statusCode();
+                    log.warn("[{}] 배치 요청 실패 - {}", user.getSlackUsername(), reason);
+                    summaryRetryQueue.register(user, date, type);
+                    continue;
+                }
+                SummaryResult summaryResult = openAIPromptBuilder.parseResponse(result.response().body());
+                saveAndNotify(user, summaryResult, date, type);
+            } catch (InvalidOpenAIResponseException e) {
+                log.warn("[{}] 배치 응답 오류 - {} 요약 실패: {}", user.getSlackUsername(), type, e.getMessage());
+                slackNotificationService.sendErrorNotice(user, date, type);
+                summaryRetryQueue.register(user, date, type);
+            } catch (Exception e) {
+                log.error("[{}] 배치 결과 처리 중 예외 발생", user.getSlackUsername(), e);
+                summaryRetryQueue.register(user, date, type);
+            }
+        }
+    }
+
+    private void saveAndNotify(User user, SummaryResult result, LocalDate date, SummaryType type) {
+        Summary summary = new Summary(
+                date,
+                result.getSummary(),
+                result.getFeedback(),
+                true,
+                null,
+                user,
+                type
+        );
+        summarySaver.save(summary);
+        slackNotificationService.sendSummaryToUser(user, summary);
+    }
+
+    private void registerRetries(List<String> userIds, LocalDate date, SummaryType type) {
+        for (int from = 0; from < userIds.size(); from += RESULT_CHUNK_SIZE) {
+            List<String> ids = userIds.subList(from, Math.min(from + RESULT_CHUNK_SIZE, userIds.size()));
+            userRepository.findAllById(ids).forEach(user -> summaryRetryQueue.register(user, date, type));
+        }
+    }
+
+    /**
+     * 요청 파일의 사용자 ID를 작업별 Redis 집합에 STORE_CHUNK_SIZE 개씩 나누어 보관
+     * 보관에 실패해도 작업은 진행됨 (결과에서 빠진 사용자만 재시도 큐에 넣지 못함)
+     */
+    private void storeRequestedUserIds(String jobId, Path requestFile) {
+        String key = USERS_KEY_PREFIX + jobId;
+        List<String> chunk = new ArrayList<>(STORE_CHUNK_SIZE);
+        try (Stream<String> lines = Files.lines(requestFile)) {
+            for (String line : (Iterable<String>) lines::iterator) {
+                if (line.isBlank()) continue;
+                chunk.add(readCustomId(line));
+                if (chunk.size() >= STORE_CHUNK_SIZE) {
+                    stringRedisTemplate.opsForSet().add(key, chunk.toArray(String[]::new));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                stringRedisTemplate.opsForSet().add(key, chunk.toArray(String[]::new));
+            }
+        } catch (Exception e) {
+            log.error("배치 작업 사용자 ID 보관 실패 - 결과에서 빠진 사용자를 확인할 수 없음 - job: {}", jobId, e);
+        }
+    }
+
+    private Set<String> requestedUserIds(String jobId) {
+        Set<String> userIds = stringRedisTemplate.opsForSet().members(USERS_KEY_PREFIX + jobId);
+        if (userIds == null || userIds.isEmpty()) {
+            log.error("배치 작업의 사용자 ID가 없어 누락된 사용자를 확인할 수 없음 - job: {}", jobId);
+            return Set.of();
+        }
+        return userIds;
+    }
+
+    private List<String> readRequestedUserIds(Path requestFile) {
+        try (Stream<String> lines = Files.lines(requestFile)) {
+            return lines.filter(line -> !line.isBlank())
+                    .map(this::readCustomId)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String readCustomId(String line) {
+        try {
+            return objectMapper.readTree(line).path("custom_id").asText();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("배치 요청 파일 형식 오류", e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("배치 요청 파일 삭제 실패: {}", file);
+        }
+    }
+
+    /**
+     * 요청을 한 줄씩 JSONL 파일에 기록 (사용자 수와 무관하게 메모리 사용량 일정)
+     */
+    private final class RequestFileWriter {
+        private final Path file;
+        private final BufferedWriter writer;
+        private int count;
+
+        RequestFileWriter(Path file) throws IOException {
+            this.file = file;
+            this.writer = Files.newBufferedWriter(file);
+        }
+
+        void write(BatchRequestLine line) throws IOException {
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.newLine();
+            count++;
+        }
+
+        int count() {
+            return count;
+        }
+
+        Path close() throws IOException {
+            writer.close();
+            return file;
+        }
+    }
+}
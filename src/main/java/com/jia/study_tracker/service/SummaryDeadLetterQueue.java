@@ -0,0 +1,182 @@
+package com.jia.study_tracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jia.study_tracker.dto.SummaryDeadLetter;
+import com.jia.study_tracker.dto.SummaryDeadLetterPage;
+import com.jia.study_tracker.dto.SummaryRetryRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최대 재시도 횟수를 넘긴 요약 요청을 보관하는 DLQ (dead-letter queue)
+ *
+ * 배경:
+ * - OpenAI 장애가 재시도 5회(최대 백오프 합)보다 길어지면 요약이 그대로 폐기되었음
+ *
+ * 구조:
+ * - Redis ZSET(summary-retry-dlq)에 실패 원인/시각을 담은 JSON을 저장 (score = DLQ로 옮겨진 시각)
+ * - 관리자 API로 오래된 순 페이지 조회, 일괄 재처리
+ * - 재처리는 재시도 큐에 replay-rate-per-second 간격으로 흩어서 등록함
+ *   → SummaryRetryProcessor가 병렬로 처리하고, OpenAI 호출은 OpenAIRateLimiter가 제한
+ *   꺼내기(ZRANGE + ZREM)는 Lua 스크립트로 한 번에 해서 동시에 재처리해도 같은 항목을 두 번 등록하지 않고,
+ *   등록 도중 실패하면 남은 항목을 원래 score로 DLQ에 되돌림
+ * - DLQ 크기와 가장 오래된 항목의 나이를 주기적으로 조회해 게이지로 노출
+ */
+@Slf4j
+@Component
+public class SummaryDeadLetterQueue {
+
+    public static final String DLQ_KEY = "summary-retry-dlq";
+
+    // 오래된 순으로 최대 ARGV[1]개를 꺼내고 DLQ에서 삭제
+    static final RedisScript<List> POP_OLDEST_SCRIPT = RedisScript.of("""
+            local items = redis.call('ZRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1)
+            if #items > 0 then
+                redis.call('ZREM', KEYS[1], unpack(items))
+            end
+            return items
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SummaryRetryQueue summaryRetryQueue;
+    private final int replayRatePerSecond;
+
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong oldestFailedAt = new AtomicLong();
+
+    public SummaryDeadLetterQueue(StringRedisTemplate stringRedisTemplate,
+                                  ObjectMapper objectMapper,
+                                  SummaryRetryQueue summaryRetryQueue,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${summary.retry.dlq.replay-rate-per-second:5}") int replayRatePerSecond) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.summaryRetryQueue = summaryRetryQueue;
+        this.replayRatePerSecond = Math.max(1, replayRatePerSecond);
+
+        Gauge.builder("summary.retry.dlq.size", size, AtomicLong::get)
+                .description("DLQ에 보관 중인 요약 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("summary.retry.dlq.oldest.age", this, SummaryDeadLetterQueue::oldestAgeSeconds)
+                .description("DLQ에서 가장 오래된 항목이 보관된 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 재시도를 포기한 요청을 DLQ에 보관
+     */
+    public void add(SummaryRetryRequest request, int attempts, String reason) {
+        long now = System.currentTimeMillis();
+        SummaryDeadLetter deadLetter = SummaryDeadLetter.of(request, attempts, reason, now);
+        try {
+            stringRedisTemplate.opsForZSet().add(DLQ_KEY, objectMapper.writeValueAsString(deadLetter), now);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("DLQ 항목 직렬화 실패: " + request.getSlackUserId(), e);
+        }
+        log.error("☠️ 재시도 포기 - DLQ로 이동: {} (type: {}, date: {}, attempts: {}) - {}",
+                request.getSlackUserId(), request.getSummaryType(), request.getTargetDate(), attempts, reason);
+    }
+
+    /**
+     * 오래된 순으로 offset부터 limit 개 조회
+     */
+    public SummaryDeadLetterPage list(long offset, int limit) {
+        long start = Math.max(0, offset);
+        Set<String> members = stringRedisTemplate.opsForZSet().range(DLQ_KEY, start, start + Math.max(1, limit) - 1);
+        Long total = stringRedisTemplate.opsForZSet().zCard(DLQ_KEY);
+
+        List<SummaryDeadLetter> entries = new ArrayList<>();
+        if (members != null) {
+            for (String member : members) {
+                SummaryDeadLetter deadLetter = parse(member);
+                if (deadLetter != null) {
+                    entries.add(deadLetter);
+                }
+            }
+        }
+        return new SummaryDeadLetterPage(total == null ? 0 : total, start, entries);
+    }
+
+    /**
+     * 오래된 순으로 최대 limit 개를 DLQ에서 꺼내 재시도 큐에 다시 등록
+     * @return 재처리 등록한 항목 수
+     */
+    @SuppressWarnings("unchecked")
+    public int replay(int limit) {
+        List<String> members = stringRedisTemplate.execute(POP_OLDEST_SCRIPT, List.of(DLQ_KEY),
+                String.valueOf(Math.max(1, limit)));
+        if (members == null || members.isEmpty()) return 0;
+
+        long now = System.currentTimeMillis();
+        long intervalMillis = 1000L / replayRatePerSecond;
+        int replayed = 0;
+        for (int i = 0; i < members.size(); i++) {
+            SummaryDeadLetter deadLetter = parse(members.get(i));
+            if (deadLetter == null) continue;
+            try {
+                summaryRetryQueue.scheduleAt(deadLetter.toRetryRequest(), now + replayed * intervalMillis);
+                replayed++;
+            } catch (Exception e) {
+                log.error("DLQ 재처리 등록 실패 - 남은 {}건을 DLQ로 되돌림: {}", members.size() - i, e.getMessage());
+                restore(members.subList(i, members.size()));
+                break;
+            }
+        }
+
+        log.info("DLQ 재처리 등록 - {}건 (초당 {}건으로 분산)", replayed, replayRatePerSecond);
+        return replayed;
+    }
+
+    // 꺼냈지만 등록하지 못한 항목을 원래 순서(failedAt)대로 되돌림
+    private void restore(List<String> members) {
+        for (String member : members) {
+            SummaryDeadLetter deadLetter = parse(member);
+            if (deadLetter != null) {
+                stringRedisTemplate.opsForZSet().add(DLQ_KEY, member, deadLetter.failedAt());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${summary.retry.dlq.metrics-interval:PT30S}")
+    public void refreshMetrics() {
+        try {
+            Long count = stringRedisTemplate.opsForZSet().zCard(DLQ_KEY);
+            Set<TypedTuple<String>> oldest = stringRedisTemplate.opsForZSet().rangeWithScores(DLQ_KEY, 0, 0);
+            size.set(count == null ? 0 : count);
+            oldestFailedAt.set(oldest == null || oldest.isEmpty() || oldest.iterator().next().getScore() == null
+                    ? 0 : oldest.iterator().next().getScore().longValue());
+        } catch (Exception e) {
+            log.warn("DLQ 지표 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    double oldestAgeSeconds() {
+        long failedAt = oldestFailedAt.get();
+        return failedAt == 0 ? 0 : Math.max(0, System.currentTimeMillis() - failedAt) / 1000.0;
+    }
+
+    // 읽을 수 없는 항목은 건너뜀 (replay에서는 DLQ에서 삭제됨)
+    private SummaryDeadLetter parse(String member) {
+        try {
+            return objectMapper.readValue(member, SummaryDeadLetter.class);
+        } catch (JsonProcessingException e) {
+            log.error("DLQ 항목 파싱 실패 - 건너뜀: {}", member, e);
+            return null;
+        }
+    }
+}
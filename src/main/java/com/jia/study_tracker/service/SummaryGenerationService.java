@@ -1,27 +1,40 @@
 package com.jia.study_tracker.service;
 
-import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.domain.StudyLogContent;
 import com.jia.study_tracker.domain.Summary;
 import com.jia.study_tracker.domain.SummaryType;
 import com.jia.study_tracker.domain.User;
 import com.jia.study_tracker.exception.InvalidOpenAIResponseException;
 import com.jia.study_tracker.exception.OpenAIClientException;
 import com.jia.study_tracker.repository.UserRepository;
+import com.jia.study_tracker.service.dto.SummaryResult;
+import com.jia.study_tracker.service.dto.SummaryRunReport;
+import com.jia.study_tracker.service.dto.SummaryRunReport.Outcome;
+import com.jia.study_tracker.service.dto.UserRange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import com.jia.study_tracker.dto.SummaryRetryRequest;
-import org.springframework.data.redis.core.RedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 /**
  * 사용자별 로그를 조회하고, OpenAI를 통해 요약을 생성하여 DB에 저장하는 스케줄러 컴포넌트
  *
  * 주요 책임:
  * - 전체 사용자 조회
- * - 각 사용자의 StudyLog 가져오기
+ * - 사용자 청크 단위로 StudyLog를 한 번에 가져오기
  * - OpenAI API 호출을 통해 요약 및 피드백 생성
  * - 결과를 Summary 엔티티로 저장
  * - 사용자에게 슬랙으로 AI 메시지 전송
@@ -33,6 +46,30 @@ import java.util.List;
  * 신뢰성 보장:
  * - 최소 1회 이상 요약을 시도(at-least-once)하는 구조를 통해
  *   사용자 로그가 누락되지 않도록 설계됨
+ *
+ * 병렬 처리:
+ * - 사용자별 처리는 가상 스레드(기본) 또는 고정 크기 플랫폼 스레드 풀에서 병렬로 실행됨
+ * - OpenAI로 동시에 나가는 요청 수는 max-concurrency로 제한됨
+ * - 한 사용자의 실패가 다른 사용자 처리에 영향을 주지 않도록 사용자 단위로 예외를 격리함
+ *
+ * 논블로킹 파이프라인 (executor: reactive):
+ * - 사용자 청크를 요청(demand)이 있을 때만 읽고, ReactiveOpenAIClient 호출을 flatMap으로 max-concurrency 개까지 동시에 진행
+ * - OpenAI 응답을 기다리는 동안 스레드를 점유하지 않으므로 적은 수의 이벤트 루프 스레드로 많은 요청을 진행할 수 있음
+ * - DB 조회/저장과 슬랙 전송은 블로킹이므로 boundedElastic 스케줄러에서 실행
+ * - 실패 처리(오류 알림, 재시도 큐 등록)는 기존 경로와 같음. 배치 요약은 사용하지 않음
+ *
+ * 배치 요약 (batch.enabled):
+ * - 로그가 짧은 사용자는 max-users 명씩 묶어 OpenAI 요청 한 번으로 요약함 (공통 프롬프트/요청 오버헤드 절감)
+ * - 배치 응답에서 빠졌거나 형식이 잘못된 사용자는 기존과 같이 개별 요청으로 처리함
+ *
+ * 상위 기간 요약 재사용 (rollup.enabled):
+ * - 주간/월간 요약을 원본 로그 대신 이미 저장된 일간/주간 요약으로 만들고, 요약이 없는 날만 원본 로그를 사용함
+ * - 프롬프트가 작아지고 한 달치 로그를 사용자마다 읽지 않아도 됨
+ *
+ * 메모리 사용:
+ * - 전체 사용자를 한 번에 읽지 않고 slackUserId 기준 keyset 페이징으로 chunk-size 명씩 읽음
+ * - 이 메서드는 트랜잭션 밖에서 실행되므로 청크 조회마다 영속성 컨텍스트가 새로 열리고 닫힘
+ *   → 처리가 끝난 청크의 User 엔티티는 어디에도 붙잡혀 있지 않아 사용자 수와 무관하게 메모리가 일정함
  */
 @Service
 @RequiredArgsConstructor
@@ -42,79 +79,368 @@ public class SummaryGenerationService {
     private final UserRepository userRepository;
     private final StudyLogQueryService studyLogQueryService;
     private final OpenAIClient openAIClient;
+    private final ReactiveOpenAIClient reactiveOpenAIClient;
     private final SlackNotificationService slackNotificationService;
     private final SummarySaver summarySaver;
-    private final RedisTemplate<String, SummaryRetryRequest> redisTemplate;
+    private final SummaryRetryQueue summaryRetryQueue;
+
+    // OpenAI로 동시에 나갈 수 있는 최대 요청 수
+    @Value("${summary.generation.max-concurrency:16}")
+    private int maxConcurrency;
+
+    // virtual: 사용자마다 가상 스레드 / platform: max-concurrency 크기의 고정 스레드 풀 / reactive: 논블로킹 파이프라인
+    @Value("${summary.generation.executor:virtual}")
+    private String executorType;
+
+    // 한 번에 조회하는 사용자 수
+    @Value("${summary.generation.chunk-size:500}")
+    private int chunkSize;
+
+    // 로그가 짧은 사용자 여러 명을 한 번의 OpenAI 요청으로 묶을지 여부
+    @Value("${summary.generation.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    // 한 요청에 묶는 최대 사용자 수
+    @Value("${summary.generation.batch.max-users:10}")
+    private int batchMaxUsers;
+
+    // 로그 글자 수 합이 이 값 이하인 사용자만 배치 대상 (긴 로그는 개별 요청)
+    @Value("${summary.generation.batch.max-log-chars:1000}")
+    private int batchMaxLogChars;
+
+    // 주간/월간 요약을 저장된 하위 기간 요약으로 만들지 여부
+    @Value("${summary.generation.rollup.enabled:false}")
+    private boolean rollupEnabled;
 
     /**
      * 스케줄러에서 호출됨
+     * 모든 사용자에 대한 처리가 끝날 때까지 대기한 뒤 실행 리포트를 반환
+     */
+    public SummaryRunReport generateSummaries(LocalDate date, SummaryType type) {
+        return generateSummaries(date, type, UserRange.ALL);
+    }
+
+    /**
+     * 지정한 사용자 구간만 처리 (분산 실행 시 SummaryRunCoordinator가 가져간 파티션마다 호출)
+     */
+    public SummaryRunReport generateSummaries(LocalDate date, SummaryType type, UserRange range) {
+        if (range.isBounded()) {
+            log.info("요약 생성 시작 - date: {}, type: {}, 구간: ({}, {}]", date, type, range.startExclusive(), range.endInclusive());
+        } else {
+            log.info("요약 생성 시작 - date: {}, type: {}", date, type);
+            long userCount = userRepository.count();
+            log.info("전체 사용자 수: {}", userCount);
+        }
+
+        int concurrency = Math.max(1, maxConcurrency);
+        SummaryRunReport.Recorder recorder = SummaryRunReport.recorder();
+
+        if ("reactive".equalsIgnoreCase(executorType)) {
+            runReactive(date, type, range, concurrency, recorder);
+        } else {
+            runWithExecutor(date, type, range, concurrency, recorder);
+        }
+
+        SummaryRunReport report = recorder.finish(type, date);
+        log.info("요약 생성 완료 - type: {}, 사용자: {}, 성공: {}, 생략: {}, 재시도 등록: {}, 실패: {}, 소요: {}ms, p50: {}ms, p99: {}ms, 처리량: {}/s",
+                type, report.userCount(), report.summarized(), report.skipped(), report.retryQueued(), report.failed(),
+                report.wallTime().toMillis(), report.p50Latency().toMillis(), report.p99Latency().toMillis(),
+                String.format("%.2f", report.usersPerSecond()));
+        return report;
+    }
+
+    private void runWithExecutor(LocalDate date, SummaryType type, UserRange range, int concurrency,
+                                 SummaryRunReport.Recorder recorder) {
+        Semaphore inFlight = new Semaphore(concurrency);
+        int pageSize = Math.max(1, chunkSize);
+        String lastUserId = range.startExclusive();
+
+        // close()가 제출된 모든 작업의 완료를 기다림
+        try (ExecutorService executor = newExecutor(concurrency)) {
+            while (true) {
+                List<User> chunk = nextChunk(range, lastUserId, pageSize);
+                if (chunk.isEmpty()) break;
+
+                Map<String, List<StudyLogContent>> logsByUser = prefetchLogs(chunk, date, type, recorder);
+                if (logsByUser != null) {
+                    submitChunk(executor, inFlight, chunk, logsByUser, date, type, recorder);
+                }
+
+                if (chunk.size() < pageSize) break;
+                lastUserId = chunk.get(chunk.size() - 1).getSlackUserId();
+            }
+        }
+    }
+
+    /**
+     * 논블로킹 파이프라인: 청크 조회 → 사용자별 요약(Mono) → 저장/전송
+     * flatMap의 동시성 한도가 진행 중인 OpenAI 요청 수를 제한하고, 한도가 차면 다음 청크를 읽지 않음 (backpressure)
+     * 호출 스레드는 모든 사용자의 처리가 끝날 때까지 대기
+     */
+    private void runReactive(LocalDate date, SummaryType type, UserRange range, int concurrency,
+                             SummaryRunReport.Recorder recorder) {
+        int pageSize = Math.max(1, chunkSize);
+
+        Flux.<List<User>, String>generate(range::startExclusive, (lastUserId, sink) -> {
+                    List<User> chunk = lastUserId == null
+                            ? List.of()
+                            : nextChunk(range, lastUserId, pageSize);
+                    if (chunk.isEmpty()) {
+                        sink.complete();
+                        return null;
+                    }
+                    sink.next(chunk);
+                    // 마지막 청크면 다음 호출에서 종료
+                    return chunk.size() < pageSize ? null : chunk.get(chunk.size() - 1).getSlackUserId();
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .concatMapIterable(chunk -> {
+                    Map<String, List<StudyLogContent>> logsByUser = prefetchLogs(chunk, date, type, recorder);
+                    if (logsByUser == null) return List.<Map.Entry<User, List<StudyLogContent>>>of();
+                    return chunk.stream()
+                            .map(user -> Map.entry(user, logsByUser.getOrDefault(user.getSlackUserId(), List.<StudyLogContent>of())))
+                            .toList();
+                }, 1)
+                .flatMap(entry -> summarizeReactive(entry.getKey(), entry.getValue(), date, type), concurrency)
+                .doOnNext(timed -> recorder.record(timed.outcome(), timed.latencyNanos()))
+                .then()
+                .block();
+    }
+
+    // 구간 안에서 lastUserId 다음 사용자들을 pageSize 명까지 조회
+    private List<User> nextChunk(UserRange range, String lastUserId, int pageSize) {
+        if (range.isBounded()) {
+            return userRepository.findBySlackUserIdGreaterThanAndSlackUserIdLessThanEqualOrderBySlackUserIdAsc(
+                    lastUserId, range.endInclusive(), Limit.of(pageSize));
+        }
+        return userRepository.findBySlackUserIdGreaterThanOrderBySlackUserIdAsc(lastUserId, Limit.of(pageSize));
+    }
+
+    private record TimedOutcome(Outcome outcome, long latencyNanos) {}
+
+    private Mono<TimedOutcome> summarizeReactive(User user, List<StudyLogContent> logs, LocalDate date, SummaryType type) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            if (logs.isEmpty()) {
+                log.debug("[{}] {} 로그 없음 - 요약 생략", user.getSlackUsername(), type);
+                return Mono.just(new TimedOutcome(Outcome.SKIPPED, System.nanoTime() - startedAt));
+            }
+
+            return reactiveOpenAIClient.summarize(logs)
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(result -> {
+                        saveAndNotify(user, result, date, type);
+                        return Outcome.SUMMARIZED;
+                    })
+                    .onErrorResume(InvalidOpenAIResponseException.class, e -> Mono.fromCallable(() -> {
+                        log.warn("[{}] OpenAI 응답 오류 - {} 요약 실패: {}", user.getSlackUsername(), type, e.getMessage());
+                        slackNotificationService.sendErrorNotice(user, date, type);
+                        summaryRetryQueue.register(user, date, type);
+                        return Outcome.RETRY_QUEUED;
+                    }).subscribeOn(Schedulers.boundedElastic()))
+                    .onErrorResume(OpenAIClientException.class, e -> Mono.fromCallable(() -> {
+                        log.error("[{}] OpenAI API 호출 실패 - {} 요약 실패: {}", user.getSlackUsername(), type, e.getMessage());
+                        summaryRetryQueue.register(user, date, type);
+                        return Outcome.RETRY_QUEUED;
+                    }).subscribeOn(Schedulers.boundedElastic()))
+                    .onErrorResume(e -> {
+                        log.error("[{}] 요약 처리 중 예외 발생", user.getSlackUsername(), e);
+                        return Mono.just(Outcome.FAILED);
+                    })
+                    .map(outcome -> new TimedOutcome(outcome, System.nanoTime() - startedAt));
+        });
+    }
+
+    /**
+     * 청크의 사용자들을 작업으로 제출
+     * 배치 대상 사용자는 max-users 명씩 묶어 한 작업으로, 나머지는 사용자마다 한 작업으로 제출
+     */
+    private void submitChunk(ExecutorService executor, Semaphore inFlight, List<User> chunk,
+                             Map<String, List<StudyLogContent>> logsByUser, LocalDate date, SummaryType type,
+                             SummaryRunReport.Recorder recorder) {
+        List<User> batch = new ArrayList<>();
+        for (User user : chunk) {
+            List<StudyLogContent> logs = logsByUser.getOrDefault(user.getSlackUserId(), List.of());
+            if (!isBatchable(logs)) {
+                submit(executor, inFlight, () -> runForUser(user, logs, date, type, recorder));
+                continue;
+            }
+
+            batch.add(user);
+            if (batch.size() >= batchMaxUsers) {
+                List<User> users = batch;
+                submit(executor, inFlight, () -> runForBatch(users, logsByUser, date, type, recorder));
+                batch = new ArrayList<>();
+            }
+        }
+        if (batch.size() == 1) {
+            // 한 명만 남으면 JSON 배치 형식을 쓸 이유가 없으므로 개별 요청
+            User user = batch.get(0);
+            submit(executor, inFlight, () -> runForUser(user, logsByUser.get(user.getSlackUserId()), date, type, recorder));
+        } else if (!batch.isEmpty()) {
+            List<User> users = batch;
+            submit(executor, inFlight, () -> runForBatch(users, logsByUser, date, type, recorder));
+        }
+    }
+
+    // 진행 중인 요청이 가득 차면 제출을 멈춰서 대기 작업이 무한정 쌓이지 않게 함
+    private void submit(ExecutorService executor, Semaphore inFlight, Runnable task) {
+        inFlight.acquireUninterruptibly();
+        executor.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private boolean isBatchable(List<StudyLogContent> logs) {
+        if (!batchEnabled || batchMaxUsers < 2 || logs.isEmpty()) return false;
+        int chars = 0;
+        for (StudyLogContent log : logs) {
+            chars += log.getContent().length();
+            if (chars > batchMaxLogChars) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 여러 사용자를 한 번의 OpenAI 요청으로 요약
+     * 배치 응답에서 빠진 사용자(또는 배치 응답 형식이 잘못된 경우 전원)는 개별 요청으로 다시 처리함
+     * OpenAI 호출 자체가 실패하면 개별 요청도 실패할 가능성이 높고, 한 작업 안에서 전원을 순서대로 다시 호출하면
+     * 동시 실행 한도 하나를 오래 붙잡으므로 전원을 바로 재시도 큐에 등록함
      */
-    public void generateSummaries(LocalDate date, SummaryType type) {
-        log.info("요약 생성 시작 - date: {}, type: {}", date, type);
-        long userCount = userRepository.count();
-        log.info("전체 사용자 수: {}", userCount);
+    private void runForBatch(List<User> users, Map<String, List<StudyLogContent>> logsByUser, LocalDate date, SummaryType type,
+                             SummaryRunReport.Recorder recorder) {
+        long startedAt = System.nanoTime();
+        Map<String, List<StudyLogContent>> batchLogs = new LinkedHashMap<>();
+        users.forEach(user -> batchLogs.put(user.getSlackUserId(), logsByUser.get(user.getSlackUserId())));
+
+        Map<String, SummaryResult> results;
+        try {
+            results = openAIClient.generateBatchSummaries(batchLogs);
+        } catch (OpenAIClientException e) {
+            log.error("배치 요약 OpenAI 호출 실패 - 사용자 {}명 재시도 큐 등록: {}", users.size(), e.getMessage());
+            users.forEach(user -> registerRetry(user, date, type, recorder, startedAt));
+            return;
+        } catch (Exception e) {
+            log.warn("배치 요약 실패 - 사용자 {}명 개별 요청으로 전환: {}", users.size(), e.getMessage());
+            results = Map.of();
+        }
 
-        userRepository.findAll().forEach(user -> {
-            log.info("사용자 처리 시작 - {} ({})", user.getSlackUsername(), user.getSlackUserId());
+        for (User user : users) {
+            SummaryResult result = results.get(user.getSlackUserId());
+            if (result == null) {
+                runForUser(user, batchLogs.get(user.getSlackUserId()), date, type, recorder);
+                continue;
+            }
+
+            Outcome outcome;
             try {
-                processOneUser(user, date, type);
+                saveAndNotify(user, result, date, type);
+                outcome = Outcome.SUMMARIZED;
             } catch (Exception e) {
-                log.error("[{}] 요약 처리 중 예외 발생", user.getSlackUsername(), e);
+                log.error("[{}] 배치 요약 저장 중 예외 발생", user.getSlackUsername(), e);
+                outcome = Outcome.FAILED;
             }
-        });
+            recorder.record(outcome, System.nanoTime() - startedAt);
+        }
+    }
+
+    private void registerRetry(User user, LocalDate date, SummaryType type, SummaryRunReport.Recorder recorder, long startedAt) {
+        Outcome outcome;
+        try {
+            summaryRetryQueue.register(user, date, type);
+            outcome = Outcome.RETRY_QUEUED;
+        } catch (Exception e) {
+            log.error("[{}] 재시도 큐 등록 중 예외 발생", user.getSlackUsername(), e);
+            outcome = Outcome.FAILED;
+        }
+        recorder.record(outcome, System.nanoTime() - startedAt);
     }
 
     /**
-     * 한 명의 유저에 대해 로그 조회 → AI 요약 생성 → 저장 → 슬랙 전송 흐름을 처리
+     * 청크에 속한 사용자들의 로그를 쿼리 한 번으로 미리 조회
+     * 조회에 실패하면 해당 청크의 사용자 전원을 실패로 기록하고 null 반환
      */
-    private void processOneUser(User user, LocalDate date, SummaryType type) {
-        log.debug("[{}] {} 요약 시작", user.getSlackUsername(), type);
+    private Map<String, List<StudyLogContent>> prefetchLogs(List<User> chunk, LocalDate date, SummaryType type,
+                                                     SummaryRunReport.Recorder recorder) {
+        List<String> userIds = chunk.stream().map(User::getSlackUserId).toList();
+        try {
+            return rollupEnabled && type != SummaryType.DAILY
+                    ? studyLogQueryService.getRollupLogsByUser(userIds, date, type)
+                    : studyLogQueryService.getLogsByUser(userIds, date, type);
+        } catch (Exception e) {
+            log.error("로그 일괄 조회 실패 - 사용자 {}명 처리 생략 ({} ~ {})",
+                    chunk.size(), userIds.get(0), userIds.get(userIds.size() - 1), e);
+            chunk.forEach(user -> recorder.record(Outcome.FAILED, 0));
+            return null;
+        }
+    }
+
+    private void runForUser(User user, List<StudyLogContent> logs, LocalDate date, SummaryType type, SummaryRunReport.Recorder recorder) {
+        log.info("사용자 처리 시작 - {} ({})", user.getSlackUsername(), user.getSlackUserId());
+        long startedAt = System.nanoTime();
+        Outcome outcome;
+        try {
+            outcome = processOneUser(user, logs, date, type);
+        } catch (Exception e) {
+            log.error("[{}] 요약 처리 중 예외 발생", user.getSlackUsername(), e);
+            outcome = Outcome.FAILED;
+        }
+        recorder.record(outcome, System.nanoTime() - startedAt);
+    }
+
+    private ExecutorService newExecutor(int concurrency) {
+        if ("platform".equalsIgnoreCase(executorType)) {
+            return Executors.newFixedThreadPool(concurrency, Thread.ofPlatform().name("summary-worker-", 0).factory());
+        }
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("summary-vt-", 0).factory());
+    }
 
-        List<StudyLog> logs = studyLogQueryService.getLogs(user.getSlackUserId(), date, type);
+    /**
+     * 한 명의 유저에 대해 (미리 조회된) 로그 → AI 요약 생성 → 저장 → 슬랙 전송 흐름을 처리
+     */
+    private Outcome processOneUser(User user, List<StudyLogContent> logs, LocalDate date, SummaryType type) {
+        log.debug("[{}] {} 요약 시작", user.getSlackUsername(), type);
         log.debug("[{}] 로그 수: {}", user.getSlackUsername(), logs.size());
 
 
         if (logs.isEmpty()) {
             log.debug("[{}] {} 로그 없음 - 요약 생략", user.getSlackUsername(), type);
-            return;
+            return Outcome.SKIPPED;
         }
 
-        Summary summary;
+        SummaryResult result;
         try {
-            var result = openAIClient.generateSummaryAndFeedback(logs);
-            summary = new Summary(
-                    date,
-                    result.getSummary(),
-                    result.getFeedback(),
-                    true,
-                    null,
-                    user,
-                    type
-            );
+            result = openAIClient.generateSummaryAndFeedback(logs);
         } catch (InvalidOpenAIResponseException e) {
             log.warn("[{}] OpenAI 응답 오류 - {} 요약 실패: {}", user.getSlackUsername(), type, e.getMessage());
             slackNotificationService.sendErrorNotice(user, date, type);
-            registerRetry(user, date, type);
-            return;
+            summaryRetryQueue.register(user, date, type);
+            return Outcome.RETRY_QUEUED;
         } catch (OpenAIClientException e) {
             log.error("[{}] OpenAI API 호출 실패 - {} 요약 실패: {}", user.getSlackUsername(), type, e.getMessage());
-            registerRetry(user, date, type);
-            return;
+            summaryRetryQueue.register(user, date, type);
+            return Outcome.RETRY_QUEUED;
         }
 
-        summarySaver.save(summary);
-        slackNotificationService.sendSummaryToUser(user, summary);
+        saveAndNotify(user, result, date, type);
+        return Outcome.SUMMARIZED;
     }
 
-    private void registerRetry(User user, LocalDate date, SummaryType type) {
-        SummaryRetryRequest retryRequest = new SummaryRetryRequest(
-                user.getSlackUserId(),
-                user.getSlackUsername(),
-                type.name(),
-                date.toString(),
-                0
+    private void saveAndNotify(User user, SummaryResult result, LocalDate date, SummaryType type) {
+        Summary summary = new Summary(
+                date,
+                result.getSummary(),
+                result.getFeedback(),
+                true,
+                null,
+                user,
+                type
         );
-        redisTemplate.opsForList().rightPush("summary-retry-queue", retryRequest);
+        summarySaver.save(summary);
+        slackNotificationService.sendSummaryToUser(user, summary);
     }
 }
-
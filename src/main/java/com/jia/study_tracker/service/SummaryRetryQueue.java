@@ -0,0 +1,353 @@
+package com.jia.study_tracker.service;
+
+import com.jia.study_tracker.domain.SummaryType;
+import com.jia.study_tracker.domain.User;
+import com.jia.study_tracker.dto.SummaryRetryRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실패한 요약 요청을 Redis 재시도 큐에 등록하고, 재시도 시각이 된 요청을 꺼내주는 컴포넌트
+ * 동기 요약(SummaryGenerationService)과 배치 작업(SummaryBatchJobService)이 같은 큐를 사용하도록 분리함
+ * 등록된 요청은 SummaryRetryProcessor가 꺼내서 재시도함
+ *
+ * 구조:
+ * - Redis ZSET(summary-retry-zset)에 다음 재시도 시각(epoch millis)을 score로 저장
+ * - 재시도 간격은 base-delay * 2^retryCount (max-delay 상한)에 지터를 더해 정함
+ *   → 같은 시각에 실패한 요청들이 한꺼번에 다시 몰리지 않음
+ * - 시각이 된 요청만 Lua 스크립트로 조회 + 삭제를 한 번에 수행 (인스턴스가 여러 개여도 같은 요청을 중복으로 꺼내지 않음)
+ *
+ * 신뢰성 모드(reliable, 기본값):
+ * - 꺼낸 요청을 바로 삭제하지 않고 처리 중 ZSET(summary-retry-processing)으로 옮김 (score = 임대 만료 시각)
+ * - 처리가 끝나면 ack(성공/폐기) 또는 retryLater(실패)로 처리 중 목록에서 제거
+ * - 요약 도중 인스턴스가 죽으면 임대가 만료된 요청을 reclaimExpired가 재시도 큐로 되돌림 (at-least-once)
+ * - lease-timeout은 한 배치를 처리하는 데 걸리는 시간보다 길게 잡아야 함 (짧으면 처리 중인 요청이 중복 재시도됨)
+ * - ack는 꺼낼 때 받은 원본 바이트(Claimed.member)로 제거함. 다시 직렬화하면 직렬화 형식(summary.retry.serializer)을
+ *   바꾼 뒤에는 이전 형식으로 저장된 항목과 바이트가 달라 제거되지 않기 때문
+ *
+ * 등록 버퍼(buffer.enabled, 기본값):
+ * - OpenAI 장애 시 수천 명이 몇 초 안에 실패하므로, register()는 로컬 버퍼에 넣고 바로 반환함
+ * - 백그라운드 스레드가 max-size 개가 모이거나 첫 항목 이후 max-wait-ms가 지나면 ZADD 한 번으로 등록
+ * - 버퍼가 가득 차면 호출 스레드에서 바로 등록하고, 종료 시에는 버퍼에 남은 요청을 모두 등록함
+ * - retryLater는 ack보다 등록이 먼저 반영되어야 하므로 버퍼를 거치지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SummaryRetryQueue {
+
+    public static final String QUEUE_KEY = "summary-retry-zset";
+
+    // 이전 버전에서 사용하던 리스트 큐 (남아 있는 요청은 ZSET으로 옮겨서 처리)
+    public static final String LEGACY_QUEUE_KEY = "summary-retry-queue";
+
+    // score <= now 인 요청을 최대 limit 개 꺼내고 ZSET에서 삭제
+    static final RedisScript<List> CLAIM_DUE_SCRIPT = RedisScript.of("""
+            local items = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            if #items > 0 then
+                redis.call('ZREM', KEYS[1], unpack(items))
+            end
+            return items
+            """, List.class);
+
+    // 처리 중인 요청 (score = 임대 만료 시각)
+    public static final String PROCESSING_KEY = "summary-retry-processing";
+
+    // 시각이 된 요청을 최대 limit 개 꺼내서 처리 중 ZSET으로 옮김 (임대 만료 시각 = ARGV[3])
+    static final RedisScript<List> CLAIM_WITH_LEASE_SCRIPT = RedisScript.of("""
+            local items = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            for _, item in ipairs(items) do
+                redis.call('ZREM', KEYS[1], item)
+                redis.call('ZADD', KEYS[2], ARGV[3], item)
+            end
+            return items
+            """, List.class);
+
+    // 임대가 만료된 처리 중 요청을 최대 limit 개 재시도 큐로 되돌림 (바로 재시도 대상)
+    static final RedisScript<Long> RECLAIM_EXPIRED_SCRIPT = RedisScript.of("""
+            local items = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            for _, item in ipairs(items) do
+                redis.call('ZREM', KEYS[1], item)
+                redis.call('ZADD', KEYS[2], ARGV[1], item)
+            end
+            return #items
+            """, Long.class);
+
+    private final RedisTemplate<String, SummaryRetryRequest> redisTemplate;
+
+    /**
+     * 꺼낸 요청과 ZSET에 저장되어 있던 원본 바이트 (ack/retryLater에서 그대로 제거하는 데 사용)
+     */
+    public record Claimed(SummaryRetryRequest request, byte[] member) {}
+
+    // true면 꺼낸 요청을 처리가 끝날 때까지 처리 중 목록에 보관 (false면 꺼내는 즉시 삭제)
+    @Value("${summary.retry.reliable:true}")
+    private boolean reliable = true;
+
+    // 처리 중 요청의 임대 시간 (지나면 처리하던 인스턴스가 죽은 것으로 보고 되돌림)
+    @Value("${summary.retry.lease-timeout:15m}")
+    private Duration leaseTimeout = Duration.ofMinutes(15);
+
+    // 첫 재시도까지의 기본 대기 시간
+    @Value("${summary.retry.base-delay:1m}")
+    private Duration baseDelay = Duration.ofMinutes(1);
+
+    // 재시도 간격 상한
+    @Value("${summary.retry.max-delay:1h}")
+    private Duration maxDelay = Duration.ofHours(1);
+
+    @Value("${summary.retry.buffer.enabled:true}")
+    private boolean bufferEnabled;
+
+    @Value("${summary.retry.buffer.max-size:500}")
+    private int maxBatchSize;
+
+    @Value("${summary.retry.buffer.max-wait-ms:100}")
+    private long maxWaitMillis;
+
+    @Value("${summary.retry.buffer.capacity:10000}")
+    private int capacity;
+
+    // 등록 대기 중인 요청 (score = 다음 재시도 시각, 등록 시점 기준으로 계산)
+    private BlockingQueue<TypedTuple<SummaryRetryRequest>> buffer;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!bufferEnabled) return;
+
+        buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        running = true;
+        flusher = Thread.ofPlatform().name("summary-retry-flusher").daemon(true).start(this::runFlusher);
+    }
+
+    public void register(User user, LocalDate date, SummaryType type) {
+        SummaryRetryRequest retryRequest = new SummaryRetryRequest(
+                user.getSlackUserId(),
+                user.getSlackUsername(),
+                type.name(),
+                date.toString(),
+                0
+        );
+        if (buffer == null || !buffer.offer(new DefaultTypedTuple<>(retryRequest, (double) nextAttemptAt(retryRequest)))) {
+            schedule(retryRequest);
+        }
+    }
+
+    /**
+     * retryCount에 따른 대기 시간 이후에 재시도되도록 바로 등록 (버퍼를 거치지 않음)
+     */
+    public void schedule(SummaryRetryRequest request) {
+        redisTemplate.opsForZSet().add(QUEUE_KEY, request, nextAttemptAt(request));
+    }
+
+    /**
+     * 지정한 시각(epoch millis)에 재시도되도록 바로 등록 (DLQ 재처리에서 사용)
+     */
+    public void scheduleAt(SummaryRetryRequest request, long attemptAt) {
+        redisTemplate.opsForZSet().add(QUEUE_KEY, request, attemptAt);
+    }
+
+    private long nextAttemptAt(SummaryRetryRequest request) {
+        return System.currentTimeMillis() + backoff(request.getRetryCount()).toMillis();
+    }
+
+    private void runFlusher() {
+        int batchSize = Math.max(1, maxBatchSize);
+        List<TypedTuple<SummaryRetryRequest>> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                TypedTuple<SummaryRetryRequest> first = buffer.poll(maxWaitMillis, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 항목 이후 max-wait-ms 동안 최대 max-size 개까지 모음
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) break;
+
+                    TypedTuple<SummaryRetryRequest> next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<TypedTuple<SummaryRetryRequest>> batch) {
+        if (batch.isEmpty()) return;
+
+        try {
+            redisTemplate.opsForZSet().add(QUEUE_KEY, new HashSet<>(batch));
+            log.debug("재시도 요청 {}건 일괄 등록", batch.size());
+        } catch (Exception e) {
+            log.warn("재시도 요청 일괄 등록 실패 - 한 건씩 재시도 ({}건): {}", batch.size(), e.getMessage());
+            for (TypedTuple<SummaryRetryRequest> tuple : batch) {
+                try {
+                    redisTemplate.opsForZSet().add(QUEUE_KEY, tuple.getValue(), tuple.getScore());
+                } catch (Exception single) {
+                    SummaryRetryRequest request = tuple.getValue();
+                    log.error("❌ 재시도 요청 등록 실패 - 폐기됨: {} (type: {}, date: {})",
+                            request.getSlackUserId(), request.getSummaryType(), request.getTargetDate(), single);
+                }
+            }
+        }
+    }
+
+    /**
+     * 종료 시 버퍼에 남은 요청을 모두 등록한 뒤 종료
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher == null) return;
+
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 재시도 시각이 된 요청을 최대 limit 개 꺼냄
+     * 신뢰성 모드에서는 처리 중 목록으로 옮겨지므로 처리 후 반드시 ack 또는 retryLater를 호출해야 함
+     */
+    @SuppressWarnings("unchecked")
+    public List<Claimed> claimDue(int limit) {
+        long now = System.currentTimeMillis();
+        List<byte[]> members = reliable
+                ? execute(CLAIM_WITH_LEASE_SCRIPT, List.of(QUEUE_KEY, PROCESSING_KEY),
+                        String.valueOf(now), String.valueOf(limit), String.valueOf(now + leaseTimeout.toMillis()))
+                : execute(CLAIM_DUE_SCRIPT, List.of(QUEUE_KEY), String.valueOf(now), String.valueOf(limit));
+        if (members == null || members.isEmpty()) return List.of();
+
+        RedisSerializer<?> valueSerializer = redisTemplate.getValueSerializer();
+        List<Claimed> claimed = new ArrayList<>(members.size());
+        for (byte[] member : members) {
+            try {
+                claimed.add(new Claimed((SummaryRetryRequest) valueSerializer.deserialize(member), member));
+            } catch (Exception e) {
+                // 읽을 수 없는 항목은 다시 꺼내도 같으므로 처리 중 목록에서 제거하고 폐기
+                log.error("❌ 재시도 요청 역직렬화 실패 - 폐기됨 ({} bytes): {}", member.length, e.getMessage());
+                removeProcessing(member);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * 처리가 끝난 요청(성공 또는 폐기)을 처리 중 목록에서 제거
+     */
+    public void ack(Claimed claimed) {
+        if (!reliable) return;
+
+        Long removed = removeProcessing(claimed.member());
+        if (removed == null || removed == 0) {
+            // 임대가 만료되어 이미 재시도 큐로 되돌려진 경우 (한 번 더 재시도될 수 있음)
+            SummaryRetryRequest request = claimed.request();
+            log.warn("처리 중 목록에 없는 재시도 요청 ack - 임대 만료 가능성: {} (type: {}, date: {})",
+                    request.getSlackUserId(), request.getSummaryType(), request.getTargetDate());
+        }
+    }
+
+    /**
+     * 실패한 요청을 다음 재시도(next)로 등록하고 처리 중 목록에서 제거
+     * 등록 후 제거하므로 그 사이에 죽어도 요청을 잃지 않음 (대신 한 번 더 재시도될 수 있음)
+     */
+    public void retryLater(Claimed claimed, SummaryRetryRequest next) {
+        schedule(next);
+        ack(claimed);
+    }
+
+    private Long removeProcessing(byte[] member) {
+        if (!reliable) return 0L;
+        byte[] key = StringRedisSerializer.UTF_8.serialize(PROCESSING_KEY);
+        return redisTemplate.execute((RedisCallback<Long>) connection -> connection.zSetCommands().zRem(key, member));
+    }
+
+    /**
+     * 임대가 만료된 처리 중 요청을 최대 limit 개 재시도 큐로 되돌림
+     * @return 되돌린 요청 수
+     */
+    public long reclaimExpired(int limit) {
+        if (!reliable) return 0;
+
+        Long reclaimed = execute(RECLAIM_EXPIRED_SCRIPT, List.of(PROCESSING_KEY, QUEUE_KEY),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(limit));
+        if (reclaimed != null && reclaimed > 0) {
+            log.warn("임대가 만료된 재시도 요청 {}건을 큐로 되돌림", reclaimed);
+        }
+        return reclaimed == null ? 0 : reclaimed;
+    }
+
+    /**
+     * 이전 리스트 큐에 남아 있는 요청을 최대 limit 개 ZSET으로 옮김 (바로 재시도 대상이 됨)
+     * @return 옮긴 요청 수
+     */
+    public int migrateLegacy(int limit) {
+        int moved = 0;
+        while (moved < limit) {
+            SummaryRetryRequest request = redisTemplate.opsForList().leftPop(LEGACY_QUEUE_KEY);
+            if (request == null) break;
+            redisTemplate.opsForZSet().add(QUEUE_KEY, request, System.currentTimeMillis());
+            moved++;
+        }
+        if (moved > 0) {
+            log.info("이전 재시도 리스트 큐에서 {}건을 ZSET으로 이동", moved);
+        }
+        return moved;
+    }
+
+    // 인자는 문자열로 보내고, 결과 목록의 원소는 원본 바이트 그대로 받음 (정수 결과는 그대로 반환됨)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> T execute(RedisScript<T> script, List<String> keys, String... args) {
+        return redisTemplate.execute(script, StringRedisSerializer.UTF_8,
+                (RedisSerializer<T>) (RedisSerializer) RedisSerializer.byteArray(), keys, (Object[]) args);
+    }
+
+    /**
+     * base-delay * 2^retryCount 를 max-delay로 제한한 뒤, 그 절반 ~ 전체 사이에서 무작위로 선택 (equal jitter)
+     */
+    Duration backoff(int retryCount) {
+        long base = Math.max(1, baseDelay.toMillis());
+        long cap = Math.max(base, maxDelay.toMillis());
+        // 시프트 결과가 long 범위를 넘지 않도록 지수를 제한
+        int shift = Math.min(Math.max(retryCount, 0), Long.numberOfLeadingZeros(base) - 1);
+        long exponential = Math.min(cap, base << shift);
+        long half = exponential / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(exponential - half + 1));
+    }
+}
@@ -0,0 +1,170 @@
+package com.jia.study_tracker.service;
+
+import com.jia.study_tracker.domain.SummaryType;
+import com.jia.study_tracker.repository.UserRepository;
+import com.jia.study_tracker.service.dto.UserRange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 인스턴스가 여러 개일 때 정기 요약 실행이 사용자마다 한 번만 일어나도록 조정하는 컴포넌트
+ *
+ * 배경:
+ * - 스케줄러는 모든 인스턴스에서 같은 시각에 실행되므로, 조정 없이 수평 확장하면 사용자가 같은 DM을 여러 번 받음
+ *
+ * 모드 (summary.distributed.mode):
+ * - single (기본값): 조정 없이 바로 실행 (인스턴스 1개)
+ * - leader: Redis 잠금(DistributedLock)을 잡은 인스턴스 하나만 전체 실행.
+ *   끝나면 완료 표시를 남겨서, 잠금이 풀린 뒤 늦게 실행된 인스턴스도 다시 실행하지 않음
+ * - sharded: 모든 인스턴스가 사용자 키 공간을 partition-size 명 단위 구간으로 나누어 가져가며 처리
+ *   → 한 번의 실행이 모든 인스턴스에 분산되어 약 1/N 시간에 끝남
+ *
+ * 구간 분배 (sharded):
+ * - Redis에 실행별 커서(마지막으로 분배된 slackUserId)를 두고, 각 인스턴스가 커서 다음 partition-size 명의 ID를 조회한 뒤
+ *   커서가 그대로일 때만 구간 끝으로 옮김 (Lua compare-and-set)
+ * - 다른 인스턴스가 먼저 옮겼으면 커서를 다시 읽어서 다음 구간을 시도하므로, 같은 구간을 두 인스턴스가 처리하지 않음
+ * - 먼저 끝난 인스턴스가 남은 구간을 더 가져가므로 인스턴스 간 처리 속도 차이가 자연스럽게 흡수됨
+ * - 마지막 구간 이후에는 커서에 완료 표시를 남겨 두어, 늦게 실행된 인스턴스는 아무것도 처리하지 않음
+ * - 구간을 처리하던 인스턴스가 죽으면 그 구간은 다시 분배되지 않음 (단일 인스턴스가 실행 중 죽은 경우와 같음)
+ *
+ * 재시도 큐(SummaryRetryProcessor)와 배치 작업 폴링은 Redis 원자 연산으로 요청을 가져가므로 별도 조정 없이 여러 인스턴스에서 실행됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SummaryRunCoordinator {
+
+    private static final String RUN_KEY_PREFIX = "summary-run:";
+    private static final String CURSOR_DONE = "#done";
+
+    // 커서가 ARGV[1](없으면 "")일 때만 ARGV[2]로 바꾸고 1, 아니면 0
+    static final RedisScript<Long> ADVANCE_CURSOR_SCRIPT = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1]) or ''
+            if current ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final SummaryGenerationService summaryGenerationService;
+    private final UserRepository userRepository;
+    private final DistributedLock distributedLock;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // single | leader | sharded
+    @Value("${summary.distributed.mode:single}")
+    private String mode = "single";
+
+    // sharded 모드에서 인스턴스가 한 번에 가져가는 사용자 수
+    @Value("${summary.distributed.partition-size:2000}")
+    private int partitionSize = 2000;
+
+    // leader 모드 잠금 유지 시간 (실행 시간보다 길게. 인스턴스가 죽으면 이 시간이 지나야 다른 인스턴스가 실행 가능)
+    @Value("${summary.distributed.lock-ttl:6h}")
+    private Duration lockTtl = Duration.ofHours(6);
+
+    // 완료 표시/커서 보관 시간 (같은 실행이 다시 일어나지 않도록 실행 주기 안에서 충분히 길게)
+    @Value("${summary.distributed.run-ttl:2d}")
+    private Duration runTtl = Duration.ofDays(2);
+
+    /**
+     * 스케줄러에서 호출. 모드에 따라 바로 실행 / 한 인스턴스만 실행 / 구간을 나누어 실행
+     */
+    public void run(LocalDate date, SummaryType type) {
+        switch (mode.toLowerCase()) {
+            case "sharded" -> runSharded(date, type);
+            case "leader" -> runExclusively(type + ":" + date,
+                    () -> summaryGenerationService.generateSummaries(date, type));
+            default -> summaryGenerationService.generateSummaries(date, type);
+        }
+    }
+
+    /**
+     * 같은 이름의 실행을 한 인스턴스에서 한 번만 수행 (single 모드면 바로 실행)
+     * 배치 작업 제출처럼 나누어 실행할 수 없는 작업은 sharded 모드에서도 이 방식으로 실행함
+     * @return 이 인스턴스에서 실행했으면 true
+     */
+    public boolean runExclusively(String runName, Runnable task) {
+        if ("single".equalsIgnoreCase(mode)) {
+            task.run();
+            return true;
+        }
+
+        String doneKey = RUN_KEY_PREFIX + runName + ":done";
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(doneKey))) {
+            log.info("이미 완료된 실행 - 건너뜀: {}", runName);
+            return false;
+        }
+        String token = distributedLock.tryLock(RUN_KEY_PREFIX + runName, lockTtl);
+        if (token == null) {
+            log.info("다른 인스턴스가 실행 중 - 건너뜀: {}", runName);
+            return false;
+        }
+
+        try {
+            // 완료 확인과 잠금 사이에 다른 인스턴스가 실행을 끝내고 잠금을 풀었을 수 있으므로 잠금을 잡은 뒤 다시 확인
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(doneKey))) {
+                log.info("잠금 대기 중 다른 인스턴스가 완료한 실행 - 건너뜀: {}", runName);
+                return false;
+            }
+            task.run();
+            stringRedisTemplate.opsForValue().set(doneKey, "1", runTtl);
+            return true;
+        } finally {
+            distributedLock.unlock(RUN_KEY_PREFIX + runName, token);
+        }
+    }
+
+    private void runSharded(LocalDate date, SummaryType type) {
+        String cursorKey = RUN_KEY_PREFIX + type + ":" + date + ":cursor";
+        int partitions = 0;
+        while (true) {
+            Optional<UserRange> range = claimNextRange(cursorKey);
+            if (range.isEmpty()) break;
+
+            try {
+                summaryGenerationService.generateSummaries(date, type, range.get());
+            } catch (Exception e) {
+                // 한 구간의 실패로 남은 구간 분배가 멈추지 않도록 함
+                log.error("구간 요약 실패 - type: {}, date: {}, 구간: ({}, {}]",
+                        type, date, range.get().startExclusive(), range.get().endInclusive(), e);
+            }
+            partitions++;
+        }
+        log.info("분산 요약 실행 종료 - type: {}, date: {}, 이 인스턴스가 처리한 구간: {}", type, date, partitions);
+    }
+
+    /**
+     * 커서 다음 partition-size 명을 이 인스턴스의 구간으로 가져감
+     * @return 가져간 구간, 더 분배할 사용자가 없으면 empty
+     */
+    Optional<UserRange> claimNextRange(String cursorKey) {
+        int size = Math.max(1, partitionSize);
+        while (true) {
+            String cursor = stringRedisTemplate.opsForValue().get(cursorKey);
+            if (CURSOR_DONE.equals(cursor)) return Optional.empty();
+
+            String start = cursor == null ? "" : cursor;
+            List<String> ids = userRepository.findSlackUserIdsAfter(start, Limit.of(size));
+            String next = ids.isEmpty() ? CURSOR_DONE : ids.get(ids.size() - 1);
+
+            Long advanced = stringRedisTemplate.execute(ADVANCE_CURSOR_SCRIPT, List.of(cursorKey),
+                    start, next, String.valueOf(runTtl.toMillis()));
+            if (advanced != null && advanced == 1) {
+                return ids.isEmpty() ? Optional.empty() : Optional.of(new UserRange(start, next));
+            }
+            // 다른 인스턴스가 먼저 커서를 옮김 → 다시 읽어서 다음 구간 시도
+        }
+    }
+}
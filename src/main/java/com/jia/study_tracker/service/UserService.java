@@ -1,27 +1,62 @@
 package com.jia.study_tracker.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.jia.study_tracker.domain.User;
 import com.jia.study_tracker.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+
+/**
+ * 슬랙 사용자 조회/생성 서비스
+ *
+ * 캐시:
+ * - 한 번 확인된 사용자는 크기 제한(user.cache.max-size)과 TTL(user.cache.ttl)이 있는 인메모리 캐시에 보관됨
+ * - 캐시 적중 시 DB 조회 없이 바로 반환하므로 메시지 수집 경로에서 DB 읽기가 사라짐
+ * - 적중/미스/축출 횟수는 Micrometer(cache.gets, cache.evictions 등, cache=users)로 노출됨
+ */
 @Service
-@RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
+    private final Cache<String, User> knownUsers;
+
+    public UserService(UserRepository userRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${user.cache.max-size:10000}") long maxSize,
+                       @Value("${user.cache.ttl:1h}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.knownUsers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, knownUsers, "users");
+    }
 
     /**
      * 유저가 존재하지 않으면 새로 생성해서 리턴합니다.
      * 동시에 여러 요청이 들어올 수 있으므로 예외 재시도로 처리합니다.
+     *
+     * 캐시 적중 시 트랜잭션을 열지 않도록 메서드 자체는 트랜잭션 없이 동작하며,
+     * 조회와 생성은 각각 리포지토리의 트랜잭션에서 실행됩니다.
+     * (생성 충돌로 롤백된 뒤의 재조회가 깨끗한 영속성 컨텍스트에서 실행되는 효과도 있음)
      */
-
-    @Transactional
     public User findOrCreateUser(String slackUserId, String slackUsername) {
-        return userRepository.findById(slackUserId)
+        User cached = knownUsers.getIfPresent(slackUserId);
+        if (cached != null) return cached;
+
+        User user = userRepository.findById(slackUserId)
                 .orElseGet(() -> tryCreateUser(slackUserId, slackUsername));
+        cacheAfterCommit(user);
+        return user;
     }
 
     private User tryCreateUser(String slackUserId, String slackUsername) {
@@ -33,4 +68,21 @@ public class UserService {
         }
     }
 
+    /**
+     * 바깥 트랜잭션이 있으면 커밋된 뒤에만 캐시에 넣음
+     * (롤백되어 실제로는 없는 사용자가 캐시에 남으면 이후 StudyLog 저장이 FK 위반으로 실패하기 때문)
+     */
+    private void cacheAfterCommit(User user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            knownUsers.put(user.getSlackUserId(), user);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                knownUsers.put(user.getSlackUserId(), user);
+            }
+        });
+    }
 }
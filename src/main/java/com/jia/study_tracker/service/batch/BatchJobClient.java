@@ -0,0 +1,29 @@
+package com.jia.study_tracker.service.batch;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * 비동기 배치 작업(요청 JSONL 제출 → 완료 후 결과 JSONL 조회)을 처리하는 클라이언트
+ *
+ * 구현:
+ * - OpenAIBatchJobClient: OpenAI Batch API (summary.batch-job.client=openai)
+ * - LocalFileBatchJobClient: 로컬 파일로 즉시 결과를 만드는 대체 구현 (summary.batch-job.client=local, 개발/테스트용)
+ */
+public interface BatchJobClient {
+
+    /**
+     * 요청 JSONL 파일을 제출하고 작업 ID를 반환
+     */
+    String submit(Path requestFile);
+
+    /**
+     * 작업 상태 조회 (완료될 때까지 기다리지 않음)
+     */
+    BatchJobStatus getStatus(String jobId);
+
+    /**
+     * 완료된 작업의 결과 JSONL을 한 줄씩 전달 (전체를 메모리에 올리지 않음)
+     */
+    void readResults(BatchJobStatus status, Consumer<String> lineConsumer);
+}
@@ -0,0 +1,20 @@
+package com.jia.study_tracker.service.batch;
+
+/**
+ * 배치 작업 상태
+ * @param jobId 작업 ID
+ * @param state 진행 상태
+ * @param outputRef 결과를 읽을 위치 (OpenAI: output_file_id, 로컬: 결과 파일 경로)
+ */
+public record BatchJobStatus(String jobId, State state, String outputRef) {
+
+    public enum State {
+        IN_PROGRESS,
+        COMPLETED,
+        FAILED
+    }
+
+    public boolean isFinished() {
+        return state != State.IN_PROGRESS;
+    }
+}
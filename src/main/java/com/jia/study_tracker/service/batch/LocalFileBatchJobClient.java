@@ -0,0 +1,94 @@
+package com.jia.study_tracker.service.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jia.study_tracker.service.dto.openai.BatchRequestLine;
+import com.jia.study_tracker.service.dto.openai.BatchResponseLine;
+import com.jia.study_tracker.service.dto.openai.Message;
+import com.jia.study_tracker.service.dto.openai.OpenAIResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 파일 기반 BatchJobClient (OpenAI 호출 없이 배치 흐름을 확인하기 위한 대체 구현)
+ *
+ * - 제출 시점에 요청 JSONL을 읽어 고정된 요약 응답으로 결과 JSONL을 바로 만들어 둠
+ * - 결과 파일이 있으면 COMPLETED, 없으면 FAILED
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "summary.batch-job.client", havingValue = "local")
+public class LocalFileBatchJobClient implements BatchJobClient {
+
+    private static final String MOCK_CONTENT = "요약: [LOCAL 요약] 공부 열심히 했어요\n피드백: [LOCAL 피드백] 화이팅!";
+
+    private final ObjectMapper objectMapper;
+    private final Path workDir;
+
+    public LocalFileBatchJobClient(ObjectMapper objectMapper,
+                                   @Value("${summary.batch-job.work-dir:${java.io.tmpdir}/study-tracker-batch}") Path workDir) {
+        this.objectMapper = objectMapper;
+        this.workDir = workDir;
+    }
+
+    @Override
+    public String submit(Path requestFile) {
+        String jobId = "local-" + UUID.randomUUID();
+        Path output = outputFile(jobId);
+        try {
+            Files.createDirectories(workDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try (Stream<String> lines = Files.lines(requestFile);
+             BufferedWriter writer = Files.newBufferedWriter(output)) {
+            for (String line : (Iterable<String>) lines.filter(l -> !l.isBlank())::iterator) {
+                BatchRequestLine request = objectMapper.readValue(line, BatchRequestLine.class);
+                writer.write(objectMapper.writeValueAsString(respond(request)));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("로컬 배치 작업 완료 - job: {}, output: {}", jobId, output);
+        return jobId;
+    }
+
+    @Override
+    public BatchJobStatus getStatus(String jobId) {
+        Path output = outputFile(jobId);
+        return Files.exists(output)
+                ? new BatchJobStatus(jobId, BatchJobStatus.State.COMPLETED, output.toString())
+                : new BatchJobStatus(jobId, BatchJobStatus.State.FAILED, null);
+    }
+
+    @Override
+    public void readResults(BatchJobStatus status, Consumer<String> lineConsumer) {
+        try (Stream<String> lines = Files.lines(Path.of(status.outputRef()))) {
+            lines.filter(line -> !line.isBlank()).forEach(lineConsumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private BatchResponseLine respond(BatchRequestLine request) {
+        OpenAIResponse body = new OpenAIResponse(List.of(
+                new OpenAIResponse.Choice(new Message("assistant", MOCK_CONTENT))));
+        return new BatchResponseLine(request.customId(), new BatchResponseLine.Response(200, body), null);
+    }
+
+    private Path outputFile(String jobId) {
+        return workDir.resolve(jobId + "-output.jsonl");
+    }
+}
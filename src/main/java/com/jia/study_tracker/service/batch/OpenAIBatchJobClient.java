@@ -0,0 +1,135 @@
+package com.jia.study_tracker.service.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.jia.study_tracker.exception.OpenAIClientException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * OpenAI Batch API 클라이언트
+ *
+ * 흐름:
+ * - POST /files (purpose=batch)로 요청 JSONL 업로드
+ * - POST /batches로 /v1/chat/completions 배치 작업 생성 (completion_window: 24h)
+ * - GET /batches/{id}로 상태 확인, 완료되면 output_file_id의 내용을 임시 파일로 내려받아 한 줄씩 전달
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "summary.batch-job.client", havingValue = "openai", matchIfMissing = true)
+@RequiredArgsConstructor
+public class OpenAIBatchJobClient implements BatchJobClient {
+
+    private final WebClient openAIWebClient;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record FileObject(String id) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record BatchObject(String id, String status, @JsonProperty("output_file_id") String outputFileId) {}
+
+    @Override
+    public String submit(Path requestFile) {
+        try {
+            MultipartBodyBuilder multipart = new MultipartBodyBuilder();
+            multipart.part("purpose", "batch");
+            multipart.part("file", new FileSystemResource(requestFile));
+
+            FileObject file = openAIWebClient.post()
+                    .uri("/files")
+                    .contentType(MediaType.MULTIPART_FORM_DATA)
+                    .body(BodyInserters.fromMultipartData(multipart.build()))
+                    .retrieve()
+                    .bodyToMono(FileObject.class)
+                    .block();
+
+            BatchObject batch = openAIWebClient.post()
+                    .uri("/batches")
+                    .bodyValue(Map.of(
+                            "input_file_id", file.id(),
+                            "endpoint", "/v1/chat/completions",
+                            "completion_window", "24h"))
+                    .retrieve()
+                    .bodyToMono(BatchObject.class)
+                    .block();
+
+            log.info("OpenAI 배치 작업 생성 - batch: {}, file: {}", batch.id(), file.id());
+            return batch.id();
+        } catch (WebClientException e) {
+            throw new OpenAIClientException("OpenAI 배치 작업 생성 실패", e);
+        }
+    }
+
+    @Override
+    public BatchJobStatus getStatus(String jobId) {
+        try {
+            BatchObject batch = openAIWebClient.get()
+                    .uri("/batches/{id}", jobId)
+                    .retrieve()
+                    .bodyToMono(BatchObject.class)
+                    .block();
+
+            return switch (batch.status()) {
+                case "completed" -> batch.outputFileId() != null
+                        ? new BatchJobStatus(jobId, BatchJobStatus.State.COMPLETED, batch.outputFileId())
+                        : new BatchJobStatus(jobId, BatchJobStatus.State.FAILED, null); // 모든 요청이 실패한 경우
+                case "failed", "expired", "cancelling", "cancelled" ->
+                        new BatchJobStatus(jobId, BatchJobStatus.State.FAILED, batch.outputFileId());
+                default -> new BatchJobStatus(jobId, BatchJobStatus.State.IN_PROGRESS, null); // validating, in_progress, finalizing
+            };
+        } catch (WebClientException e) {
+            throw new OpenAIClientException("OpenAI 배치 작업 상태 조회 실패: " + jobId, e);
+        }
+    }
+
+    @Override
+    public void readResults(BatchJobStatus status, Consumer<String> lineConsumer) {
+        Path downloaded = null;
+        try {
+            downloaded = Files.createTempFile("openai-batch-" + status.jobId(), ".jsonl");
+            Flux<DataBuffer> content = openAIWebClient.get()
+                    .uri("/files/{id}/content", status.outputRef())
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class);
+            DataBufferUtils.write(content, downloaded).block();
+
+            try (Stream<String> lines = Files.lines(downloaded)) {
+                lines.filter(line -> !line.isBlank()).forEach(lineConsumer);
+            }
+        } catch (WebClientException e) {
+            throw new OpenAIClientException("OpenAI 배치 결과 조회 실패: " + status.jobId(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(downloaded);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", file);
+        }
+    }
+}
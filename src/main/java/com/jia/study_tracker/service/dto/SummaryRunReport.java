@@ -0,0 +1,96 @@
+package com.jia.study_tracker.service.dto;
+
+import com.jia.study_tracker.domain.SummaryType;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 한 번의 요약 생성 실행(run) 결과를 담는 리포트
+ *
+ * 역할: 전체 소요 시간, 사용자별 처리 결과 집계, 사용자당 지연시간(p50/p99), 처리량을 전달
+ */
+public record SummaryRunReport(
+        SummaryType type,
+        LocalDate date,
+        int userCount,
+        int summarized,
+        int skipped,
+        int retryQueued,
+        int failed,
+        Duration wallTime,
+        Duration p50Latency,
+        Duration p99Latency,
+        double usersPerSecond
+) {
+
+    // 사용자 한 명을 처리한 결과
+    public enum Outcome {
+        SUMMARIZED, // 요약 저장 및 전송 완료
+        SKIPPED, // 로그 없음
+        RETRY_QUEUED, // OpenAI 실패로 재시도 큐에 등록
+        FAILED // 예상치 못한 예외
+    }
+
+    public static Recorder recorder() {
+        return new Recorder();
+    }
+
+    /**
+     * 여러 워커 스레드에서 동시에 사용자별 결과를 기록하기 위한 수집기
+     */
+    public static final class Recorder {
+
+        private final long startedAt = System.nanoTime();
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final Map<Outcome, LongAdder> counts = new EnumMap<>(Outcome.class);
+
+        private Recorder() {
+            for (Outcome outcome : Outcome.values()) {
+                counts.put(outcome, new LongAdder());
+            }
+        }
+
+        public void record(Outcome outcome, long latencyNanos) {
+            counts.get(outcome).increment();
+            latencies.add(latencyNanos);
+        }
+
+        public SummaryRunReport finish(SummaryType type, LocalDate date) {
+            Duration wallTime = Duration.ofNanos(System.nanoTime() - startedAt);
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+
+            double seconds = wallTime.toNanos() / 1_000_000_000.0;
+            return new SummaryRunReport(
+                    type,
+                    date,
+                    sorted.length,
+                    count(Outcome.SUMMARIZED),
+                    count(Outcome.SKIPPED),
+                    count(Outcome.RETRY_QUEUED),
+                    count(Outcome.FAILED),
+                    wallTime,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99),
+                    seconds > 0 ? sorted.length / seconds : 0
+            );
+        }
+
+        private int count(Outcome outcome) {
+            return counts.get(outcome).intValue();
+        }
+
+        // nearest-rank 방식의 백분위수
+        private static Duration percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return Duration.ZERO;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return Duration.ofNanos(sorted[Math.max(0, index)]);
+        }
+    }
+}
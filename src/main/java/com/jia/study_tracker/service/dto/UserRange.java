@@ -0,0 +1,16 @@
+package com.jia.study_tracker.service.dto;
+
+/**
+ * slackUserId 기준 사용자 구간 (startExclusive, endInclusive]
+ * 여러 인스턴스가 요약 실행을 나누어 처리할 때 한 인스턴스가 가져가는 파티션 단위
+ * @param startExclusive 이 ID 다음부터 (처음부터면 "")
+ * @param endInclusive 이 ID까지 (끝까지면 null)
+ */
+public record UserRange(String startExclusive, String endInclusive) {
+
+    public static final UserRange ALL = new UserRange("", null);
+
+    public boolean isBounded() {
+        return endInclusive != null;
+    }
+}
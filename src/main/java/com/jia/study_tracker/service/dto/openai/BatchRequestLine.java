@@ -0,0 +1,11 @@
+package com.jia.study_tracker.service.dto.openai;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// OpenAI Batch API 입력 JSONL의 한 줄. custom_id로 응답 줄과 요청을 연결함
+public record BatchRequestLine(@JsonProperty("custom_id") String customId, String method, String url, OpenAIRequest body) {
+
+    public static BatchRequestLine chatCompletion(String customId, OpenAIRequest body) {
+        return new BatchRequestLine(customId, "POST", "/v1/chat/completions", body);
+    }
+}
@@ -0,0 +1,22 @@
+package com.jia.study_tracker.service.dto.openai;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * OpenAI Batch API 결과 JSONL의 한 줄
+ * 요청 단위로 성공 시 response(status_code + body), 실패 시 error가 채워짐
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record BatchResponseLine(@JsonProperty("custom_id") String customId, Response response, Error error) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Response(@JsonProperty("status_code") int statusCode, OpenAIResponse body) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Error(String code, String message) {}
+
+    public boolean isSuccess() {
+        return error == null && response != null && response.statusCode() == 200 && response.body() != null;
+    }
+}
@@ -1,6 +1,21 @@
 package com.jia.study_tracker.service.dto.openai;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
 
-// OpenAI API에 보낼 요청 데이터를 담는 DTO. (모델명 + 메시지 리스트)
-public record OpenAIRequest(String model, List<Message> messages) {}
+// OpenAI API에 보낼 요청 데이터를 담는 DTO. (모델명 + 메시지 리스트 + 선택적으로 응답 형식)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OpenAIRequest(String model, List<Message> messages,
+                            @JsonProperty("response_format") ResponseFormat responseFormat) {
+
+    public OpenAIRequest(String model, List<Message> messages) {
+        this(model, messages, null);
+    }
+
+    // 응답 형식 지정. {"type": "json_object"}면 JSON 객체만 출력하도록 강제됨
+    public record ResponseFormat(String type) {
+        public static final ResponseFormat JSON_OBJECT = new ResponseFormat("json_object");
+    }
+}
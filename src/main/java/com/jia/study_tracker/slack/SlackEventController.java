@@ -17,6 +17,8 @@ public class SlackEventController {
 
     private final SlackEventService slackEventService;
     private final SlackRequestVerifier slackRequestVerifier;
+    private final SlackEventQueue slackEventQueue;
+    private final SlackEventDeduplicator slackEventDeduplicator;
     private final ObjectMapper objectMapper;
 
 
@@ -24,7 +26,8 @@ public class SlackEventController {
     public ResponseEntity<String> receiveEvent(
             @RequestHeader("X-Slack-Signature") String signature,
             @RequestHeader("X-Slack-Request-Timestamp") String timestamp,
-            @RequestBody String body) {
+            @RequestHeader(value = "X-Slack-Retry-Num", required = false) Integer retryNum,
+            @RequestBody byte[] body) {
 
         if (!slackRequestVerifier.isValid(signature, timestamp, body)) {
             log.warn("유효하지 않은 슬랙 요청입니다. Signature: {}, Timestamp: {}", signature, timestamp);
@@ -33,8 +36,32 @@ public class SlackEventController {
 
         try {
             SlackEventPayload payload = objectMapper.readValue(body, SlackEventPayload.class);
-            String result = slackEventService.handleEvent(payload);
-            return ResponseEntity.ok(result);
+
+            // url_verification은 challenge를 그대로 돌려줘야 하므로 동기 처리
+            if (payload.getType() == SlackEventType.URL_VERIFICATION) {
+                return ResponseEntity.ok(slackEventService.handleEvent(payload));
+            }
+
+            // 슬랙 재전송 이벤트는 DB 작업 없이 바로 ACK
+            if (slackEventDeduplicator.isDuplicate(payload)) {
+                log.info("중복 슬랙 이벤트 무시 - event_id: {}, retry: {}", payload.getEvent_id(), retryNum);
+                return ResponseEntity.ok("ok");
+            }
+
+            if (!slackEventQueue.isAsync()) {
+                try {
+                    String result = slackEventService.handleEvent(payload);
+                    return ResponseEntity.ok(result);
+                } catch (Exception e) {
+                    // 실패 응답을 받은 슬랙이 재전송하면 다시 처리되도록 선점을 풀어 둠
+                    slackEventDeduplicator.release(payload);
+                    throw e;
+                }
+            }
+
+            // 서명 검증까지만 하고 큐에 넣은 뒤 바로 ACK (DB 작업은 워커 스레드에서 처리)
+            slackEventQueue.submit(payload);
+            return ResponseEntity.ok("ok");
         } catch (Exception e) {
             log.error("페이로드 처리 중 오류 발생: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid payload");
@@ -0,0 +1,111 @@
+package com.jia.study_tracker.slack;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 슬랙이 재전송한 이벤트를 DB 작업 전에 걸러내는 중복 제거기
+ *
+ * 배경:
+ * - ACK가 늦으면 슬랙은 같은 이벤트(event_id 동일, X-Slack-Retry-Num 증가)를 다시 보냄
+ * - 그대로 처리하면 같은 StudyLog가 중복 저장되어 요약 프롬프트와 토큰 비용이 늘어남
+ *
+ * 동작:
+ * - 키는 event_id, 없으면 client_msg_id를 사용 (둘 다 없으면 중복 검사하지 않음)
+ * - 1차: 크기 제한/TTL이 있는 인메모리 seen-set에서 O(1) 확인
+ * - 2차(선택): 여러 인스턴스 간 공유를 위해 Redis SETNX + TTL로 선점
+ * - Redis 장애 시에는 이벤트 유실을 막기 위해 새 이벤트로 간주함 (fail-open)
+ * - 처리에 실패한 이벤트는 release로 선점을 풀어서, 슬랙 재전송 때 다시 처리되도록 함
+ */
+@Slf4j
+@Component
+public class SlackEventDeduplicator {
+
+    private static final String KEY_PREFIX = "slack:event:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, Boolean> seenEvents;
+    private final Counter duplicateCounter;
+    private final Duration ttl;
+    private final boolean redisEnabled;
+
+    public SlackEventDeduplicator(StringRedisTemplate stringRedisTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${slack.dedup.max-size:100000}") long maxSize,
+                                  @Value("${slack.dedup.ttl:1h}") Duration ttl,
+                                  @Value("${slack.dedup.redis-enabled:false}") boolean redisEnabled) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttl = ttl;
+        this.redisEnabled = redisEnabled;
+        this.seenEvents = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.duplicateCounter = Counter.builder("slack.ingestion.duplicates")
+                .description("재전송되어 무시된 슬랙 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이미 처리한(또는 처리 중인) 이벤트면 true
+     * 처음 보는 이벤트는 이 호출로 선점되므로 이후 같은 키의 호출은 true를 반환함
+     */
+    public boolean isDuplicate(SlackEventPayload payload) {
+        String key = dedupKey(payload);
+        if (key == null) return false;
+
+        if (seenEvents.asMap().putIfAbsent(key, Boolean.TRUE) != null
+                || (redisEnabled && !claimInRedis(key))) {
+            duplicateCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 처리에 실패한 이벤트의 선점을 해제 (다음 재전송은 새 이벤트로 처리됨)
+     */
+    public void release(SlackEventPayload payload) {
+        String key = dedupKey(payload);
+        if (key == null) return;
+
+        seenEvents.invalidate(key);
+        if (!redisEnabled) return;
+        try {
+            stringRedisTemplate.delete(KEY_PREFIX + key);
+        } catch (Exception e) {
+            // 지우지 못하면 ttl 동안 재전송이 중복으로 처리됨
+            log.warn("Redis 중복 선점 해제 실패: {} - {}", key, e.getMessage());
+        }
+    }
+
+    private String dedupKey(SlackEventPayload payload) {
+        if (payload.getEvent_id() != null) {
+            return payload.getEvent_id();
+        }
+        SlackEventPayload.Event event = payload.getEvent();
+        if (event != null && event.getClient_msg_id() != null) {
+            return "msg:" + event.getClient_msg_id();
+        }
+        return null;
+    }
+
+    // 다른 인스턴스가 먼저 선점했으면 false
+    private boolean claimInRedis(String key) {
+        try {
+            Boolean claimed = stringRedisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, "1", ttl);
+            return !Boolean.FALSE.equals(claimed);
+        } catch (Exception e) {
+            log.warn("Redis 중복 검사 실패 - 새 이벤트로 처리: {} - {}", key, e.getMessage());
+            return true;
+        }
+    }
+}
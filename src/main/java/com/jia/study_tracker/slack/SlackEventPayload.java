@@ -10,6 +10,7 @@ public class SlackEventPayload {
     private SlackEventType type;
     private String challenge;
     private Event event;
+    private String event_id; // 재전송되어도 바뀌지 않는 이벤트 고유 ID (중복 제거 키)
 
     @Getter
     @AllArgsConstructor
@@ -18,5 +19,7 @@ public class SlackEventPayload {
         private String user;
         private String text;
         private String bot_id;
+        private String event_ts;
+        private String client_msg_id; // 사용자 메시지의 클라이언트 측 고유 ID
     }
 }
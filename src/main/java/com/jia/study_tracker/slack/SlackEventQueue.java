@@ -0,0 +1,274 @@
+package com.jia.study_tracker.slack;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 슬랙 이벤트를 요청 스레드와 분리해서 처리하기 위한 인메모리 큐
+ *
+ * 배경:
+ * - 슬랙은 3초 안에 200 응답을 받지 못하면 같은 이벤트를 재전송함
+ * - DB 지연이 있어도 컨트롤러가 즉시 ACK 할 수 있도록, 이벤트를 큐에 넣고 워커 스레드가 처리함
+ *
+ * 동작:
+ * - 큐(queue-capacity)가 가득 차면 spill-over가 켜진 경우 Redis 리스트에 보관하고, 워커가 여유가 생기면 꺼내서 처리함
+ * - spill-over 리스트는 다른 인스턴스가 넣은 이벤트도 있을 수 있으므로 주기적으로 확인함.
+ *   비어 있으면 확인 간격을 두 배씩 늘리고(최대 spill-over-max-backoff), 꺼내는 데 성공하면 바로 다시 확인함
+ * - spill-over도 불가능하면 이벤트 유실을 막기 위해 요청 스레드에서 직접 처리함
+ * - 처리에 실패하면 중복 제거 선점을 풀고(슬랙 재전송을 다시 받을 수 있도록) 시도 횟수를 늘려 다시 큐에 넣음
+ *   (spill-over가 켜져 있으면 Redis 리스트로). max-attempts를 넘기거나 다시 넣을 곳이 없으면 parking 리스트로 옮김
+ * - 역직렬화할 수 없는 spill-over 항목도 버리지 않고 parking 리스트로 옮겨 수동으로 확인할 수 있게 함
+ * - 종료 시 남은 이벤트를 모두 처리(또는 spill-over)한 뒤 종료함
+ *
+ * 메트릭:
+ * - slack.ingestion.queue.depth: 인메모리 큐에 쌓인 이벤트 수
+ * - slack.ingestion.lag: 수신 시점부터 처리 완료까지 걸린 시간
+ * - slack.ingestion.spilled: Redis로 넘긴 이벤트 수
+ * - slack.ingestion.parked: 재시도를 포기하고 parking 리스트로 옮긴 이벤트 수
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlackEventQueue {
+
+    private static final String SPILL_OVER_KEY = "slack-event-spillover";
+    private static final String PARKED_KEY = "slack-event-spillover:parked";
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final SlackEventService slackEventService;
+    private final SlackEventDeduplicator slackEventDeduplicator;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // false면 컨트롤러가 요청 스레드에서 바로 처리함
+    @Value("${slack.ingestion.async:true}")
+    private boolean async;
+
+    @Value("${slack.ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${slack.ingestion.workers:4}")
+    private int workerCount;
+
+    @Value("${slack.ingestion.spill-over:false}")
+    private boolean spillOverEnabled;
+
+    // spill-over 리스트가 비어 있을 때 다시 확인하기까지 최대 대기 시간
+    @Value("${slack.ingestion.spill-over-max-backoff:5s}")
+    private Duration spillOverMaxBackoff = Duration.ofSeconds(5);
+
+    // 처리 실패 시 첫 시도를 포함한 최대 시도 횟수
+    @Value("${slack.ingestion.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    private BlockingQueue<QueuedSlackEvent> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    // 다음 spill-over 확인 시각과 현재 확인 간격 (워커끼리 공유하며, 경합으로 한 번 더 확인해도 문제없음)
+    private volatile long nextSpillOverPollAtMillis;
+    private volatile long spillOverBackoffMillis;
+
+    private Timer lagTimer;
+    private Counter spilledCounter;
+    private Counter parkedCounter;
+
+    // 큐에 보관되는 이벤트 + 수신 시각 (lag 측정용) + 실패한 시도 횟수
+    record QueuedSlackEvent(SlackEventPayload payload, long receivedAtMillis, int attempts) {
+
+        QueuedSlackEvent retried() {
+            return new QueuedSlackEvent(payload, receivedAtMillis, attempts + 1);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        Gauge.builder("slack.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("처리 대기 중인 슬랙 이벤트 수")
+                .register(meterRegistry);
+        lagTimer = Timer.builder("slack.ingestion.lag")
+                .description("슬랙 이벤트 수신부터 처리 완료까지의 지연")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        spilledCounter = Counter.builder("slack.ingestion.spilled")
+                .description("인메모리 큐가 가득 차서 Redis로 넘긴 이벤트 수")
+                .register(meterRegistry);
+        parkedCounter = Counter.builder("slack.ingestion.parked")
+                .description("재시도를 포기하고 parking 리스트로 옮긴 슬랙 이벤트 수")
+                .register(meterRegistry);
+
+        if (!async) return;
+
+        running = true;
+        for (int i = 0; i < Math.max(1, workerCount); i++) {
+            workers.add(Thread.ofPlatform().name("slack-ingest-" + i).daemon(true).start(this::drain));
+        }
+        log.info("슬랙 이벤트 비동기 수집 시작 - workers: {}, capacity: {}, spill-over: {}",
+                workers.size(), queueCapacity, spillOverEnabled);
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * 이벤트를 큐에 등록 (블로킹하지 않음)
+     */
+    public void submit(SlackEventPayload payload) {
+        QueuedSlackEvent event = new QueuedSlackEvent(payload, System.currentTimeMillis(), 0);
+        if (queue.offer(event)) return;
+
+        if (spillOverEnabled && spill(event)) return;
+
+        log.warn("슬랙 이벤트 큐가 가득 참 - 요청 스레드에서 직접 처리 (capacity: {})", queueCapacity);
+        process(event);
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedSlackEvent event = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    event = pollSpillOver();
+                }
+                if (event != null) {
+                    process(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("슬랙 이벤트 워커 오류", e);
+            }
+        }
+    }
+
+    private void process(QueuedSlackEvent event) {
+        try {
+            slackEventService.handleEvent(event.payload());
+        } catch (Exception e) {
+            log.error("슬랙 이벤트 비동기 처리 실패 (시도 {}회): {}", event.attempts() + 1, e.getMessage(), e);
+            slackEventDeduplicator.release(event.payload());
+            retry(event.retried());
+        } finally {
+            lagTimer.record(System.currentTimeMillis() - event.receivedAtMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 시도 횟수가 남아 있으면 다시 큐에 넣고, 넣을 곳이 없거나 횟수를 다 쓰면 parking 리스트로 옮김
+    private void retry(QueuedSlackEvent event) {
+        if (event.attempts() < maxAttempts) {
+            if (spillOverEnabled ? spill(event) : queue.offer(event)) return;
+        }
+        try {
+            park(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.error("슬랙 이벤트 직렬화 실패 - 유실됨: {}", event.payload().getType(), e);
+        }
+    }
+
+    private void park(String json) {
+        try {
+            stringRedisTemplate.opsForList().rightPush(PARKED_KEY, json);
+            parkedCounter.increment();
+            log.warn("슬랙 이벤트를 parking 리스트로 옮김: {}", PARKED_KEY);
+        } catch (Exception e) {
+            log.error("슬랙 이벤트 parking 실패 - 유실됨: {}", json, e);
+        }
+    }
+
+    private boolean spill(QueuedSlackEvent event) {
+        try {
+            stringRedisTemplate.opsForList().rightPush(SPILL_OVER_KEY, objectMapper.writeValueAsString(event));
+            resetSpillOverBackoff();
+            spilledCounter.increment();
+            return true;
+        } catch (Exception e) {
+            log.error("슬랙 이벤트 spill-over 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private QueuedSlackEvent pollSpillOver() {
+        if (!spillOverEnabled || System.currentTimeMillis() < nextSpillOverPollAtMillis) return null;
+
+        String json;
+        try {
+            json = stringRedisTemplate.opsForList().leftPop(SPILL_OVER_KEY);
+        } catch (Exception e) {
+            log.warn("spill-over 이벤트 조회 실패: {}", e.getMessage());
+            backOffSpillOver();
+            return null;
+        }
+        if (json == null) {
+            backOffSpillOver();
+            return null;
+        }
+        resetSpillOverBackoff();
+
+        try {
+            return objectMapper.readValue(json, QueuedSlackEvent.class);
+        } catch (JsonProcessingException e) {
+            log.error("spill-over 이벤트 역직렬화 실패 - parking 리스트로 옮김: {}", e.getMessage());
+            park(json);
+            return null;
+        }
+    }
+
+    // 비어 있거나 Redis 오류면 확인 간격을 POLL_TIMEOUT_MILLIS부터 두 배씩 늘림
+    private void backOffSpillOver() {
+        long max = Math.max(POLL_TIMEOUT_MILLIS, spillOverMaxBackoff.toMillis());
+        long backoff = spillOverBackoffMillis == 0 ? POLL_TIMEOUT_MILLIS : Math.min(max, spillOverBackoffMillis * 2);
+        spillOverBackoffMillis = backoff;
+        nextSpillOverPollAtMillis = System.currentTimeMillis() + backoff;
+    }
+
+    private void resetSpillOverBackoff() {
+        spillOverBackoffMillis = 0;
+        nextSpillOverPollAtMillis = 0;
+    }
+
+    /**
+     * 남은 이벤트를 처리할 시간을 준 뒤 종료하고, 그래도 남은 이벤트는 spill-over로 넘김
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        QueuedSlackEvent event;
+        while ((event = queue.poll()) != null) {
+            if (!spillOverEnabled || !spill(event)) {
+                log.error("종료 시 처리되지 못한 슬랙 이벤트: {}", event.payload().getType());
+            }
+        }
+    }
+}
@@ -3,12 +3,11 @@ package com.jia.study_tracker.slack;
 import com.jia.study_tracker.domain.StudyLog;
 import com.jia.study_tracker.domain.User;
 import com.jia.study_tracker.filter.StudyMessageFilter;
+import com.jia.study_tracker.service.StudyLogBatchWriter;
 import com.jia.study_tracker.service.UserService;
-import com.jia.study_tracker.repository.StudyLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -18,7 +17,11 @@ import java.time.LocalDateTime;
  * 기능:
  * - url_verification 요청 응답
  * - message 이벤트 감지 및 StudyLog 저장
- * - 트랜잭션으로 사용자 등록과 로그 저장을 하나의 단위로 처리
+ *
+ * 트랜잭션:
+ * - 사용자 등록은 UserService의 트랜잭션에서 먼저 커밋됨
+ * - StudyLog는 StudyLogBatchWriter를 통해 다른 메시지와 묶어서 별도 트랜잭션으로 저장됨
+ *   (배치 저장 시점에 사용자 행이 이미 커밋되어 있어야 FK 대기가 생기지 않으므로 이 메서드는 트랜잭션을 열지 않음)
  */
 @Slf4j
 @Service
@@ -26,10 +29,9 @@ import java.time.LocalDateTime;
 public class SlackEventService {
 
     private final UserService userService;
-    private final StudyLogRepository studyLogRepository;
+    private final StudyLogBatchWriter studyLogBatchWriter;
     private final StudyMessageFilter studyMessageFilter;
 
-    @Transactional
     public String handleEvent(SlackEventPayload payload) {
         return switch (payload.getType()) {
             case URL_VERIFICATION -> handleUrlVerification(payload);
@@ -68,7 +70,7 @@ public class SlackEventService {
 
         User user = userService.findOrCreateUser(slackUserId, "unknown");
         StudyLog studyLog = new StudyLog(text, LocalDateTime.now(), user);
-        studyLogRepository.save(studyLog);
+        studyLogBatchWriter.write(studyLog);
 
         log.info("💾 저장된 메시지: {}", text);
         return "ok";
@@ -0,0 +1,147 @@
+package com.jia.study_tracker.slack;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서명 검증을 통과한 슬랙 요청의 (timestamp, signature)를 기억해서 재전송 공격(replay)을 막는 캐시
+ *
+ * 배경:
+ * - SlackRequestVerifier는 타임스탬프가 5분 이내인지만 확인하므로, 탈취된 요청을 5분 동안 그대로 다시 보낼 수 있음
+ * - 재전송될 때마다 HMAC 계산과 이후 DB 작업 비용이 발생함
+ *
+ * 구조:
+ * - 요청 타임스탬프를 bucket 단위(초)로 나눈 링 버퍼. 슬롯마다 해당 구간의 서명 집합을 가짐
+ * - 타임스탬프가 허용 구간을 벗어나면 검증 단계에서 거부되므로, 슬롯이 새 구간으로 재사용될 때 통째로 비우면 됨
+ * - 같은 구간 안에서 서명이 같으면 같은 요청이므로 슬롯 안에서는 서명만 키로 사용
+ * - 서명은 소문자 hex로 정규화해서 키로 사용. 표기만 바꾼(대문자 등) 재전송이 다른 요청으로 취급되지 않게 함
+ * - 슬롯당 최대 개수(max-size / 슬롯 수)를 넘으면 더 기록하지 않음 (메모리 상한 유지, 정상 요청은 통과)
+ *
+ * 사용:
+ * - HMAC 계산 전에 isReplay로 O(1) 조회, HMAC 통과 후 markSeen으로 기록 (위조 요청으로 캐시를 채울 수 없게)
+ * - redis-enabled면 markSeen에서 Redis SETNX로 인스턴스 간 공유. Redis 장애 시에는 로컬 결과만 사용 (fail-open)
+ */
+@Slf4j
+@Component
+public class SlackReplayCache {
+
+    private static final String KEY_PREFIX = "slack:replay:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final long bucketSeconds;
+    private final Duration window;
+    private final int maxEntriesPerSlot;
+    private final Slot[] slots;
+    private final Counter replayCounter;
+
+    private static final class Slot {
+        private volatile long bucket = Long.MIN_VALUE;
+        private final Set<String> signatures = ConcurrentHashMap.newKeySet();
+    }
+
+    public SlackReplayCache(StringRedisTemplate stringRedisTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${slack.replay.enabled:true}") boolean enabled,
+                            @Value("${slack.replay.window:5m}") Duration window,
+                            @Value("${slack.replay.bucket:30s}") Duration bucket,
+                            @Value("${slack.replay.max-size:100000}") int maxSize,
+                            @Value("${slack.replay.redis-enabled:false}") boolean redisEnabled) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.window = window;
+        this.bucketSeconds = Math.max(1, bucket.toSeconds());
+        // 타임스탬프는 현재 시각 기준 ±window 이므로 양쪽 구간 + 경계 슬롯
+        int slotCount = (int) (2 * window.toSeconds() / bucketSeconds) + 2;
+        this.slots = new Slot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new Slot();
+        }
+        this.maxEntriesPerSlot = Math.max(1, maxSize / slotCount);
+        this.replayCounter = Counter.builder("slack.ingestion.replays")
+                .description("재전송(replay)으로 판단되어 거부된 슬랙 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이미 서명 검증을 통과한 적 있는 요청인지 확인 (HMAC 계산 전에 호출)
+     */
+    public boolean isReplay(long timestamp, String signature) {
+        if (!enabled) return false;
+
+        signature = canonical(signature);
+        long bucket = Math.floorDiv(timestamp, bucketSeconds);
+        Slot slot = slotOf(bucket);
+        if (slot.bucket == bucket && slot.signatures.contains(signature)) {
+            replayCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 서명 검증을 통과한 요청을 기록
+     * @return 처음 본 요청이면 true, 동시에 들어온 같은 요청이 먼저 기록했으면 false
+     */
+    public boolean markSeen(long timestamp, String signature) {
+        if (!enabled) return true;
+
+        signature = canonical(signature);
+        long bucket = Math.floorDiv(timestamp, bucketSeconds);
+        Slot slot = slotOf(bucket);
+        if (slot.bucket != bucket) {
+            synchronized (slot) {
+                if (slot.bucket != bucket) {
+                    // 구간이 지나간 슬롯 재사용
+                    slot.signatures.clear();
+                    slot.bucket = bucket;
+                }
+            }
+        }
+
+        if (slot.signatures.size() >= maxEntriesPerSlot) {
+            log.warn("replay 캐시 슬롯이 가득 참 - 기록하지 않음 (bucket: {}, max: {})", bucket, maxEntriesPerSlot);
+        } else if (!slot.signatures.add(signature)) {
+            replayCounter.increment();
+            return false;
+        }
+
+        if (redisEnabled && !claimInRedis(timestamp, signature)) {
+            replayCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    // 슬랙 서명은 소문자 hex이므로 그대로면 새 문자열을 만들지 않음
+    private static String canonical(String signature) {
+        return signature.toLowerCase(Locale.ROOT);
+    }
+
+    private Slot slotOf(long bucket) {
+        return slots[(int) Math.floorMod(bucket, (long) slots.length)];
+    }
+
+    // 다른 인스턴스가 먼저 기록했으면 false (미래 시각 타임스탬프도 허용되므로 TTL은 window의 2배)
+    private boolean claimInRedis(long timestamp, String signature) {
+        try {
+            Boolean claimed = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(KEY_PREFIX + timestamp + ":" + signature, "1", window.multipliedBy(2));
+            return !Boolean.FALSE.equals(claimed);
+        } catch (Exception e) {
+            log.warn("Redis replay 검사 실패 - 로컬 캐시 결과만 사용: {}", e.getMessage());
+            return true;
+        }
+    }
+}
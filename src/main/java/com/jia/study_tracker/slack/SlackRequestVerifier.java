@@ -8,12 +8,27 @@ import org.springframework.stereotype.Component;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.util.HexFormat;
 
+/**
+ * 슬랙 요청 서명(X-Slack-Signature) 검증
+ *
+ * 요청마다 실행되는 경로라 할당을 줄이도록 구현함:
+ * - 서명 키로 초기화된 Mac을 스레드별로 재사용 (Mac은 thread-safe 하지 않음)
+ * - "v0:" + timestamp + ":" + body 문자열을 만들지 않고 원본 바이트를 그대로 Mac에 흘려보냄
+ * - 헤더의 hex 서명을 한 번만 디코딩하면서 계산된 digest와 바이트 단위로 비교 (상수 시간 비교)
+ *
+ * 재전송 방지:
+ * - 서명 검증을 통과한 요청은 SlackReplayCache에 기록되고, 같은 요청이 다시 오면 HMAC 계산 전에 거부됨
+ */
 @Component
 @RequiredArgsConstructor
 public class SlackRequestVerifier {
 
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String SIGNATURE_PREFIX = "v0=";
+    private static final byte[] BASE_STRING_PREFIX = "v0:".getBytes(StandardCharsets.US_ASCII);
+    private static final int DIGEST_LENGTH = 32;
+
     @Value("${slack.signing-secret}")
     private String signingSecret;
 
@@ -22,6 +37,13 @@ public class SlackRequestVerifier {
 
     private static final long MAX_REQUEST_AGE_IN_SECONDS = 5L * 60; // 5분
 
+    private final SlackReplayCache slackReplayCache;
+
+    // 서명 키로 미리 init 된 Mac + digest 버퍼 (스레드별, 첫 검증 시 생성)
+    private volatile ThreadLocal<MacHolder> macHolder;
+
+    private record MacHolder(Mac mac, byte[] digest) {}
+
     /**
      * 요청이 유효한지 검증하는 메서드
      * @param signature Slack에서 전달한 서명
@@ -30,6 +52,16 @@ public class SlackRequestVerifier {
      * @return 유효한 요청인지 여부
      */
     public boolean isValid(String signature, String timestamp, String body) {
+        if (!verifySignature) {
+            return true;
+        }
+        return body != null && isValid(signature, timestamp, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 원본 요청 본문 바이트로 검증 (컨트롤러에서 사용, 문자열 변환 없음)
+     */
+    public boolean isValid(String signature, String timestamp, byte[] body) {
         // 인증 우회 조건
         if (!verifySignature) {
             return true;
@@ -37,14 +69,27 @@ public class SlackRequestVerifier {
 
         try {
             // 타임스탬프가 너무 오래된 요청은 거부 (5분 초과)
-            if (!isTimestampValid(timestamp)) {
+            long requestTs = Long.parseLong(timestamp);
+            if (!isTimestampValid(requestTs)) {
+                return false;
+            }
+
+            if (signature == null || signature.length() != SIGNATURE_PREFIX.length() + DIGEST_LENGTH * 2
+                    || !signature.startsWith(SIGNATURE_PREFIX)) {
+                return false;
+            }
+
+            // 이미 처리한 요청의 재전송이면 HMAC 계산 없이 거부
+            if (slackReplayCache.isReplay(requestTs, signature)) {
                 return false;
             }
 
             // Slack 서명 검증
-            String baseString = "v0:" + timestamp + ":" + body;
-            String mySignature = "v0=" + calculateHmacSHA256(baseString, signingSecret);
-            return mySignature.equals(signature);
+            byte[] digest = calculateHmacSHA256(timestamp, body);
+            if (!matchesHex(digest, signature, SIGNATURE_PREFIX.length())) {
+                return false;
+            }
+            return slackReplayCache.markSeen(requestTs, signature);
         } catch (Exception e) {
             return false;
         }
@@ -52,11 +97,10 @@ public class SlackRequestVerifier {
 
     /**
      * 타임스탬프가 유효한지 검사
-     * @param timestamp Slack에서 전달한 타임스탬프
+     * @param requestTs Slack에서 전달한 타임스탬프 (epoch seconds)
      * @return 타임스탬프가 유효한지 여부
      */
-    private boolean isTimestampValid(String timestamp) {
-        long requestTs = Long.parseLong(timestamp);
+    private boolean isTimestampValid(long requestTs) {
         long nowTs = System.currentTimeMillis() / 1000;
 
         // 타임스탬프가 5분 초과하면 거부
@@ -64,26 +108,82 @@ public class SlackRequestVerifier {
     }
 
     /**
-     * HMAC-SHA256 방식으로 서명을 계산하는 메서드
-     * @param data 서명에 사용할 데이터
-     * @param secret Slack Signing Secret
-     * @return 계산된 서명
+     * "v0:{timestamp}:{body}"의 HMAC-SHA256을 계산 (반환 배열은 스레드별 버퍼이므로 바로 사용해야 함)
+     * @param timestamp Slack에서 전달한 타임스탬프 (숫자만 허용되므로 ASCII로 바로 기록)
+     * @param body 요청 본문 바이트
+     * @return 계산된 서명 digest
      */
-    private String calculateHmacSHA256(String data, String secret) {
+    private byte[] calculateHmacSHA256(String timestamp, byte[] body) {
+        MacHolder holder = currentMacHolder().get();
+        Mac mac = holder.mac();
         try {
-            SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(key);
-            byte[] hmac = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hmac);
+            mac.update(BASE_STRING_PREFIX);
+            for (int i = 0; i < timestamp.length(); i++) {
+                mac.update((byte) timestamp.charAt(i));
+            }
+            mac.update((byte) ':');
+            mac.update(body);
+            mac.doFinal(holder.digest(), 0);
+            return holder.digest();
         } catch (Exception e) {
+            mac.reset();
             throw new HmacCalculationException("HMAC-SHA256 계산 중 오류 발생", e);
         }
     }
 
+    /**
+     * 헤더의 hex 문자열을 디코딩하면서 digest와 비교
+     * 불일치 위치와 관계없이 항상 끝까지 비교해서 응답 시간으로 서명을 추측할 수 없게 함
+     * 슬랙은 소문자 hex만 보내므로 그 외 표기(대문자, 전각 숫자 등)는 모두 불일치로 처리함
+     */
+    private static boolean matchesHex(byte[] digest, String hex, int offset) {
+        int diff = 0;
+        for (int i = 0; i < digest.length; i++) {
+            int high = lowerHexValue(hex.charAt(offset + i * 2));
+            int low = lowerHexValue(hex.charAt(offset + i * 2 + 1));
+            // 허용되지 않은 문자는 -1이므로 상위 비트가 켜져서 불일치로 처리됨
+            diff |= (high | low) & ~0xF;
+            diff |= ((high << 4) | low) ^ (digest[i] & 0xFF);
+        }
+        return diff == 0;
+    }
+
+    // '0'-'9', 'a'-'f'만 값으로 바꾸고 나머지는 -1 (Character.digit은 대문자와 유니코드 숫자도 허용함)
+    private static int lowerHexValue(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        return -1;
+    }
+
+    private ThreadLocal<MacHolder> currentMacHolder() {
+        ThreadLocal<MacHolder> holder = macHolder;
+        if (holder == null) {
+            holder = newMacHolder(signingSecret);
+            macHolder = holder;
+        }
+        return holder;
+    }
+
+    private static ThreadLocal<MacHolder> newMacHolder(String secret) {
+        if (secret == null) {
+            return null;
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        return ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return new MacHolder(mac, new byte[DIGEST_LENGTH]);
+            } catch (Exception e) {
+                throw new HmacCalculationException("HMAC-SHA256 초기화 중 오류 발생", e);
+            }
+        });
+    }
+
     // 테스트할 때 signingSecret 직접 주입할 수 있게 만든 메소드
     public void setSigningSecret(String signingSecret) {
         this.signingSecret = signingSecret;
+        this.macHolder = newMacHolder(signingSecret);
     }
     // 테스트할 때를 위한 메소드
     public void setVerifySignature(boolean verifySignature) {
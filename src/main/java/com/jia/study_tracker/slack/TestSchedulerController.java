@@ -2,6 +2,7 @@ package com.jia.study_tracker.slack;
 
 import com.jia.study_tracker.domain.SummaryType;
 import com.jia.study_tracker.service.SummaryGenerationService;
+import com.jia.study_tracker.service.dto.SummaryRunReport;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,8 +28,8 @@ public class TestSchedulerController {
     public ResponseEntity<String> runScheduler() {
         log.info("테스트 스케줄러 실행 요청 수신");
         try {
-            summaryGenerationService.generateSummaries(LocalDate.now(), SummaryType.DAILY);
-            return ResponseEntity.ok("스케줄러 실행 완료");
+            SummaryRunReport report = summaryGenerationService.generateSummaries(LocalDate.now(), SummaryType.DAILY);
+            return ResponseEntity.ok("스케줄러 실행 완료 - " + report);
         } catch (Exception e) {
             log.error("에러", e);
             return ResponseEntity.status(500).body("에러 발생: " + (e.getMessage() == null ? "null 메시지" : e.getMessage()));
@@ -0,0 +1,18 @@
+-- prod 스키마 변경분 (ddl-auto: validate 라서 Hibernate가 직접 만들지 않음)
+-- 배포 전에 prod DB에 한 번 실행: java -cp h2.jar org.h2.tools.RunScript -url jdbc:h2:tcp://localhost/~/growthtracker -user sa -script prod-migration.sql
+-- 여러 번 실행해도 안전하도록 IF NOT EXISTS 사용 (H2 2.x 문법)
+
+-- 사용자별 기간 조회(user + timestamp 범위)용 복합 인덱스 (StudyLog @Table)
+CREATE INDEX IF NOT EXISTS idx_study_log_user_timestamp ON study_log (user_slack_user_id, timestamp);
+
+-- 상위 기간 요약(rollup) 조회용 복합 인덱스 (Summary @Table)
+CREATE INDEX IF NOT EXISTS idx_summary_user_type_date ON summary (user_slack_user_id, type, date);
+
+-- StudyLog id를 IDENTITY에서 pooled 시퀀스(allocationSize = 50)로 전환
+-- pooled optimizer는 nextval 값을 블록의 상한으로 보고 (값 - 49 ~ 값)을 사용하므로,
+-- 기존 id와 겹치지 않도록 max(id) + 50에서 시작 (INCREMENT BY는 allocationSize와 같아야 함)
+CREATE SEQUENCE IF NOT EXISTS study_log_seq
+    START WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM study_log)
+    INCREMENT BY 50;
+ALTER TABLE study_log ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE study_log ALTER COLUMN id SET DEFAULT NEXT VALUE FOR study_log_seq;
@@ -54,8 +54,8 @@ public class SlackIntegrationTest {
         // Given
         String slackUserId = "user123";
         String message = "스프링을 공부했다";
-        SlackEventPayload.Event event = new SlackEventPayload.Event("message", slackUserId, message, null);
-        SlackEventPayload payload = new SlackEventPayload(SlackEventType.EVENT_CALLBACK, null, event);
+        SlackEventPayload.Event event = new SlackEventPayload.Event("message", slackUserId, message, null, null, null);
+        SlackEventPayload payload = new SlackEventPayload(SlackEventType.EVENT_CALLBACK, null, event, null);
 
         String requestBody = objectMapper.writeValueAsString(payload);
         String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
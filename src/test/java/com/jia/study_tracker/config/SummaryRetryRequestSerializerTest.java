@@ -0,0 +1,71 @@
+package com.jia.study_tracker.config;
+
+import com.jia.study_tracker.dto.SummaryRetryRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SummaryRetryRequestSerializer 테스트
+ *
+ * 목표:
+ * - 재시도 요청이 바이너리 형식으로 손실 없이 저장/복원되는지 확인한다.
+ *
+ * 테스트 시나리오:
+ * 1. 직렬화한 요청을 역직렬화하면 모든 필드가 같다. (null 필드 포함)
+ * 2. 바이너리 형식이 기존 JSON 형식보다 작다.
+ * 3. 기존 JSON 형식으로 저장된 항목도 읽을 수 있다.
+ */
+public class SummaryRetryRequestSerializerTest {
+
+    private final SummaryRetryRequestSerializer serializer = new SummaryRetryRequestSerializer();
+
+    // 모든 필드가 그대로 복원되는지 검증 (null 필드 포함)
+    @Test
+    void roundTrip_restoresAllFields() {
+        // Given
+        SummaryRetryRequest request = new SummaryRetryRequest("U123456", null, "WEEKLY", "2025-05-02", 3);
+
+        // When
+        SummaryRetryRequest restored = serializer.deserialize(serializer.serialize(request));
+
+        // Then
+        assertEquals("U123456", restored.getSlackUserId());
+        assertNull(restored.getSlackUsername());
+        assertEquals("WEEKLY", restored.getSummaryType());
+        assertEquals("2025-05-02", restored.getTargetDate());
+        assertEquals(3, restored.getRetryCount());
+    }
+
+    // 클래스 정보와 필드 이름이 빠지므로 JSON보다 작은지 검증
+    @Test
+    void serialize_isSmallerThanJson() {
+        // Given
+        SummaryRetryRequest request = new SummaryRetryRequest("U123456", "지아", "DAILY", "2025-05-02", 0);
+
+        // When
+        byte[] binary = serializer.serialize(request);
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(request);
+
+        // Then
+        assertTrue(binary.length * 2 < json.length);
+    }
+
+    // json → binary 전환 중 남아 있는 JSON 항목을 읽을 수 있는지 검증
+    @Test
+    void deserialize_legacyJson() {
+        // Given
+        byte[] json = new GenericJackson2JsonRedisSerializer()
+                .serialize(new SummaryRetryRequest("U1", "jia", "DAILY", "2025-05-02", 2));
+
+        // When
+        SummaryRetryRequest restored = serializer.deserialize(json);
+
+        // Then
+        assertEquals("U1", restored.getSlackUserId());
+        assertEquals(2, restored.getRetryCount());
+    }
+}
@@ -0,0 +1,57 @@
+package com.jia.study_tracker.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.jia.study_tracker.filter.AhoCorasickStudyMessageFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class AhoCorasickStudyMessageFilterTest {
+
+    private final AhoCorasickStudyMessageFilter filter =
+            new AhoCorasickStudyMessageFilter(List.of("공부", "강의", "복습", "학습", "인강", "문제풀이"));
+
+    @Test
+    void returnsTrueWhenTextContainsStudyKeywords() {
+        assertTrue(filter.isStudyRelated("오늘 인강 2시간 들음"));
+        assertTrue(filter.isStudyRelated("문제풀이를 했어요"));
+        assertTrue(filter.isStudyRelated("강의 복습 중이에요"));
+    }
+
+    @Test
+    void returnsFalseWhenTextDoesNotContainStudyKeywords() {
+        assertFalse(filter.isStudyRelated("오늘 영화 봤어요"));
+        assertFalse(filter.isStudyRelated("점심은 뭐 먹지"));
+        assertFalse(filter.isStudyRelated("고양이가 귀엽다"));
+    }
+
+    @Test
+    void returnsFalseWhenTextIsEmptyOrNull() {
+        assertFalse(filter.isStudyRelated(""));
+        assertFalse(filter.isStudyRelated(null));
+    }
+
+    @Test
+    void matchesEnglishKeywordsIgnoringCase() {
+        AhoCorasickStudyMessageFilter englishFilter = new AhoCorasickStudyMessageFilter(List.of("Study", "lecture"));
+
+        assertTrue(englishFilter.isStudyRelated("STUDYING spring today"));
+        assertTrue(englishFilter.isStudyRelated("watched a Lecture"));
+        assertFalse(englishFilter.isStudyRelated("went to the gym"));
+    }
+
+    @Test
+    void findsKeywordThroughFailureLinks() {
+        // "문제풀" 까지 진행하다 실패해도 겹쳐 있는 "풀이"를 찾아야 함
+        AhoCorasickStudyMessageFilter overlapFilter = new AhoCorasickStudyMessageFilter(List.of("문제풀이집", "풀이"));
+
+        assertTrue(overlapFilter.isStudyRelated("문제풀이 했음"));
+        assertFalse(overlapFilter.isStudyRelated("문제풀 했음"));
+    }
+
+    @Test
+    void rejectsEmptyKeywordList() {
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasickStudyMessageFilter(List.of(" ")));
+    }
+}
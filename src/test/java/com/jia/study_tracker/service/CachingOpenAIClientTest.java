@@ -0,0 +1,188 @@
+package com.jia.study_tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.domain.StudyLogContent;
+import com.jia.study_tracker.domain.User;
+import com.jia.study_tracker.exception.OpenAIClientException;
+import com.jia.study_tracker.service.dto.SummaryResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * CachingOpenAIClient 테스트
+ *
+ * 목표:
+ * - 같은 로그로 다시 요약을 요청하면 OpenAI를 호출하지 않고 저장된 결과를 돌려주는지 검증한다.
+ *
+ * 테스트 시나리오:
+ * 1. 같은 로그로 두 번 요청하면 OpenAI는 한 번만 호출되고, 적중률 지표가 기록된다.
+ * 2. 로그 내용이나 순서가 다르면 다른 키로 취급한다.
+ * 3. OpenAI 호출이 실패한 결과는 캐시하지 않는다.
+ * 4. 인메모리에 없으면 Redis에 저장된 결과를 사용한다.
+ * 5. 논블로킹 경로(summarize)도 같은 캐시를 사용해서, 같은 로그로 두 번 요청하면 OpenAI는 한 번만 호출된다.
+ * 6. 배치 요약은 사용자별로 캐시를 조회해서 캐시에 없는 사용자만 OpenAI에 보내고, 결과를 사용자별로 저장한다.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingOpenAIClientTest {
+
+    @Mock
+    private OpenAIClientImpl delegate;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final User user = new User("U123", "jia");
+
+    // 같은 로그의 두 번째 요청은 OpenAI를 호출하지 않는지 검증
+    @Test
+    void generateSummaryAndFeedback_sameLogs_callsOpenAIOnce() {
+        // Given
+        CachingOpenAIClient client = client(false);
+        List<StudyLogContent> logs = logs("자바 공부", "스프링 복습");
+        given(delegate.generateSummaryAndFeedback(logs)).willReturn(new SummaryResult("요약", "피드백"));
+
+        // When
+        SummaryResult first = client.generateSummaryAndFeedback(logs);
+        SummaryResult second = client.generateSummaryAndFeedback(logs("자바 공부", "스프링 복습"));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(delegate, times(1)).generateSummaryAndFeedback(logs);
+        assertThat(meterRegistry.get("openai.summary.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    // 내용이나 순서가 다르면 다른 키가 되는지 검증
+    @Test
+    void cacheKey_differentContentOrOrder_differentKey() {
+        // Given
+        CachingOpenAIClient client = client(false);
+
+        // When & Then
+        assertThat(client.cacheKey(logs("a", "b"))).isEqualTo(client.cacheKey(logs("a", "b")));
+        assertThat(client.cacheKey(logs("a", "b"))).isNotEqualTo(client.cacheKey(logs("b", "a")));
+        assertThat(client.cacheKey(logs("ab", ""))).isNotEqualTo(client.cacheKey(logs("a", "b")));
+    }
+
+    // 실패한 호출은 캐시되지 않아 다음 요청에서 다시 호출되는지 검증
+    @Test
+    void generateSummaryAndFeedback_failure_notCached() {
+        // Given
+        CachingOpenAIClient client = client(false);
+        List<StudyLogContent> logs = logs("자바 공부");
+        given(delegate.generateSummaryAndFeedback(logs))
+                .willThrow(new OpenAIClientException("서버 오류", new RuntimeException()))
+                .willReturn(new SummaryResult("요약", "피드백"));
+
+        // When & Then
+        assertThrows(OpenAIClientException.class, () -> client.generateSummaryAndFeedback(logs));
+        assertThat(client.generateSummaryAndFeedback(logs).getSummary()).isEqualTo("요약");
+        verify(delegate, times(2)).generateSummaryAndFeedback(logs);
+    }
+
+    // 인메모리에 없을 때 Redis에 저장된 결과를 사용하는지 검증
+    @Test
+    void generateSummaryAndFeedback_redisHit_skipsOpenAI() {
+        // Given
+        CachingOpenAIClient client = client(true);
+        List<StudyLogContent> logs = logs("자바 공부");
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.get("openai:summary:" + client.cacheKey(logs)))
+                .willReturn("{\"summary\":\"저장된 요약\",\"feedback\":\"저장된 피드백\"}");
+
+        // When
+        SummaryResult result = client.generateSummaryAndFeedback(logs);
+
+        // Then
+        assertThat(result.getSummary()).isEqualTo("저장된 요약");
+        verify(delegate, never()).generateSummaryAndFeedback(logs);
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    // reactive 모드의 두 번째 요청은 OpenAI를 호출하지 않고, 동기 경로와 캐시를 공유하는지 검증
+    @Test
+    void summarize_sameLogs_callsOpenAIOnceAndSharesCache() {
+        // Given
+        CachingOpenAIClient client = client(false);
+        List<StudyLogContent> logs = logs("자바 공부", "스프링 복습");
+        given(delegate.summarize(logs)).willReturn(Mono.just(new SummaryResult("요약", "피드백")));
+
+        // When
+        SummaryResult first = client.summarize(logs).block();
+        SummaryResult second = client.summarize(logs("자바 공부", "스프링 복습")).block();
+        SummaryResult blocking = client.generateSummaryAndFeedback(logs("자바 공부", "스프링 복습"));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(blocking).isSameAs(first);
+        verify(delegate, times(1)).summarize(logs);
+        verify(delegate, never()).generateSummaryAndFeedback(any());
+    }
+
+    // 배치 요약이 캐시에 없는 사용자만 보내고, 받은 결과를 사용자별로 저장하는지 검증
+    @Test
+    void generateBatchSummaries_sendsOnlyMissesAndCachesPerUser() {
+        // Given: U1은 단건 요약으로 이미 캐시되어 있음
+        CachingOpenAIClient client = client(false);
+        List<StudyLogContent> cachedLogs = logs("자바 공부");
+        List<StudyLogContent> missedLogs = logs("스프링 복습");
+        given(delegate.generateSummaryAndFeedback(cachedLogs)).willReturn(new SummaryResult("U1 요약", "U1 피드백"));
+        client.generateSummaryAndFeedback(cachedLogs);
+        given(delegate.generateBatchSummaries(Map.of("U2", missedLogs)))
+                .willReturn(Map.of("U2", new SummaryResult("U2 요약", "U2 피드백")));
+        Map<String, List<StudyLogContent>> logsByUser = new LinkedHashMap<>();
+        logsByUser.put("U1", cachedLogs);
+        logsByUser.put("U2", missedLogs);
+
+        // When
+        Map<String, SummaryResult> first = client.generateBatchSummaries(logsByUser);
+        Map<String, SummaryResult> second = client.generateBatchSummaries(logsByUser);
+
+        // Then: 두 번째 배치는 OpenAI를 호출하지 않음
+        assertThat(first).containsOnlyKeys("U1", "U2");
+        assertThat(first.get("U1").getSummary()).isEqualTo("U1 요약");
+        assertThat(first.get("U2").getSummary()).isEqualTo("U2 요약");
+        assertThat(second).isEqualTo(first);
+        verify(delegate, times(1)).generateBatchSummaries(anyMap());
+        assertThat(client.generateSummaryAndFeedback(missedLogs)).isSameAs(first.get("U2"));
+    }
+
+    private CachingOpenAIClient client(boolean redisEnabled) {
+        return new CachingOpenAIClient(delegate, new OpenAIPromptBuilder("gpt-4o-mini"), stringRedisTemplate,
+                new ObjectMapper(), meterRegistry, true, 100, Duration.ofDays(1), redisEnabled);
+    }
+
+    private List<StudyLogContent> logs(String... contents) {
+        LocalDateTime now = LocalDateTime.now();
+        return Arrays.stream(contents)
+                .<StudyLogContent>map(content -> new StudyLog(content, now, user))
+                .toList();
+    }
+}
@@ -5,9 +5,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.jia.study_tracker.filter.KeywordStudyMessageFilter;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 class KeywordStudyMessageFilterTest {
 
-    private final KeywordStudyMessageFilter filter = new KeywordStudyMessageFilter();
+    private final KeywordStudyMessageFilter filter =
+            new KeywordStudyMessageFilter(List.of("공부", "강의", "복습", "학습", "인강", "문제풀이"));
 
     @Test
     void returnsTrueWhenTextContainsStudyKeywords() {
@@ -28,4 +31,18 @@ class KeywordStudyMessageFilterTest {
         assertFalse(filter.isStudyRelated(""));
         assertFalse(filter.isStudyRelated(null));
     }
+
+    @Test
+    void matchesEnglishKeywordsIgnoringCase() {
+        KeywordStudyMessageFilter englishFilter = new KeywordStudyMessageFilter(List.of("Study", "lecture"));
+
+        assertTrue(englishFilter.isStudyRelated("study for 2 hours"));
+        assertTrue(englishFilter.isStudyRelated("Watched a LECTURE"));
+        assertFalse(englishFilter.isStudyRelated("went hiking"));
+    }
+
+    @Test
+    void rejectsEmptyKeywordList() {
+        assertThrows(IllegalArgumentException.class, () -> new KeywordStudyMessageFilter(List.of(" ")));
+    }
 }
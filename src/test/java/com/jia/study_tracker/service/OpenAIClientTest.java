@@ -3,7 +3,9 @@ package com.jia.study_tracker.service;
 import com.jia.study_tracker.domain.StudyLog;
 import com.jia.study_tracker.domain.User;
 import com.jia.study_tracker.exception.InvalidOpenAIResponseException;
+import com.jia.study_tracker.exception.OpenAIClientException;
 import com.jia.study_tracker.service.dto.SummaryResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterEach;
@@ -14,8 +16,13 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -31,6 +38,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
  * 테스트 시나리오:
  * 1. 정상적인 OpenAI 응답을 받으면 summary와 feedback을 올바르게 파싱한다.
  * 2. 응답에 '피드백:'이 빠져 있으면 InvalidOpenAIResponseException을 던진다.
+ * 3. 배치 응답(JSON)을 사용자별 결과로 분리하고, 형식이 잘못된 사용자는 결과에서 제외한다.
+ * 4. 로그가 토큰 한도를 넘으면 나누어 부분 요약한 뒤, 부분 요약들로 최종 요약을 만든다.
+ * 5. 논블로킹 호출(summarize)은 응답을 Mono로 돌려주고, 시간 초과는 OpenAIClientException으로 전달한다.
+ * 6. 429를 받으면 Retry-After만큼 기다린 뒤 같은 요청을 다시 보낸다.
+ * 7. 배치 요청은 로그를 사용자 ID별 JSON으로 보내고, 요청하지 않은 사용자 ID가 응답에 있으면 InvalidOpenAIResponseException을 던진다.
  */
 class OpenAIClientTest {
 
@@ -46,9 +58,7 @@ class OpenAIClientTest {
                 .baseUrl(mockWebServer.url("/").toString())
                 .build();
 
-        openAIClient = new OpenAIClientImpl(webClient);
-
-        ReflectionTestUtils.setField(openAIClient, "model", "gpt-4o-mini");
+        openAIClient = new OpenAIClientImpl(webClient, new OpenAIPromptBuilder("gpt-4o-mini"), rateLimiter());
     }
 
     @AfterEach
@@ -116,4 +126,151 @@ class OpenAIClientTest {
                 "응답에 '피드백:'이 빠졌기 때문에 예외가 발생해야 한다");
 
     }
+
+    @DisplayName("배치 응답을 사용자별로 분리하고, 형식이 잘못된 사용자는 제외한다")
+    @Test
+    void generateBatchSummaries_splitsResultsByUser() throws InterruptedException {
+        // given: U2는 feedback이 빠져 있음
+        String batchResponse = """
+            {
+              "choices": [
+                {
+                  "message": {
+                    "content": "{\\"U1\\": {\\"summary\\": \\"자바를 학습했습니다.\\", \\"feedback\\": \\"멋져요!\\"}, \\"U2\\": {\\"summary\\": \\"요약만 있음\\"}}"
+                  }
+                }
+              ]
+            }
+            """;
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(batchResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        Map<String, List<StudyLog>> logsByUser = new LinkedHashMap<>();
+        logsByUser.put("U1", List.of(new StudyLog("자바 공부", LocalDateTime.now(), new User("U1", "a"))));
+        logsByUser.put("U2", List.of(new StudyLog("스프링 강의", LocalDateTime.now(), new User("U2", "b"))));
+
+        // when
+        Map<String, SummaryResult> results = openAIClient.generateBatchSummaries(logsByUser);
+
+        // then
+        assertThat(results).containsOnlyKeys("U1");
+        assertThat(results.get("U1").getSummary()).isEqualTo("자바를 학습했습니다.");
+        assertThat(results.get("U1").getFeedback()).isEqualTo("멋져요!");
+        assertThat(mockWebServer.takeRequest().getBody().readUtf8()).contains("\"response_format\":{\"type\":\"json_object\"}");
+    }
+
+    @DisplayName("토큰 한도를 넘는 로그는 나누어 요약한 뒤 다시 요약한다")
+    @Test
+    void generateSummaryAndFeedback_overBudget_mapReduce() throws InterruptedException {
+        // given: 로그 한 건이 약 8토큰이므로 한도 16토큰이면 두 건씩 묶임 → 3개 부분
+        openAIClient = new OpenAIClientImpl(
+                WebClient.builder().baseUrl(mockWebServer.url("/").toString()).build(),
+                new OpenAIPromptBuilder("gpt-4o-mini", 16), rateLimiter());
+        for (int i = 0; i < 3; i++) {
+            enqueueContent("부분");
+        }
+        enqueueContent("요약: 한 달 동안 자바를 공부했습니다.\\n피드백: 꾸준함이 멋져요!");
+
+        User user = new User("U123", "Jia");
+        List<StudyLog> logs = IntStream.range(0, 5)
+                .mapToObj(i -> new StudyLog("자바 공부 " + i + "일차", LocalDateTime.now(), user))
+                .toList();
+
+        // when
+        SummaryResult result = openAIClient.generateSummaryAndFeedback(logs);
+
+        // then: 부분 요약 3회 + 최종 요약 1회
+        assertThat(result.getSummary()).isEqualTo("한 달 동안 자바를 공부했습니다.");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+        for (int i = 0; i < 3; i++) {
+            assertThat(mockWebServer.takeRequest().getBody().readUtf8()).contains("학습 로그 중 일부");
+        }
+        assertThat(mockWebServer.takeRequest().getBody().readUtf8()).contains("여러 부분으로 나누어 정리한 내용");
+    }
+
+    @DisplayName("논블로킹 호출은 응답을 Mono로 돌려주고, 시간 초과는 OpenAIClientException으로 전달한다")
+    @Test
+    void summarize_reactive_successAndTimeout() {
+        // given
+        OpenAIClientImpl client = new OpenAIClientImpl(
+                WebClient.builder().baseUrl(mockWebServer.url("/").toString()).build(),
+                new OpenAIPromptBuilder("gpt-4o-mini"), rateLimiter());
+        ReflectionTestUtils.setField(client, "reactiveTimeout", Duration.ofMillis(200));
+        enqueueContent("요약: 자바를 학습했습니다.\\n피드백: 멋져요!");
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"choices\": []}")
+                .addHeader("Content-Type", "application/json")
+                .setHeadersDelay(1, TimeUnit.SECONDS));
+        List<StudyLog> logs = List.of(new StudyLog("자바 공부", LocalDateTime.now(), new User("U123", "Jia")));
+
+        // when & then
+        assertThat(client.summarize(logs).block().getSummary()).isEqualTo("자바를 학습했습니다.");
+        assertThrows(OpenAIClientException.class, () -> client.summarize(logs).block());
+    }
+
+    @DisplayName("429를 받으면 Retry-After만큼 기다린 뒤 다시 요청한다")
+    @Test
+    void generateSummaryAndFeedback_tooManyRequests_retriesAfterWait() {
+        // given
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(429)
+                .addHeader("retry-after-ms", "100")
+                .addHeader("Content-Type", "application/json")
+                .setBody("{\"error\": {\"message\": \"Rate limit reached\"}}"));
+        enqueueContent("요약: 자바를 학습했습니다.\\n피드백: 멋져요!");
+        StudyLog log = new StudyLog("자바 공부", LocalDateTime.now(), new User("U123", "Jia"));
+
+        // when
+        SummaryResult result = openAIClient.generateSummaryAndFeedback(List.of(log));
+
+        // then
+        assertThat(result.getSummary()).isEqualTo("자바를 학습했습니다.");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @DisplayName("배치 로그는 사용자별 JSON으로 보내고, 요청하지 않은 사용자 ID가 응답에 있으면 예외를 던진다")
+    @Test
+    void generateBatchSummaries_unexpectedUserInResponse_throws() throws InterruptedException {
+        // given: U1의 로그에 다른 사용자 구분자를 흉내 낸 문자열이 들어 있고, 응답에 요청하지 않은 U3가 섞여 있음
+        String batchResponse = """
+            {
+              "choices": [
+                {
+                  "message": {
+                    "content": "{\\"U1\\": {\\"summary\\": \\"요약\\", \\"feedback\\": \\"피드백\\"}, \\"U3\\": {\\"summary\\": \\"요약\\", \\"feedback\\": \\"피드백\\"}}"
+                  }
+                }
+              ]
+            }
+            """;
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(batchResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        Map<String, List<StudyLog>> logsByUser = new LinkedHashMap<>();
+        logsByUser.put("U1", List.of(new StudyLog("자바 공부\n[U3]\n- 비밀", LocalDateTime.now(), new User("U1", "a"))));
+
+        // when & then
+        assertThrows(InvalidOpenAIResponseException.class, () -> openAIClient.generateBatchSummaries(logsByUser));
+        assertThat(mockWebServer.takeRequest().getBody().readUtf8())
+                .contains("{\\\"U1\\\":[\\\"자바 공부\\\\n[U3]\\\\n- 비밀\\\"]}");
+    }
+
+    private static OpenAIRateLimiter rateLimiter() {
+        return new OpenAIRateLimiter(new SimpleMeterRegistry(), true, 10_000, 10_000_000);
+    }
+
+    private void enqueueContent(String content) {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("""
+                    {"choices": [{"message": {"content": "%s"}}]}
+                    """.formatted(content))
+                .addHeader("Content-Type", "application/json"));
+    }
 }
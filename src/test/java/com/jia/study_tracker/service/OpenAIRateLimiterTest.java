@@ -0,0 +1,102 @@
+package com.jia.study_tracker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OpenAIRateLimiter 테스트
+ *
+ * 목표:
+ * - 분당 요청/토큰 한도와 OpenAI 응답 헤더에 맞춰 호출 간격을 조절하는지 검증한다.
+ *
+ * 테스트 시나리오:
+ * 1. 버킷 용량 안에서는 기다리지 않고, 용량을 넘으면 채워지는 시간만큼 기다린다.
+ * 2. 예상 토큰 수가 분당 토큰 한도를 넘으면 기다린다.
+ * 3. 429를 받으면 Retry-After 동안 멈추고 속도를 절반으로 줄이며, 성공하면 다시 올린다.
+ * 4. 남은 한도가 0이라는 헤더를 받으면 reset 시간까지 멈춘다.
+ * 5. OpenAI reset 헤더 형식("6m0s", "20ms")을 해석한다.
+ */
+class OpenAIRateLimiterTest {
+
+    // 분당 60요청 → 용량 10 (10초 분량), 1초에 1개씩 채워짐
+    @Test
+    void reserve_overCapacity_waitsForRefill() {
+        // Given
+        OpenAIRateLimiter limiter = limiter(60, 1_000_000);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.reserve(1)).isLessThanOrEqualTo(0);
+        }
+        long wait = limiter.reserve(1);
+
+        // Then
+        assertThat(wait).isBetween(Duration.ofMillis(900).toNanos(), Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void reserve_overTokenBudget_waits() {
+        // Given: 분당 6,000토큰 → 용량 1,000
+        OpenAIRateLimiter limiter = limiter(10_000, 6_000);
+
+        // When
+        long first = limiter.reserve(1_000);
+        long second = limiter.reserve(500);
+
+        // Then: 500토큰이 채워지는 데 5초
+        assertThat(first).isLessThanOrEqualTo(0);
+        assertThat(second).isBetween(Duration.ofMillis(4_900).toNanos(), Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    void onRateLimited_pausesAndHalvesRate_thenRecovers() {
+        // Given
+        OpenAIRateLimiter limiter = limiter(10_000, 1_000_000);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "2");
+
+        // When
+        limiter.onRateLimited(headers);
+        long wait = limiter.reserve(1);
+
+        // Then
+        assertThat(wait).isBetween(Duration.ofMillis(1_900).toNanos(), Duration.ofSeconds(2).toNanos());
+        assertThat(limiter.currentMultiplier()).isEqualTo(0.5);
+
+        limiter.onSuccess(new HttpHeaders());
+        assertThat(limiter.currentMultiplier()).isGreaterThan(0.5);
+    }
+
+    @Test
+    void onSuccess_noRemainingRequests_pausesUntilReset() {
+        // Given
+        OpenAIRateLimiter limiter = limiter(10_000, 1_000_000);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("x-ratelimit-remaining-requests", "0");
+        headers.set("x-ratelimit-reset-requests", "3s");
+
+        // When
+        limiter.onSuccess(headers);
+        long wait = limiter.reserve(1);
+
+        // Then
+        assertThat(wait).isBetween(Duration.ofMillis(2_900).toNanos(), Duration.ofSeconds(3).toNanos());
+    }
+
+    @Test
+    void parseDuration_openAIFormat() {
+        assertThat(OpenAIRateLimiter.parseDuration("6m0s")).isEqualTo(Duration.ofMinutes(6));
+        assertThat(OpenAIRateLimiter.parseDuration("20ms")).isEqualTo(Duration.ofMillis(20));
+        assertThat(OpenAIRateLimiter.parseDuration("1.5s")).isEqualTo(Duration.ofMillis(1_500));
+        assertThat(OpenAIRateLimiter.parseDuration("unknown")).isNull();
+    }
+
+    private OpenAIRateLimiter limiter(int requestsPerMinute, int tokensPerMinute) {
+        return new OpenAIRateLimiter(new SimpleMeterRegistry(), true, requestsPerMinute, tokensPerMinute);
+    }
+}
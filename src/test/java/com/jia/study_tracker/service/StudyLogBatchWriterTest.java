@@ -0,0 +1,87 @@
+package com.jia.study_tracker.service;
+
+import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.domain.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * StudyLogBatchWriter 테스트
+ *
+ * 목표:
+ * - 여러 건의 StudyLog가 하나의 배치로 묶여 저장되는지 검증한다.
+ *
+ * 테스트 시나리오:
+ * 1. max-size 만큼 쌓이면 한 번의 saveAll로 저장한다.
+ * 2. durable 모드에서는 버퍼 없이 호출 스레드에서 바로 저장한다.
+ */
+@ExtendWith(MockitoExtension.class)
+class StudyLogBatchWriterTest {
+
+    @Mock
+    private StudyLogSaver studyLogSaver;
+
+    @InjectMocks
+    private StudyLogBatchWriter studyLogBatchWriter;
+
+    private final User user = new User("U123", "jia");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studyLogBatchWriter, "maxBatchSize", 3);
+        ReflectionTestUtils.setField(studyLogBatchWriter, "maxWaitMillis", 5_000L);
+        ReflectionTestUtils.setField(studyLogBatchWriter, "capacity", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        studyLogBatchWriter.stop();
+    }
+
+    @Test
+    @DisplayName("max-size 만큼 쌓인 로그를 한 번에 저장한다")
+    @SuppressWarnings("unchecked")
+    void flushesWhenBatchIsFull() {
+        // given
+        studyLogBatchWriter.start();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            studyLogBatchWriter.write(new StudyLog("공부 " + i, LocalDateTime.now(), user));
+        }
+
+        // then
+        ArgumentCaptor<List<StudyLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(studyLogSaver, timeout(2000)).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("durable 모드에서는 호출 스레드에서 바로 저장한다")
+    void durableModeSavesImmediately() {
+        // given
+        ReflectionTestUtils.setField(studyLogBatchWriter, "durable", true);
+        studyLogBatchWriter.start();
+
+        // when
+        studyLogBatchWriter.write(new StudyLog("공부", LocalDateTime.now(), user));
+
+        // then
+        verify(studyLogSaver, times(1)).saveAll(anyList());
+    }
+}
@@ -1,7 +1,11 @@
 package com.jia.study_tracker.service;
 
 import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.domain.StudyLogContent;
 import com.jia.study_tracker.domain.SummaryType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +14,7 @@ import org.springframework.test.context.jdbc.Sql;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -25,17 +30,22 @@ import static org.assertj.core.api.Assertions.assertThat;
  * 1. DAILY, WEEKLY, MONTHLY 타입에 맞는 StudyLog만 반환해야 한다.
  * 2. 유저별로 각자의 StudyLog만 반환해야 한다.
  * 4. 존재하지 않는 사용자 조회 시, IllegalArgumentException을 던져야 한다.
+ * 5. 여러 사용자의 로그 일괄 조회는 쿼리 한 번으로 끝나고, 사용자별로 묶여서 반환되어야 한다.
+ * 6. rollup 조회는 일간 요약이 있는 날은 요약을, 없는 날만 원본 로그를 반환해야 한다.
  *
  * 사용 데이터:
  * - @Sql("/data.sql")로 고정된 테스트 데이터를 삽입한다.
  */
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Sql(scripts = "/data.sql")
 class StudyLogQueryServiceTest {
 
     @Autowired
     private StudyLogQueryService studyLogQueryService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @DisplayName("DAILY 타입으로 StudyLog를 조회한다")
     @Test
     void getDailyLogs() {
@@ -129,4 +139,42 @@ class StudyLogQueryServiceTest {
         org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () ->
                 studyLogQueryService.getLogs(invalidUserId, baseDate, SummaryType.DAILY));
     }
+
+    @DisplayName("여러 사용자의 로그를 쿼리 한 번으로 조회해 사용자별로 묶는다")
+    @Test
+    void getLogsByUserRunsSingleQuery() {
+        // given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        LocalDate baseDate = LocalDate.of(2025, 5, 2); // DAILY
+
+        // when
+        Map<String, List<StudyLogContent>> logsByUser = studyLogQueryService.getLogsByUser(
+                List.of("U123456", "U999999", "UNKNOWN"), baseDate, SummaryType.DAILY);
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(logsByUser).containsOnlyKeys("U123456", "U999999");
+        assertThat(logsByUser.get("U123456")).extracting("content")
+                .containsExactly("스프링 JPA 복습");
+        assertThat(logsByUser.get("U999999")).extracting("content")
+                .containsExactly("영어를 공부함");
+    }
+
+    @DisplayName("주간 rollup 조회는 일간 요약을 재사용하고 요약이 없는 날만 원본 로그를 사용한다")
+    @Test
+    void getRollupLogsByUserPrefersDailySummaries() {
+        // given
+        LocalDate baseDate = LocalDate.of(2025, 4, 28); // 4/28 ~ 5/4
+
+        // when
+        Map<String, List<StudyLogContent>> logsByUser = studyLogQueryService.getRollupLogsByUser(
+                List.of("U123456", "U999999"), baseDate, SummaryType.WEEKLY);
+
+        // then: 5/1, 5/2는 일간 요약(같은 날은 나중 것), 5/3은 원본 로그
+        assertThat(logsByUser.get("U123456")).extracting("content")
+                .containsExactly("[5/1 일간 요약] 자바 기초 학습", "[5/2 일간 요약] JPA 복습", "OpenAI 연동 테스트");
+        assertThat(logsByUser.get("U999999")).extracting("content")
+                .containsExactly("영어를 공부함");
+    }
 }
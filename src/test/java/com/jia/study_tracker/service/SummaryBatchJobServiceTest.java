@@ -0,0 +1,254 @@
+package com.jia.study_tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.domain.StudyLogContent;
+import com.jia.study_tracker.domain.Summary;
+import com.jia.study_tracker.domain.SummaryType;
+import com.jia.study_tracker.domain.User;
+import com.jia.study_tracker.dto.SummaryBatchJob;
+import com.jia.study_tracker.repository.UserRepository;
+import com.jia.study_tracker.service.batch.BatchJobClient;
+import com.jia.study_tracker.service.batch.BatchJobStatus;
+import com.jia.study_tracker.service.batch.LocalFileBatchJobClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * SummaryBatchJobService 테스트
+ *
+ * 목표:
+ * - 주간/월간 요약이 배치 작업으로 제출되고, 완료된 결과가 저장/전송되는지 검증한다.
+ *
+ * 테스트 시나리오:
+ * 1. 로그가 있는 사용자만 요청 파일에 담겨 제출되고, 완료된 결과는 저장 후 사용자에게 전송된다.
+ * 2. 작업 제출에 실패하면 요청 파일에 담긴 사용자를 재시도 큐에 등록한다.
+ * 3. 다른 인스턴스가 lease를 잡고 처리 중인 작업은 건너뛰고 Redis에 그대로 둔다.
+ * 4. 결과 처리 중 예외가 나면 작업을 지우지 않고 lease도 풀지 않아, 만료 후 다시 처리되게 한다.
+ * 5. 작업이 실패하면 Redis에 보관된 사용자 ID로 재시도 큐에 등록하고, 사용자 ID 집합을 지운다.
+ */
+@ExtendWith(MockitoExtension.class)
+class SummaryBatchJobServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StudyLogQueryService studyLogQueryService;
+
+    @Mock
+    private SummarySaver summarySaver;
+
+    @Mock
+    private SlackNotificationService slackNotificationService;
+
+    @Mock
+    private SummaryRetryQueue summaryRetryQueue;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private DistributedLock distributedLock;
+
+    @Mock
+    private BatchJobClient batchJobClient;
+
+    @TempDir
+    Path workDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final LocalDate date = LocalDate.of(2025, 4, 20);
+
+    private User user;
+    private User idleUser;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("U1", "jia");
+        idleUser = new User("U2", "min");
+    }
+
+    // 제출 → 폴링 → 결과 저장/전송까지 한 번에 흘러가는지 검증
+    @Test
+    void submitAndPoll_savesAndNotifiesCompletedResults() throws Exception {
+        // Given
+        SummaryBatchJobService service = service(new LocalFileBatchJobClient(objectMapper, workDir));
+        given(stringRedisTemplate.<Object, Object>opsForHash()).willReturn(hashOperations);
+        given(stringRedisTemplate.opsForSet()).willReturn(setOperations);
+        given(userRepository.findBySlackUserIdGreaterThanOrderBySlackUserIdAsc(eq(""), any(Limit.class)))
+                .willReturn(List.of(user, idleUser));
+        List<StudyLogContent> logs = List.of(new StudyLog("스프링 공부", LocalDateTime.now(), user));
+        given(studyLogQueryService.getLogsByUser(List.of("U1", "U2"), date, SummaryType.WEEKLY))
+                .willReturn(Map.of("U1", logs));
+        given(userRepository.findAllById(List.of("U1"))).willReturn(List.of(user));
+
+        // When: 제출
+        List<?> jobs = service.submit(date, SummaryType.WEEKLY);
+
+        // Then: 작업 하나와 요청한 사용자 ID가 Redis에 보관되고 로컬 요청 파일은 삭제됨 (로그 없는 사용자는 제외)
+        assertThat(jobs).hasSize(1);
+        ArgumentCaptor<Object> jobId = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<Object> jobJson = ArgumentCaptor.forClass(Object.class);
+        verify(hashOperations).put(eq(SummaryBatchJobService.JOBS_KEY), jobId.capture(), jobJson.capture());
+        String usersKey = SummaryBatchJobService.USERS_KEY_PREFIX + jobId.getValue();
+        verify(setOperations).add(usersKey, "U1");
+        try (var files = Files.list(workDir)) {
+            assertThat(files.filter(f -> f.getFileName().toString().startsWith("summary-"))).isEmpty();
+        }
+
+        // When: 폴링
+        given(hashOperations.entries(SummaryBatchJobService.JOBS_KEY)).willReturn(Map.of(jobId.getValue(), jobJson.getValue()));
+        given(distributedLock.tryLock(eq("summary-batch-job:" + jobId.getValue()), any(Duration.class))).willReturn("token");
+        given(setOperations.members(usersKey)).willReturn(Set.of("U1"));
+        service.pollPendingJobs();
+
+        // Then: 결과를 처리한 뒤에 작업을 지우고 lease를 해제함
+        ArgumentCaptor<Summary> summary = ArgumentCaptor.forClass(Summary.class);
+        verify(summarySaver).save(summary.capture());
+        assertThat(summary.getValue().getSummary()).contains("LOCAL 요약");
+        verify(slackNotificationService).sendSummaryToUser(user, summary.getValue());
+        verify(summaryRetryQueue, never()).register(any(), any(), any());
+        var order = inOrder(slackNotificationService, hashOperations, distributedLock);
+        order.verify(slackNotificationService).sendSummaryToUser(user, summary.getValue());
+        order.verify(hashOperations).delete(SummaryBatchJobService.JOBS_KEY, jobId.getValue());
+        order.verify(distributedLock).unlock("summary-batch-job:" + jobId.getValue(), "token");
+        verify(stringRedisTemplate).delete(usersKey);
+    }
+
+    // 제출이 실패하면 요청에 담긴 사용자를 재시도 큐에 등록하는지 검증
+    @Test
+    void submit_clientFails_registersRetries() {
+        // Given
+        BatchJobClient failingClient = mock(BatchJobClient.class);
+        given(failingClient.submit(any())).willThrow(new IllegalStateException("upload failed"));
+        SummaryBatchJobService service = service(failingClient);
+        given(userRepository.findBySlackUserIdGreaterThanOrderBySlackUserIdAsc(eq(""), any(Limit.class)))
+                .willReturn(List.of(user));
+        List<StudyLogContent> logs = List.of(new StudyLog("스프링 공부", LocalDateTime.now(), user));
+        given(studyLogQueryService.getLogsByUser(List.of("U1"), date, SummaryType.MONTHLY))
+                .willReturn(Map.of("U1", logs));
+        given(userRepository.findAllById(List.of("U1"))).willReturn(List.of(user));
+
+        // When
+        List<?> jobs = service.submit(date, SummaryType.MONTHLY);
+
+        // Then
+        assertThat(jobs).isEmpty();
+        verify(summaryRetryQueue).register(user, date, SummaryType.MONTHLY);
+        verify(stringRedisTemplate, never()).opsForHash();
+    }
+
+    // 다른 인스턴스가 처리 중인 작업은 결과를 읽지도, 지우지도 않는지 검증
+    @Test
+    void poll_leaseHeldByOther_skipsJob() throws Exception {
+        // Given
+        SummaryBatchJobService service = service(batchJobClient);
+        givenFinishedJob("job-1");
+        given(distributedLock.tryLock(eq("summary-batch-job:job-1"), any(Duration.class))).willReturn(null);
+
+        // When
+        service.pollPendingJobs();
+
+        // Then
+        verify(batchJobClient, never()).readResults(any(), any());
+        verify(hashOperations, never()).delete(any(), any());
+    }
+
+    // 결과 처리에 실패한 작업은 Redis에 남고 lease도 만료될 때까지 유지되는지 검증
+    @Test
+    void poll_completeJobFails_keepsJobAndLease() throws Exception {
+        // Given
+        SummaryBatchJobService service = service(batchJobClient);
+        givenFinishedJob("job-1");
+        given(distributedLock.tryLock(eq("summary-batch-job:job-1"), any(Duration.class))).willReturn("token");
+        doThrow(new IllegalStateException("결과 파일 읽기 실패")).when(batchJobClient).readResults(any(), any());
+
+        // When
+        service.pollPendingJobs();
+
+        // Then
+        verify(hashOperations, never()).delete(any(), any());
+        verify(distributedLock, never()).unlock(anyString(), anyString());
+    }
+
+    // 실패한 작업의 사용자를 로컬 파일 없이 Redis에 보관된 ID로 재시도 큐에 등록하는지 검증
+    @Test
+    void poll_failedJob_registersRetriesFromStoredUserIds() throws Exception {
+        // Given
+        SummaryBatchJobService service = service(batchJobClient);
+        givenFinishedJob("job-1", BatchJobStatus.State.FAILED);
+        given(distributedLock.tryLock(eq("summary-batch-job:job-1"), any(Duration.class))).willReturn("token");
+        given(stringRedisTemplate.opsForSet()).willReturn(setOperations);
+        given(setOperations.members("summary-batch-jobs:users:job-1")).willReturn(Set.of("U1"));
+        given(userRepository.findAllById(List.of("U1"))).willReturn(List.of(user));
+
+        // When
+        service.pollPendingJobs();
+
+        // Then
+        verify(summaryRetryQueue).register(user, date, SummaryType.WEEKLY);
+        verify(hashOperations).delete(SummaryBatchJobService.JOBS_KEY, "job-1");
+        verify(stringRedisTemplate).delete("summary-batch-jobs:users:job-1");
+    }
+
+    private void givenFinishedJob(String jobId) throws Exception {
+        givenFinishedJob(jobId, BatchJobStatus.State.COMPLETED);
+    }
+
+    // Redis에 보관된 작업 하나가 끝난 상태로 조회되도록 설정
+    private void givenFinishedJob(String jobId, BatchJobStatus.State state) throws Exception {
+        SummaryBatchJob job = new SummaryBatchJob(jobId, "WEEKLY", date.toString(), 1, System.currentTimeMillis());
+        given(stringRedisTemplate.<Object, Object>opsForHash()).willReturn(hashOperations);
+        given(hashOperations.entries(SummaryBatchJobService.JOBS_KEY))
+                .willReturn(Map.of(jobId, objectMapper.writeValueAsString(job)));
+        given(batchJobClient.getStatus(jobId)).willReturn(new BatchJobStatus(jobId, state, "output-" + jobId));
+    }
+
+    private SummaryBatchJobService service(BatchJobClient batchJobClient) {
+        SummaryBatchJobService service = new SummaryBatchJobService(userRepository, studyLogQueryService,
+                new OpenAIPromptBuilder("gpt-4o-mini"), batchJobClient, summarySaver, slackNotificationService,
+                summaryRetryQueue, stringRedisTemplate, objectMapper, distributedLock);
+        ReflectionTestUtils.setField(service, "workDir", workDir);
+        ReflectionTestUtils.setField(service, "maxRequestsPerJob", 50000);
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        return service;
+    }
+}
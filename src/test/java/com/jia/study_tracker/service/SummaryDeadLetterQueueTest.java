@@ -0,0 +1,181 @@
+package com.jia.study_tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jia.study_tracker.dto.SummaryDeadLetter;
+import com.jia.study_tracker.dto.SummaryDeadLetterPage;
+import com.jia.study_tracker.dto.SummaryRetryRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * SummaryDeadLetterQueue 테스트
+ *
+ * 목표:
+ * - 재시도를 포기한 요청이 DLQ에 보관되고, 조회/재처리/지표가 올바르게 동작하는지 확인한다.
+ *
+ * 테스트 시나리오:
+ * 1. 재시도를 포기한 요청을 실패 원인과 함께 DLQ에 보관한다.
+ * 2. DLQ를 오래된 순으로 페이지 조회하면 전체 개수와 항목을 반환한다.
+ * 3. 재처리하면 DLQ에서 스크립트로 한 번에 꺼낸 뒤 재시도 큐에 초당 건수에 맞춰 흩어서 등록한다.
+ * 4. 지표 갱신 시 DLQ 크기와 가장 오래된 항목의 나이를 게이지로 노출한다.
+ * 5. 재처리 등록 도중 실패하면 남은 항목을 원래 score로 DLQ에 되돌린다.
+ */
+@ExtendWith(MockitoExtension.class)
+class SummaryDeadLetterQueueTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private SummaryRetryQueue summaryRetryQueue;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SummaryDeadLetterQueue deadLetterQueue;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterQueue = new SummaryDeadLetterQueue(stringRedisTemplate, objectMapper, summaryRetryQueue, meterRegistry, 2);
+    }
+
+    // 실패 원인과 재시도 횟수가 함께 저장되는지 검증
+    @Test
+    void add_storesReasonAndAttempts() throws Exception {
+        // Given
+        SummaryRetryRequest request = new SummaryRetryRequest("U1", "jia", "DAILY", "2025-05-02", 4);
+        given(stringRedisTemplate.opsForZSet()).willReturn(zSetOperations);
+
+        // When
+        deadLetterQueue.add(request, 5, "OpenAI 503");
+
+        // Then
+        ArgumentCaptor<String> member = ArgumentCaptor.forClass(String.class);
+        verify(zSetOperations).add(eq("summary-retry-dlq"), member.capture(), anyDouble());
+        SummaryDeadLetter stored = objectMapper.readValue(member.getValue(), SummaryDeadLetter.class);
+        assertEquals("U1", stored.slackUserId());
+        assertEquals(5, stored.attempts());
+        assertEquals("OpenAI 503", stored.reason());
+        assertTrue(stored.failedAt() > 0);
+    }
+
+    // 오래된 순 페이지 조회 결과를 검증
+    @Test
+    void list_returnsPageWithTotal() throws Exception {
+        // Given
+        String first = json(new SummaryDeadLetter("U1", "jia", "DAILY", "2025-05-02", 5, "timeout", 1000));
+        String second = json(new SummaryDeadLetter("U2", "kim", "WEEKLY", "2025-05-04", 5, "503", 2000));
+        given(stringRedisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.range("summary-retry-dlq", 10, 11)).willReturn(new LinkedHashSet<>(List.of(first, second)));
+        given(zSetOperations.zCard("summary-retry-dlq")).willReturn(42L);
+
+        // When
+        SummaryDeadLetterPage page = deadLetterQueue.list(10, 2);
+
+        // Then
+        assertEquals(42, page.total());
+        assertEquals(10, page.offset());
+        assertEquals(List.of("U1", "U2"), page.entries().stream().map(SummaryDeadLetter::slackUserId).toList());
+    }
+
+    // 재처리 시 DLQ에서 한 번에 꺼내고, 재시도 횟수를 0으로 되돌려 흩어서 등록하는지 검증
+    @Test
+    void replay_popsAtomicallyThenSchedulesSpread() throws Exception {
+        // Given
+        String first = json(new SummaryDeadLetter("U1", "jia", "DAILY", "2025-05-02", 5, "timeout", 1000));
+        String second = json(new SummaryDeadLetter("U2", "kim", "DAILY", "2025-05-02", 5, "timeout", 2000));
+        givenPopped(100, first, second);
+
+        // When
+        int replayed = deadLetterQueue.replay(100);
+
+        // Then
+        assertEquals(2, replayed);
+        ArgumentCaptor<SummaryRetryRequest> requests = ArgumentCaptor.forClass(SummaryRetryRequest.class);
+        ArgumentCaptor<Long> attemptAt = ArgumentCaptor.forClass(Long.class);
+        verify(summaryRetryQueue, times(2)).scheduleAt(requests.capture(), attemptAt.capture());
+        verify(stringRedisTemplate, never()).opsForZSet();
+
+        assertEquals(0, requests.getAllValues().get(0).getRetryCount());
+        // 초당 2건 → 500ms 간격
+        assertEquals(500, attemptAt.getAllValues().get(1) - attemptAt.getAllValues().get(0));
+    }
+
+    // 지표 갱신 후 게이지 값을 검증
+    @Test
+    void refreshMetrics_updatesGauges() {
+        // Given
+        long failedAt = System.currentTimeMillis() - 60_000;
+        given(stringRedisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.zCard("summary-retry-dlq")).willReturn(3L);
+        given(zSetOperations.rangeWithScores("summary-retry-dlq", 0, 0))
+                .willReturn(Set.of(new DefaultTypedTuple<>("oldest", (double) failedAt)));
+
+        // When
+        deadLetterQueue.refreshMetrics();
+
+        // Then
+        assertEquals(3.0, meterRegistry.get("summary.retry.dlq.size").gauge().value());
+        assertTrue(meterRegistry.get("summary.retry.dlq.oldest.age").gauge().value() >= 60);
+    }
+
+    // 등록에 실패하면 실패한 항목부터 남은 항목을 DLQ에 되돌리는지 검증
+    @Test
+    void replay_scheduleFails_restoresRemaining() throws Exception {
+        // Given: 두 번째 등록에서 Redis 오류
+        String first = json(new SummaryDeadLetter("U1", "jia", "DAILY", "2025-05-02", 5, "timeout", 1000));
+        String second = json(new SummaryDeadLetter("U2", "kim", "DAILY", "2025-05-02", 5, "timeout", 2000));
+        String third = json(new SummaryDeadLetter("U3", "lee", "DAILY", "2025-05-02", 5, "timeout", 3000));
+        givenPopped(10, first, second, third);
+        willDoNothing().willThrow(new IllegalStateException("Redis 연결 실패"))
+                .given(summaryRetryQueue).scheduleAt(any(SummaryRetryRequest.class), anyLong());
+        given(stringRedisTemplate.opsForZSet()).willReturn(zSetOperations);
+
+        // When
+        int replayed = deadLetterQueue.replay(10);
+
+        // Then
+        assertEquals(1, replayed);
+        verify(zSetOperations).add("summary-retry-dlq", second, 2000);
+        verify(zSetOperations).add("summary-retry-dlq", third, 3000);
+        verify(zSetOperations, never()).add("summary-retry-dlq", first, 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenPopped(int limit, String... members) {
+        given(stringRedisTemplate.execute(eq(SummaryDeadLetterQueue.POP_OLDEST_SCRIPT),
+                eq(List.of("summary-retry-dlq")), eq(String.valueOf(limit))))
+                .willReturn(List.of(members));
+    }
+
+    private String json(SummaryDeadLetter deadLetter) throws Exception {
+        return objectMapper.writeValueAsString(deadLetter);
+    }
+}
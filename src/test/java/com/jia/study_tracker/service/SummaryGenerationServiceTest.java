@@ -1,14 +1,16 @@
 package com.jia.study_tracker.service;
 
 import com.jia.study_tracker.domain.StudyLog;
+import com.jia.study_tracker.domain.StudyLogContent;
 import com.jia.study_tracker.domain.Summary;
 import com.jia.study_tracker.domain.SummaryType;
 import com.jia.study_tracker.domain.User;
-import com.jia.study_tracker.dto.SummaryRetryRequest;
 import com.jia.study_tracker.exception.InvalidOpenAIResponseException;
 import com.jia.study_tracker.exception.OpenAIClientException;
 import com.jia.study_tracker.repository.UserRepository;
 import com.jia.study_tracker.service.dto.SummaryResult;
+import com.jia.study_tracker.service.dto.SummaryRunReport;
+import com.jia.study_tracker.service.dto.UserRange;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,13 +18,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.ListOperations;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -39,6 +44,14 @@ import static org.mockito.Mockito.*;
  *  시스템은 슬랙으로 오류 메시지를 전송하고, 실패한 요청을 Redis 큐에 등록한다.
  * 4. OpenAI 호출이 실패하는 경우 (OpenAIClientException 발생),
  *  실패한 요청을 Redis 큐에 등록한다.
+ * 5. 여러 사용자를 병렬로 처리하고, 한 사용자의 예외가 다른 사용자에게 전파되지 않으며
+ *  실행 리포트에 사용자별 결과가 집계된다.
+ * 6. 배치 모드에서는 로그가 짧은 사용자들을 한 요청으로 요약하고,
+ *  배치 응답에서 빠진 사용자만 개별 요청으로 다시 요약한다.
+ * 7. rollup 모드에서는 주간/월간 요약을 저장된 하위 기간 요약 기반 조회 결과로 생성한다.
+ * 8. reactive 모드에서도 요약 저장/전송, 실패 시 재시도 큐 등록이 기존과 같이 동작한다.
+ * 9. 사용자 구간이 주어지면 구간 시작 다음부터 구간 끝까지의 사용자만 조회한다.
+ * 10. 배치 요청의 OpenAI 호출 자체가 실패하면 개별 요청 없이 배치 사용자 전원을 재시도 큐에 등록한다.
  */
 @ExtendWith(MockitoExtension.class)
 class SummaryGenerationServiceTest {
@@ -53,16 +66,16 @@ class SummaryGenerationServiceTest {
     private OpenAIClient openAIClient;
 
     @Mock
-    private SlackNotificationService slackNotificationService;
+    private ReactiveOpenAIClient reactiveOpenAIClient;
 
     @Mock
-    private SummarySaver summarySaver;
+    private SlackNotificationService slackNotificationService;
 
     @Mock
-    private RedisTemplate<String, SummaryRetryRequest> redisTemplate;
+    private SummarySaver summarySaver;
 
     @Mock
-    private ListOperations<String, SummaryRetryRequest> listOperations;
+    private SummaryRetryQueue summaryRetryQueue;
 
     @InjectMocks
     private SummaryGenerationService summaryGenerationService;
@@ -76,14 +89,26 @@ class SummaryGenerationServiceTest {
         user = new User("U123456", "jia");
         date = LocalDate.of(2025, 5, 2);
         type = SummaryType.DAILY;
+        ReflectionTestUtils.setField(summaryGenerationService, "chunkSize", 100);
+    }
+
+    // 첫 번째 청크 조회에서 주어진 사용자들이 반환되도록 설정
+    private void givenUsers(User... users) {
+        given(userRepository.findBySlackUserIdGreaterThanOrderBySlackUserIdAsc(eq(""), any(Limit.class)))
+                .willReturn(List.of(users));
+    }
+
+    // 청크 단위 로그 일괄 조회 결과 설정
+    private void givenLogs(Map<String, List<StudyLogContent>> logsByUser) {
+        given(studyLogQueryService.getLogsByUser(anyCollection(), eq(date), eq(type))).willReturn(logsByUser);
     }
 
     @Test
     @DisplayName("사용자에게 학습 로그가 없으면 요약을 건너뛴다")
     void shouldSkipSummaryWhenNoLogsExist() {
         // given
-        given(userRepository.findAll()).willReturn(List.of(user));
-        given(studyLogQueryService.getLogs(user.getSlackUserId(), date, type)).willReturn(List.of());
+        givenUsers(user);
+        givenLogs(Map.of());
 
         // when
         summaryGenerationService.generateSummaries(date, type);
@@ -97,11 +122,11 @@ class SummaryGenerationServiceTest {
     @DisplayName("학습 로그가 존재하면 GPT를 호출하고 결과를 저장하고 알림을 보낸다")
     void shouldGenerateAndSaveSummaryWhenLogsExist() {
         // given
-        List<StudyLog> logs = List.of(new StudyLog("공부 내용", LocalDateTime.now(), user));
+        List<StudyLogContent> logs = List.of(new StudyLog("공부 내용", LocalDateTime.now(), user));
         SummaryResult result = new SummaryResult("요약", "피드백");
 
-        given(userRepository.findAll()).willReturn(List.of(user));
-        given(studyLogQueryService.getLogs(user.getSlackUserId(), date, type)).willReturn(logs);
+        givenUsers(user);
+        givenLogs(Map.of(user.getSlackUserId(), logs));
         given(openAIClient.generateSummaryAndFeedback(logs)).willReturn(result);
 
         // when
@@ -117,27 +142,18 @@ class SummaryGenerationServiceTest {
     @DisplayName("InvalidOpenAIResponseException 발생 시 슬랙에 오류 메시지를 보내고 큐에 요청을 등록한다")
     void shouldNotifyErrorAndQueueWhenInvalidOpenAIResponse() {
         // given
-        List<StudyLog> logs = List.of(new StudyLog("공부 내용", LocalDateTime.now(), user));
-        SummaryRetryRequest expectedRequest = new SummaryRetryRequest(
-                user.getSlackUserId(),
-                user.getSlackUsername(),
-                type.name(),
-                date.toString(),
-                0
-        );
-
-        given(userRepository.findAll()).willReturn(List.of(user));
-        given(studyLogQueryService.getLogs(user.getSlackUserId(), date, type)).willReturn(logs);
+        List<StudyLogContent> logs = List.of(new StudyLog("공부 내용", LocalDateTime.now(), user));
+        givenUsers(user);
+        givenLogs(Map.of(user.getSlackUserId(), logs));
         given(openAIClient.generateSummaryAndFeedback(logs))
                 .willThrow(new InvalidOpenAIResponseException("응답 이상"));
-        given(redisTemplate.opsForList()).willReturn(listOperations);
 
         // when
         summaryGenerationService.generateSummaries(date, type);
 
         // then
         verify(slackNotificationService).sendErrorNotice(eq(user), eq(date), eq(type));
-        verify(listOperations).rightPush(eq("summary-retry-queue"), refEq(expectedRequest));
+        verify(summaryRetryQueue).register(user, date, type);
     }
 
 
@@ -145,26 +161,192 @@ class SummaryGenerationServiceTest {
     @DisplayName("OpenAIClientException 발생 시 큐에 요청을 등록한다")
     void shouldEnqueueRequestOnOpenAIClientFailure() {
         // given
-        List<StudyLog> logs = List.of(new StudyLog("공부 내용", LocalDateTime.now(), user));
-        SummaryRetryRequest expectedRequest = new SummaryRetryRequest(
-                user.getSlackUserId(),
-                user.getSlackUsername(),
-                type.name(),
-                date.toString(),
-                0
-        );
-
-        given(userRepository.findAll()).willReturn(List.of(user));
-        given(studyLogQueryService.getLogs(user.getSlackUserId(), date, type)).willReturn(logs);
+        List<StudyLogContent> logs = List.of(new StudyLog("공부 내용", LocalDateTime.now(), user));
+        givenUsers(user);
+        givenLogs(Map.of(user.getSlackUserId(), logs));
         given(openAIClient.generateSummaryAndFeedback(logs))
                 .willThrow(new OpenAIClientException("서버 오류", new RuntimeException("internal")));
-        given(redisTemplate.opsForList()).willReturn(listOperations);
 
         // when
         summaryGenerationService.generateSummaries(date, type);
 
         // then
-        verify(listOperations).rightPush(eq("summary-retry-queue"), refEq(expectedRequest));
+        verify(summaryRetryQueue).register(user, date, type);
+    }
+
+    @Test
+    @DisplayName("여러 사용자를 병렬로 처리하고 사용자별 결과를 리포트로 집계한다")
+    void shouldIsolateFailuresAndReportOutcomes() {
+        // given
+        User noLogUser = new User("U000001", "empty");
+        User brokenUser = new User("U000002", "broken");
+        List<StudyLogContent> logs = List.of(new StudyLog("공부 내용", LocalDateTime.now(), user));
+
+        givenUsers(user, noLogUser, brokenUser);
+        List<StudyLogContent> brokenLogs = List.of(new StudyLog("깨진 로그", LocalDateTime.now(), brokenUser));
+        givenLogs(Map.of(user.getSlackUserId(), logs, brokenUser.getSlackUserId(), brokenLogs));
+        given(openAIClient.generateSummaryAndFeedback(logs)).willReturn(new SummaryResult("요약", "피드백"));
+        given(openAIClient.generateSummaryAndFeedback(brokenLogs)).willThrow(new IllegalStateException("예상치 못한 오류"));
+
+        // when
+        SummaryRunReport report = summaryGenerationService.generateSummaries(date, type);
+
+        // then
+        assertThat(report.userCount()).isEqualTo(3);
+        assertThat(report.summarized()).isEqualTo(1);
+        assertThat(report.skipped()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(1);
+        verify(summarySaver).save(any(Summary.class));
+    }
+
+    @Test
+    @DisplayName("사용자를 청크 단위로 나누어 keyset 페이징으로 조회한다")
+    void shouldReadUsersInKeysetChunks() {
+        // given
+        ReflectionTestUtils.setField(summaryGenerationService, "chunkSize", 2);
+        User first = new User("U1", "a");
+        User second = new User("U2", "b");
+        User third = new User("U3", "c");
+        given(userRepository.findBySlackUserIdGreaterThanOrderBySlackUserIdAsc(eq(""), any(Limit.class)))
+                .willReturn(List.of(first, second));
+        given(userRepository.findBySlackUserIdGreaterThanOrderBySlackUserIdAsc(eq("U2"), any(Limit.class)))
+                .willReturn(List.of(third));
+        givenLogs(Map.of());
+
+        // when
+        SummaryRunReport report = summaryGenerationService.generateSummaries(date, type);
+
+        // then
+        assertThat(report.userCount()).isEqualTo(3);
+        verify(userRepository, never()).findAll();
+        verify(studyLogQueryService, times(2)).getLogsByUser(anyCollection(), eq(date), eq(type));
+        verify(studyLogQueryService, never()).getLogs(anyString(), any(), any());
     }
 
+    @Test
+    @DisplayName("사용자 구간이 주어지면 구간 안의 사용자만 keyset 페이징으로 조회한다")
+    void shouldReadOnlyUsersInRange() {
+        // given
+        ReflectionTestUtils.setField(summaryGenerationService, "chunkSize", 2);
+        User first = new User("U3", "a");
+        User second = new User("U4", "b");
+        User third = new User("U5", "c");
+        given(userRepository.findBySlackUserIdGreaterThanAndSlackUserIdLessThanEqualOrderBySlackUserIdAsc(
+                eq("U2"), eq("U5"), any(Limit.class))).willReturn(List.of(first, second));
+        given(userRepository.findBySlackUserIdGreaterThanAndSlackUserIdLessThanEqualOrderBySlackUserIdAsc(
+                eq("U4"), eq("U5"), any(Limit.class))).willReturn(List.of(third));
+        givenLogs(Map.of());
+
+        // when
+        SummaryRunReport report = summaryGenerationService.generateSummaries(date, type, new UserRange("U2", "U5"));
+
+        // then
+        assertThat(report.userCount()).isEqualTo(3);
+        verify(userRepository, never()).findBySlackUserIdGreaterThanOrderBySlackUserIdAsc(anyString(), any(Limit.class));
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("배치 모드에서는 여러 사용자를 한 요청으로 요약하고, 응답에서 빠진 사용자만 개별 요청한다")
+    void shouldSummarizeInBatchAndFallBackForMissingUsers() {
+        // given
+        ReflectionTestUtils.setField(summaryGenerationService, "batchEnabled", true);
+        ReflectionTestUtils.setField(summaryGenerationService, "batchMaxUsers", 10);
+        ReflectionTestUtils.setField(summaryGenerationService, "batchMaxLogChars", 1000);
+        User other = new User("U999999", "other");
+        List<StudyLogContent> logs = List.of(new StudyLog("공부 내용", LocalDateTime.now(), user));
+        List<StudyLogContent> otherLogs = List.of(new StudyLog("강의 복습", LocalDateTime.now(), other));
+
+        givenUsers(user, other);
+        givenLogs(Map.of(user.getSlackUserId(), logs, other.getSlackUserId(), otherLogs));
+        given(openAIClient.generateBatchSummaries(anyMap()))
+                .willReturn(Map.of(user.getSlackUserId(), new SummaryResult("요약", "피드백")));
+        given(openAIClient.generateSummaryAndFeedback(otherLogs)).willReturn(new SummaryResult("개별 요약", "개별 피드백"));
+
+        // when
+        SummaryRunReport report = summaryGenerationService.generateSummaries(date, type);
+
+        // then
+        assertThat(report.summarized()).isEqualTo(2);
+        verify(openAIClient).generateBatchSummaries(anyMap());
+        verify(openAIClient, never()).generateSummaryAndFeedback(logs);
+        verify(openAIClient).generateSummaryAndFeedback(otherLogs);
+        verify(summarySaver, times(2)).save(any(Summary.class));
+    }
+
+    @Test
+    @DisplayName("배치 요청의 OpenAI 호출이 실패하면 개별 요청 없이 전원을 재시도 큐에 등록한다")
+    void shouldQueueBatchUsersForRetryWhenBatchCallFails() {
+        // given
+        ReflectionTestUtils.setField(summaryGenerationService, "batchEnabled", true);
+        ReflectionTestUtils.setField(summaryGenerationService, "batchMaxUsers", 10);
+        ReflectionTestUtils.setField(summaryGenerationService, "batchMaxLogChars", 1000);
+        User other = new User("U999999", "other");
+        List<StudyLogContent> logs = List.of(new StudyLog("공부 내용", LocalDateTime.now(), user));
+        List<StudyLogContent> otherLogs = List.of(new StudyLog("강의 복습", LocalDateTime.now(), other));
+
+        givenUsers(user, other);
+        givenLogs(Map.of(user.getSlackUserId(), logs, other.getSlackUserId(), otherLogs));
+        given(openAIClient.generateBatchSummaries(anyMap())).willThrow(new OpenAIClientException("서버 오류", new RuntimeException("503")));
+
+        // when
+        SummaryRunReport report = summaryGenerationService.generateSummaries(date, type);
+
+        // then
+        assertThat(report.retryQueued()).isEqualTo(2);
+        verify(openAIClient, never()).generateSummaryAndFeedback(any());
+        verify(summaryRetryQueue).register(user, date, type);
+        verify(summaryRetryQueue).register(other, date, type);
+    }
+
+    @Test
+    @DisplayName("rollup 모드에서는 주간 요약을 저장된 일간 요약 기반으로 생성한다")
+    void shouldUseRollupLogsForWeeklySummary() {
+        // given
+        ReflectionTestUtils.setField(summaryGenerationService, "rollupEnabled", true);
+        type = SummaryType.WEEKLY;
+        List<StudyLogContent> contents = List.of(new StudyLog("[5/1 일간 요약] 자바 기초 학습", LocalDateTime.now(), user));
+
+        givenUsers(user);
+        given(studyLogQueryService.getRollupLogsByUser(anyCollection(), eq(date), eq(type)))
+                .willReturn(Map.of(user.getSlackUserId(), contents));
+        given(openAIClient.generateSummaryAndFeedback(contents)).willReturn(new SummaryResult("요약", "피드백"));
+
+        // when
+        summaryGenerationService.generateSummaries(date, type);
+
+        // then
+        verify(studyLogQueryService, never()).getLogsByUser(anyCollection(), any(), any());
+        verify(summarySaver).save(any(Summary.class));
+    }
+
+    @Test
+    @DisplayName("reactive 모드에서 성공한 사용자는 저장/전송하고, 실패한 사용자는 재시도 큐에 등록한다")
+    void shouldSummarizeReactivelyAndEnqueueFailures() {
+        // given
+        ReflectionTestUtils.setField(summaryGenerationService, "executorType", "reactive");
+        ReflectionTestUtils.setField(summaryGenerationService, "maxConcurrency", 4);
+        User other = new User("U999999", "other");
+        User idle = new User("U000001", "idle");
+        List<StudyLogContent> logs = List.of(new StudyLog("공부 내용", LocalDateTime.now(), user));
+        List<StudyLogContent> otherLogs = List.of(new StudyLog("강의 복습", LocalDateTime.now(), other));
+
+        givenUsers(user, other, idle);
+        givenLogs(Map.of(user.getSlackUserId(), logs, other.getSlackUserId(), otherLogs));
+        given(reactiveOpenAIClient.summarize(logs)).willReturn(Mono.just(new SummaryResult("요약", "피드백")));
+        given(reactiveOpenAIClient.summarize(otherLogs))
+                .willReturn(Mono.error(new OpenAIClientException("시간 초과", new RuntimeException())));
+
+        // when
+        SummaryRunReport report = summaryGenerationService.generateSummaries(date, type);
+
+        // then
+        assertThat(report.summarized()).isEqualTo(1);
+        assertThat(report.retryQueued()).isEqualTo(1);
+        assertThat(report.skipped()).isEqualTo(1);
+        verify(summarySaver).save(any(Summary.class));
+        verify(slackNotificationService).sendSummaryToUser(eq(user), any(Summary.class));
+        verify(summaryRetryQueue).register(other, date, type);
+        verify(openAIClient, never()).generateSummaryAndFeedback(any());
+    }
 }
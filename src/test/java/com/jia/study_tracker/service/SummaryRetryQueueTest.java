@@ -0,0 +1,290 @@
+package com.jia.study_tracker.service;
+
+import com.jia.study_tracker.config.SummaryRetryRequestSerializer;
+import com.jia.study_tracker.domain.SummaryType;
+import com.jia.study_tracker.domain.User;
+import com.jia.study_tracker.dto.SummaryRetryRequest;
+import com.jia.study_tracker.service.SummaryRetryQueue.Claimed;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.doubleThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * SummaryRetryQueue 테스트
+ *
+ * 목표:
+ * - 실패한 요청이 재시도 시각(score)과 함께 ZSET에 등록되고, 시각이 된 요청만 꺼내지는지 확인한다.
+ *
+ * 테스트 시나리오:
+ * 1. 실패한 요청을 재시도 횟수 0으로, base-delay 지터 범위의 시각에 등록한다.
+ * 2. 재시도 횟수가 늘어날수록 대기 시간이 2배씩 늘어나고 max-delay를 넘지 않는다.
+ * 3. 재시도 시각이 된 요청은 Lua 스크립트 결과로 꺼내고, 결과가 없으면 빈 목록을 반환한다.
+ * 4. 이전 리스트 큐에 남은 요청은 ZSET으로 옮긴다.
+ * 5. 처리가 끝난 요청은 ack로 처리 중 목록에서 제거된다.
+ * 6. 실패한 요청은 다음 재시도를 먼저 등록한 뒤 처리 중 목록에서 제거된다.
+ * 7. 임대가 만료된 처리 중 요청은 스크립트로 재시도 큐에 되돌린다.
+ * 8. 버퍼에 모인 요청은 ZADD 한 번으로 등록한다.
+ * 9. 일괄 등록이 실패하면 한 건씩 다시 등록한다.
+ * 10. 직렬화 형식을 json → binary로 바꾼 뒤에도, 이전 형식으로 저장되어 있던 요청을 꺼내서 ack하면 원본 바이트 그대로 제거된다.
+ */
+@ExtendWith(MockitoExtension.class)
+class SummaryRetryQueueTest {
+
+    @Mock
+    private RedisTemplate<String, SummaryRetryRequest> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, SummaryRetryRequest> zSetOperations;
+
+    @Mock
+    private ListOperations<String, SummaryRetryRequest> listOperations;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisZSetCommands zSetCommands;
+
+    @InjectMocks
+    private SummaryRetryQueue summaryRetryQueue;
+
+    private static final byte[] PROCESSING_KEY_BYTES = "summary-retry-processing".getBytes(StandardCharsets.UTF_8);
+
+    private final SummaryRetryRequestSerializer binarySerializer = new SummaryRetryRequestSerializer();
+
+    // 꺼내기 스크립트가 차례대로 주어진 원본 바이트 목록을 반환하도록 설정
+    private void givenClaimScriptReturns(List<byte[]> first, List<byte[]> second) {
+        given(redisTemplate.execute(eq(SummaryRetryQueue.CLAIM_WITH_LEASE_SCRIPT),
+                any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("summary-retry-zset", "summary-retry-processing")), anyString(), eq("100"), anyString()))
+                .willReturn(first)
+                .willReturn(second);
+    }
+
+    // RedisCallback이 목 커넥션으로 실행되도록 설정
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void givenConnection() {
+        given(redisTemplate.execute(any(RedisCallback.class)))
+                .willAnswer(invocation -> invocation.getArgument(0, RedisCallback.class).doInRedis(connection));
+        given(connection.zSetCommands()).willReturn(zSetCommands);
+    }
+
+    @Test
+    @DisplayName("실패한 요청을 재시도 횟수 0으로 Redis 큐에 등록한다")
+    void registersRetryRequest() {
+        // given
+        User user = new User("U123456", "jia");
+        LocalDate date = LocalDate.of(2025, 5, 2);
+        SummaryRetryRequest expectedRequest = new SummaryRetryRequest(
+                user.getSlackUserId(),
+                user.getSlackUsername(),
+                SummaryType.DAILY.name(),
+                date.toString(),
+                0
+        );
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        long before = System.currentTimeMillis();
+
+        // when
+        summaryRetryQueue.register(user, date, SummaryType.DAILY);
+
+        // then - 기본 base-delay 1분, 지터로 30초 ~ 1분 뒤
+        long after = System.currentTimeMillis();
+        verify(zSetOperations).add(eq("summary-retry-zset"), refEq(expectedRequest),
+                doubleThat(score -> score >= before + 30_000 && score <= after + 60_000));
+    }
+
+    @Test
+    @DisplayName("재시도 횟수에 따라 대기 시간이 지수적으로 늘어나고 상한을 넘지 않는다")
+    void backoffGrowsExponentiallyWithCap() {
+        for (int i = 0; i < 20; i++) {
+            // when
+            Duration third = summaryRetryQueue.backoff(3);
+            Duration huge = summaryRetryQueue.backoff(100);
+
+            // then - 1분 * 2^3 = 8분의 절반 ~ 전체, 상한 1시간의 절반 ~ 전체
+            assertTrue(third.compareTo(Duration.ofMinutes(4)) >= 0 && third.compareTo(Duration.ofMinutes(8)) <= 0);
+            assertTrue(huge.compareTo(Duration.ofMinutes(30)) >= 0 && huge.compareTo(Duration.ofHours(1)) <= 0);
+        }
+    }
+
+    @Test
+    @DisplayName("재시도 시각이 된 요청을 처리 중 목록으로 옮기며 꺼낸다")
+    void claimsDueRequests() {
+        // given
+        SummaryRetryRequest request = new SummaryRetryRequest("U1", "jia", "DAILY", "2025-05-02", 1);
+        byte[] member = binarySerializer.serialize(request);
+        doReturn(binarySerializer).when(redisTemplate).getValueSerializer();
+        givenClaimScriptReturns(List.of(member), null);
+
+        // when
+        List<Claimed> claimed = summaryRetryQueue.claimDue(100);
+
+        // then
+        assertEquals(1, claimed.size());
+        assertEquals("U1", claimed.get(0).request().getSlackUserId());
+        assertEquals(1, claimed.get(0).request().getRetryCount());
+        assertSame(member, claimed.get(0).member());
+        assertTrue(summaryRetryQueue.claimDue(100).isEmpty());
+    }
+
+    @Test
+    @DisplayName("이전 리스트 큐의 요청을 ZSET으로 옮긴다")
+    void migratesLegacyListQueue() {
+        // given
+        SummaryRetryRequest first = new SummaryRetryRequest("U1", "jia", "DAILY", "2025-05-02", 0);
+        SummaryRetryRequest second = new SummaryRetryRequest("U2", "kim", "DAILY", "2025-05-02", 2);
+        given(redisTemplate.opsForList()).willReturn(listOperations);
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(listOperations.leftPop("summary-retry-queue")).willReturn(first, second, null);
+
+        // when
+        int moved = summaryRetryQueue.migrateLegacy(100);
+
+        // then
+        assertEquals(2, moved);
+        verify(zSetOperations).add(eq("summary-retry-zset"), same(first), anyDouble());
+        verify(zSetOperations).add(eq("summary-retry-zset"), same(second), anyDouble());
+    }
+
+    @Test
+    @DisplayName("처리가 끝난 요청을 처리 중 목록에서 제거한다")
+    void ackRemovesFromProcessing() {
+        // given
+        byte[] member = binarySerializer.serialize(new SummaryRetryRequest("U1", "jia", "DAILY", "2025-05-02", 1));
+        givenConnection();
+        given(zSetCommands.zRem(PROCESSING_KEY_BYTES, member)).willReturn(1L);
+
+        // when
+        summaryRetryQueue.ack(new Claimed(binarySerializer.deserialize(member), member));
+
+        // then
+        verify(zSetCommands).zRem(PROCESSING_KEY_BYTES, member);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 다음 재시도를 등록한 뒤 처리 중 목록에서 제거한다")
+    void retryLaterSchedulesBeforeAck() {
+        // given
+        byte[] member = binarySerializer.serialize(new SummaryRetryRequest("U1", "jia", "DAILY", "2025-05-02", 1));
+        SummaryRetryRequest next = new SummaryRetryRequest("U1", "jia", "DAILY", "2025-05-02", 2);
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        givenConnection();
+        given(zSetCommands.zRem(PROCESSING_KEY_BYTES, member)).willReturn(1L);
+
+        // when
+        summaryRetryQueue.retryLater(new Claimed(binarySerializer.deserialize(member), member), next);
+
+        // then - 등록이 먼저 일어나야 중간에 죽어도 요청을 잃지 않음
+        var inOrder = inOrder(zSetOperations, zSetCommands);
+        inOrder.verify(zSetOperations).add(eq("summary-retry-zset"), same(next), anyDouble());
+        inOrder.verify(zSetCommands).zRem(PROCESSING_KEY_BYTES, member);
+    }
+
+    @Test
+    @DisplayName("json으로 저장된 요청을 binary 설정에서 꺼내도 ack가 원본 바이트를 제거한다")
+    void ackRemovesMemberWrittenBeforeSerializerSwitch() {
+        // given - 이전(json) 설정에서 처리 중 목록으로 옮겨진 항목
+        SummaryRetryRequest request = new SummaryRetryRequest("U1", "jia", "DAILY", "2025-05-02", 1);
+        byte[] jsonMember = new GenericJackson2JsonRedisSerializer().serialize(request);
+        doReturn(binarySerializer).when(redisTemplate).getValueSerializer();
+        givenClaimScriptReturns(List.of(jsonMember), null);
+        givenConnection();
+        given(zSetCommands.zRem(PROCESSING_KEY_BYTES, jsonMember)).willReturn(1L);
+
+        // when
+        Claimed claimed = summaryRetryQueue.claimDue(100).get(0);
+        summaryRetryQueue.ack(claimed);
+
+        // then - binary로 다시 직렬화한 바이트가 아니라 저장되어 있던 json 바이트로 제거함
+        assertEquals("U1", claimed.request().getSlackUserId());
+        verify(zSetCommands).zRem(PROCESSING_KEY_BYTES, jsonMember);
+        assertFalse(Arrays.equals(jsonMember, binarySerializer.serialize(claimed.request())));
+    }
+
+    @Test
+    @DisplayName("임대가 만료된 요청을 재시도 큐로 되돌린다")
+    void reclaimsExpiredLeases() {
+        // given
+        given(redisTemplate.execute(eq(SummaryRetryQueue.RECLAIM_EXPIRED_SCRIPT),
+                any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("summary-retry-processing", "summary-retry-zset")), anyString(), eq("100")))
+                .willReturn(3L);
+
+        // when
+        long reclaimed = summaryRetryQueue.reclaimExpired(100);
+
+        // then
+        assertEquals(3, reclaimed);
+    }
+
+    @Test
+    @DisplayName("버퍼에 모인 요청을 ZADD 한 번으로 등록한다")
+    void flushAddsBatchInSingleCall() {
+        // given
+        List<TypedTuple<SummaryRetryRequest>> batch = List.of(
+                new DefaultTypedTuple<>(new SummaryRetryRequest("U1", "jia", "DAILY", "2025-05-02", 0), 1000.0),
+                new DefaultTypedTuple<>(new SummaryRetryRequest("U2", "kim", "DAILY", "2025-05-02", 0), 2000.0));
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+
+        // when
+        summaryRetryQueue.flush(batch);
+
+        // then
+        verify(zSetOperations).add("summary-retry-zset", Set.copyOf(batch));
+        verifyNoMoreInteractions(zSetOperations);
+    }
+
+    @Test
+    @DisplayName("일괄 등록이 실패하면 한 건씩 다시 등록한다")
+    void flushFallsBackToSingleAdds() {
+        // given
+        SummaryRetryRequest first = new SummaryRetryRequest("U1", "jia", "DAILY", "2025-05-02", 0);
+        SummaryRetryRequest second = new SummaryRetryRequest("U2", "kim", "DAILY", "2025-05-02", 0);
+        List<TypedTuple<SummaryRetryRequest>> batch = List.of(
+                new DefaultTypedTuple<>(first, 1000.0), new DefaultTypedTuple<>(second, 2000.0));
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.add(eq("summary-retry-zset"), anySet()))
+                .willThrow(new RedisConnectionFailureException("down"));
+
+        // when
+        summaryRetryQueue.flush(batch);
+
+        // then
+        verify(zSetOperations).add("summary-retry-zset", first, 1000.0);
+        verify(zSetOperations).add("summary-retry-zset", second, 2000.0);
+    }
+}
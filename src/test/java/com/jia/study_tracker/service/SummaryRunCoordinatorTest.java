@@ -0,0 +1,178 @@
+package com.jia.study_tracker.service;
+
+import com.jia.study_tracker.domain.SummaryType;
+import com.jia.study_tracker.repository.UserRepository;
+import com.jia.study_tracker.service.dto.UserRange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * SummaryRunCoordinator 테스트
+ *
+ * 목표:
+ * - 인스턴스가 여러 개일 때 정기 요약이 사용자마다 한 번만 실행되도록 조정되는지 확인한다.
+ *
+ * 테스트 시나리오:
+ * 1. single 모드에서는 Redis 없이 바로 전체 실행한다.
+ * 2. leader 모드에서 잠금을 얻으면 실행 후 완료 표시를 남기고 잠금을 해제한다.
+ * 3. leader 모드에서 다른 인스턴스가 잠금을 잡고 있으면 실행하지 않는다.
+ * 4. leader 모드에서 이미 완료된 실행은 다시 실행하지 않는다.
+ * 5. sharded 모드에서는 커서를 옮기며 가져간 구간만 처리하고, 사용자가 더 없으면 완료 표시를 남긴다.
+ * 6. sharded 모드에서 다른 인스턴스가 먼저 커서를 옮기면 다음 구간을 다시 가져간다.
+ * 7. leader 모드에서 완료 확인 후 잠금을 얻기 전에 다른 인스턴스가 실행을 끝냈으면, 잠금을 얻어도 실행하지 않고 잠금을 해제한다.
+ */
+@ExtendWith(MockitoExtension.class)
+class SummaryRunCoordinatorTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 5, 2);
+    private static final String CURSOR_KEY = "summary-run:DAILY:2025-05-02:cursor";
+
+    @Mock
+    private SummaryGenerationService summaryGenerationService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DistributedLock distributedLock;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private SummaryRunCoordinator coordinator;
+
+    @Test
+    void run_singleMode_runsDirectly() {
+        // When
+        coordinator.run(DATE, SummaryType.DAILY);
+
+        // Then
+        verify(summaryGenerationService).generateSummaries(DATE, SummaryType.DAILY);
+        verifyNoInteractions(distributedLock, stringRedisTemplate);
+    }
+
+    @Test
+    void run_leaderMode_runsOnceAndMarksDone() {
+        // Given
+        ReflectionTestUtils.setField(coordinator, "mode", "leader");
+        given(stringRedisTemplate.hasKey("summary-run:DAILY:2025-05-02:done")).willReturn(false);
+        given(distributedLock.tryLock(eq("summary-run:DAILY:2025-05-02"), any(Duration.class))).willReturn("token");
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+
+        // When
+        coordinator.run(DATE, SummaryType.DAILY);
+
+        // Then
+        verify(summaryGenerationService).generateSummaries(DATE, SummaryType.DAILY);
+        verify(valueOperations).set("summary-run:DAILY:2025-05-02:done", "1", Duration.ofDays(2));
+        verify(distributedLock).unlock("summary-run:DAILY:2025-05-02", "token");
+    }
+
+    @Test
+    void runExclusively_lockHeldByOther_skips() {
+        // Given
+        ReflectionTestUtils.setField(coordinator, "mode", "leader");
+        given(stringRedisTemplate.hasKey("summary-run:batch-job:WEEKLY:2025-05-02:done")).willReturn(false);
+        given(distributedLock.tryLock(eq("summary-run:batch-job:WEEKLY:2025-05-02"), any(Duration.class))).willReturn(null);
+        Runnable task = () -> { throw new AssertionError("실행되면 안 됨"); };
+
+        // When & Then
+        assertFalse(coordinator.runExclusively("batch-job:WEEKLY:2025-05-02", task));
+        verify(distributedLock, never()).unlock(anyString(), anyString());
+    }
+
+    @Test
+    void run_leaderMode_alreadyDone_skips() {
+        // Given
+        ReflectionTestUtils.setField(coordinator, "mode", "leader");
+        given(stringRedisTemplate.hasKey("summary-run:DAILY:2025-05-02:done")).willReturn(true);
+
+        // When
+        coordinator.run(DATE, SummaryType.DAILY);
+
+        // Then
+        verifyNoInteractions(summaryGenerationService, distributedLock);
+    }
+
+    @Test
+    void run_leaderMode_doneWhileAcquiringLock_skipsAndUnlocks() {
+        // Given: 처음 확인할 때는 미완료였지만, 잠금을 얻은 시점에는 다른 인스턴스가 완료 표시를 남긴 상태
+        ReflectionTestUtils.setField(coordinator, "mode", "leader");
+        given(stringRedisTemplate.hasKey("summary-run:DAILY:2025-05-02:done")).willReturn(false, true);
+        given(distributedLock.tryLock(eq("summary-run:DAILY:2025-05-02"), any(Duration.class))).willReturn("token");
+
+        // When
+        coordinator.run(DATE, SummaryType.DAILY);
+
+        // Then
+        verifyNoInteractions(summaryGenerationService);
+        verify(distributedLock).unlock("summary-run:DAILY:2025-05-02", "token");
+    }
+
+    @Test
+    void run_shardedMode_processesClaimedRangesUntilDone() {
+        // Given
+        ReflectionTestUtils.setField(coordinator, "mode", "sharded");
+        ReflectionTestUtils.setField(coordinator, "partitionSize", 2);
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.get(CURSOR_KEY)).willReturn(null, "U2", "U3");
+        given(userRepository.findSlackUserIdsAfter(eq(""), any(Limit.class))).willReturn(List.of("U1", "U2"));
+        given(userRepository.findSlackUserIdsAfter(eq("U2"), any(Limit.class))).willReturn(List.of("U3"));
+        given(userRepository.findSlackUserIdsAfter(eq("U3"), any(Limit.class))).willReturn(List.of());
+        given(stringRedisTemplate.execute(eq(SummaryRunCoordinator.ADVANCE_CURSOR_SCRIPT), eq(List.of(CURSOR_KEY)),
+                anyString(), anyString(), anyString())).willReturn(1L);
+
+        // When
+        coordinator.run(DATE, SummaryType.DAILY);
+
+        // Then
+        verify(summaryGenerationService).generateSummaries(DATE, SummaryType.DAILY, new UserRange("", "U2"));
+        verify(summaryGenerationService).generateSummaries(DATE, SummaryType.DAILY, new UserRange("U2", "U3"));
+        verify(stringRedisTemplate).execute(eq(SummaryRunCoordinator.ADVANCE_CURSOR_SCRIPT), eq(List.of(CURSOR_KEY)),
+                eq("U3"), eq("#done"), anyString());
+        verify(summaryGenerationService, never()).generateSummaries(DATE, SummaryType.DAILY);
+    }
+
+    @Test
+    void claimNextRange_cursorMovedByOther_retriesFromNewCursor() {
+        // Given
+        ReflectionTestUtils.setField(coordinator, "partitionSize", 2);
+        given(stringRedisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.get(CURSOR_KEY)).willReturn(null, "U2");
+        given(userRepository.findSlackUserIdsAfter(eq(""), any(Limit.class))).willReturn(List.of("U1", "U2"));
+        given(userRepository.findSlackUserIdsAfter(eq("U2"), any(Limit.class))).willReturn(List.of("U3", "U4"));
+        // 첫 구간은 다른 인스턴스가 먼저 가져감
+        given(stringRedisTemplate.execute(eq(SummaryRunCoordinator.ADVANCE_CURSOR_SCRIPT), eq(List.of(CURSOR_KEY)),
+                eq(""), eq("U2"), anyString())).willReturn(0L);
+        given(stringRedisTemplate.execute(eq(SummaryRunCoordinator.ADVANCE_CURSOR_SCRIPT), eq(List.of(CURSOR_KEY)),
+                eq("U2"), eq("U4"), anyString())).willReturn(1L);
+
+        // When & Then
+        assertTrue(coordinator.claimNextRange(CURSOR_KEY).filter(new UserRange("U2", "U4")::equals).isPresent());
+    }
+}
@@ -2,14 +2,16 @@ package com.jia.study_tracker.service;
 
 import com.jia.study_tracker.domain.User;
 import com.jia.study_tracker.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
-
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +26,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * 테스트 시나리오:
  * 1. 사용자가 DB에 존재하는 경우, 해당 사용자를 반환해야 한다.
  * 2. 사용자가 DB에 존재하지 않는 경우, 새로운 사용자를 생성하여 반환해야 한다.
+ * 3. 한 번 확인된 사용자는 캐시에서 반환되어 DB를 다시 조회하지 않아야 한다.
+ * 4. 동시 생성으로 저장이 충돌하면 다시 조회한 사용자를 반환하고 캐시에 넣어야 한다.
  *
  * 주의사항:
  * - 동시성 테스트는 별도의 추가 테스트 케이스로 다룰 수 있으며,
@@ -35,9 +39,15 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private UserService userService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userService = new UserService(userRepository, meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
     // 기존 유저가 존재하는 경우, 해당 유저를 반환하는지 테스트
     @Test
     void findOrCreateUser_existingUser_returnsUser() {
@@ -76,4 +86,44 @@ public class UserServiceTest {
         assertEquals(slackUsername, user.getSlackUsername());
     }
 
+    // 두 번째 호출부터는 DB 조회 없이 캐시에서 반환하는지 테스트
+    @Test
+    void findOrCreateUser_secondCall_servedFromCache() {
+        // Given
+        String slackUserId = "user123";
+        User existingUser = new User(slackUserId, "testUser");
+        Mockito.when(userRepository.findById(slackUserId)).thenReturn(Optional.of(existingUser));
+
+        // When
+        userService.findOrCreateUser(slackUserId, "unknown");
+        User cached = userService.findOrCreateUser(slackUserId, "unknown");
+
+        // Then
+        assertSame(existingUser, cached);
+        Mockito.verify(userRepository, Mockito.times(1)).findById(slackUserId);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    // 동시 생성 충돌 시 재조회한 사용자를 반환하고 이후에는 캐시를 사용하는지 테스트
+    @Test
+    void findOrCreateUser_concurrentCreate_returnsExistingAndCaches() {
+        // Given
+        String slackUserId = "user123";
+        User createdByOther = new User(slackUserId, "other");
+        Mockito.when(userRepository.findById(slackUserId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(createdByOther));
+        Mockito.when(userRepository.save(Mockito.any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        User user = userService.findOrCreateUser(slackUserId, "newUser");
+        User again = userService.findOrCreateUser(slackUserId, "newUser");
+
+        // Then
+        assertSame(createdByOther, user);
+        assertSame(createdByOther, again);
+        Mockito.verify(userRepository, Mockito.times(2)).findById(slackUserId);
+    }
 }
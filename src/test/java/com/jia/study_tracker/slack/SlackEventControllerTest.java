@@ -9,6 +9,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -20,6 +22,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * 테스트 시나리오:
  * 1. 유효한 슬랙 요청이 들어오면 200 OK 응답을 반환한다.
  * 2. 유효하지 않은 슬랙 요청이 들어오면 401 Unauthorized 응답을 반환한다.
+ * 3. 비동기 수집 모드에서는 이벤트를 큐에 넣고 즉시 200 OK 응답을 반환한다.
+ * 4. 재전송된 중복 이벤트는 처리하지 않고 200 OK 응답을 반환한다.
+ * 5. 동기 처리 모드에서 첫 시도가 실패하면 중복 선점을 해제해서, 슬랙의 재전송이 다시 처리된다.
  */
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(SlackEventController.class)
@@ -34,6 +39,12 @@ public class SlackEventControllerTest {
     @MockBean
     private SlackRequestVerifier slackRequestVerifier;
 
+    @MockBean
+    private SlackEventQueue slackEventQueue;
+
+    @MockBean
+    private SlackEventDeduplicator slackEventDeduplicator;
+
     // 유효한 슬랙 요청이 들어오면 200 OK 응답을 반환하는지 테스트
     @Test
     void receiveEvent_validRequest_returnsOk() throws Exception {
@@ -42,7 +53,8 @@ public class SlackEventControllerTest {
         String timestamp = "validTimestamp";
         String body = "{}";
 
-        Mockito.when(slackRequestVerifier.isValid(signature, timestamp, body)).thenReturn(true);
+        Mockito.when(slackRequestVerifier.isValid(
+                Mockito.eq(signature), Mockito.eq(timestamp), Mockito.aryEq(body.getBytes(StandardCharsets.UTF_8)))).thenReturn(true);
 
         // When & Then
         mockMvc.perform(post("/slack/events")
@@ -60,7 +72,8 @@ public class SlackEventControllerTest {
         String timestamp = "invalidTimestamp";
         String body = "{}";
 
-        Mockito.when(slackRequestVerifier.isValid(signature, timestamp, body)).thenReturn(false);
+        Mockito.when(slackRequestVerifier.isValid(
+                Mockito.eq(signature), Mockito.eq(timestamp), Mockito.aryEq(body.getBytes(StandardCharsets.UTF_8)))).thenReturn(false);
 
         // When & Then
         mockMvc.perform(post("/slack/events")
@@ -69,4 +82,85 @@ public class SlackEventControllerTest {
                         .content(body))
                 .andExpect(status().isUnauthorized());
     }
+
+    // 비동기 수집 모드에서는 서비스 호출 없이 큐에 넣고 바로 200 OK를 반환하는지 테스트
+    @Test
+    void receiveEvent_asyncMode_enqueuesAndReturnsOk() throws Exception {
+        // Given
+        String signature = "validSignature";
+        String timestamp = "validTimestamp";
+        String body = "{\"type\":\"event_callback\",\"event\":{\"type\":\"message\",\"user\":\"U1\",\"text\":\"공부\"}}";
+
+        Mockito.when(slackRequestVerifier.isValid(
+                Mockito.eq(signature), Mockito.eq(timestamp), Mockito.aryEq(body.getBytes(StandardCharsets.UTF_8)))).thenReturn(true);
+        Mockito.when(slackEventQueue.isAsync()).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(post("/slack/events")
+                        .header("X-Slack-Signature", signature)
+                        .header("X-Slack-Request-Timestamp", timestamp)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        Mockito.verify(slackEventQueue).submit(Mockito.any(SlackEventPayload.class));
+        Mockito.verify(slackEventService, Mockito.never()).handleEvent(Mockito.any());
+    }
+
+    // 재전송된 이벤트는 큐/서비스 어느 쪽으로도 넘기지 않고 200 OK를 반환하는지 테스트
+    @Test
+    void receiveEvent_duplicateEvent_acksWithoutProcessing() throws Exception {
+        // Given
+        String signature = "validSignature";
+        String timestamp = "validTimestamp";
+        String body = "{\"type\":\"event_callback\",\"event_id\":\"Ev123\",\"event\":{\"type\":\"message\",\"user\":\"U1\",\"text\":\"공부\"}}";
+
+        Mockito.when(slackRequestVerifier.isValid(
+                Mockito.eq(signature), Mockito.eq(timestamp), Mockito.aryEq(body.getBytes(StandardCharsets.UTF_8)))).thenReturn(true);
+        Mockito.when(slackEventDeduplicator.isDuplicate(Mockito.any(SlackEventPayload.class))).thenReturn(true);
+
+        // When & Then
+        mockMvc.perform(post("/slack/events")
+                        .header("X-Slack-Signature", signature)
+                        .header("X-Slack-Request-Timestamp", timestamp)
+                        .header("X-Slack-Retry-Num", "1")
+                        .content(body))
+                .andExpect(status().isOk());
+
+        Mockito.verify(slackEventQueue, Mockito.never()).submit(Mockito.any());
+        Mockito.verify(slackEventService, Mockito.never()).handleEvent(Mockito.any());
+    }
+
+    // 첫 시도가 실패하면 선점을 풀고, 재전송된 같은 이벤트는 다시 처리하는지 테스트
+    @Test
+    void receiveEvent_syncModeFirstAttemptFails_retryIsProcessed() throws Exception {
+        // Given
+        String signature = "validSignature";
+        String timestamp = "validTimestamp";
+        String body = "{\"type\":\"event_callback\",\"event_id\":\"Ev123\",\"event\":{\"type\":\"message\",\"user\":\"U1\",\"text\":\"공부\"}}";
+
+        Mockito.when(slackRequestVerifier.isValid(
+                Mockito.eq(signature), Mockito.eq(timestamp), Mockito.aryEq(body.getBytes(StandardCharsets.UTF_8)))).thenReturn(true);
+        Mockito.when(slackEventQueue.isAsync()).thenReturn(false);
+        Mockito.when(slackEventDeduplicator.isDuplicate(Mockito.any(SlackEventPayload.class))).thenReturn(false);
+        Mockito.when(slackEventService.handleEvent(Mockito.any(SlackEventPayload.class)))
+                .thenThrow(new IllegalStateException("DB 오류"))
+                .thenReturn("ok");
+
+        // When & Then: 첫 시도는 실패 응답을 받고 선점이 해제됨
+        mockMvc.perform(post("/slack/events")
+                        .header("X-Slack-Signature", signature)
+                        .header("X-Slack-Request-Timestamp", timestamp)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+        Mockito.verify(slackEventDeduplicator).release(Mockito.argThat(p -> "Ev123".equals(p.getEvent_id())));
+
+        // When & Then: 재전송은 중복으로 걸러지지 않고 처리됨
+        mockMvc.perform(post("/slack/events")
+                        .header("X-Slack-Signature", signature)
+                        .header("X-Slack-Request-Timestamp", timestamp)
+                        .header("X-Slack-Retry-Num", "1")
+                        .content(body))
+                .andExpect(status().isOk());
+        Mockito.verify(slackEventService, Mockito.times(2)).handleEvent(Mockito.any(SlackEventPayload.class));
+    }
 }
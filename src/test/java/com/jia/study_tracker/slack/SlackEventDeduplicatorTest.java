@@ -0,0 +1,119 @@
+package com.jia.study_tracker.slack;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SlackEventDeduplicator 테스트
+ *
+ * 목표:
+ * - 슬랙이 재전송한 이벤트가 한 번만 처리되도록 걸러지는지 확인한다.
+ *
+ * 테스트 시나리오:
+ * 1. 같은 event_id가 두 번 들어오면 두 번째는 중복으로 판단한다.
+ * 2. event_id가 없으면 client_msg_id로 중복을 판단한다.
+ * 3. 다른 인스턴스가 Redis에 먼저 선점한 이벤트는 중복으로 판단한다.
+ * 4. Redis 장애 시에는 이벤트를 버리지 않는다.
+ * 5. 처리에 실패해 선점을 해제한 이벤트는 재전송 시 새 이벤트로 판단한다.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SlackEventDeduplicatorTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 같은 event_id가 재전송되면 두 번째 요청을 중복으로 판단하는지 검증
+    @Test
+    void isDuplicate_sameEventId_secondIsDuplicate() {
+        // Given
+        SlackEventDeduplicator deduplicator = deduplicator(false);
+
+        // When & Then
+        assertFalse(deduplicator.isDuplicate(payload("Ev1", null)));
+        assertTrue(deduplicator.isDuplicate(payload("Ev1", null)));
+        assertFalse(deduplicator.isDuplicate(payload("Ev2", null)));
+        assertEquals(1.0, meterRegistry.get("slack.ingestion.duplicates").counter().count());
+    }
+
+    // event_id가 없을 때 client_msg_id로 중복을 판단하는지 검증
+    @Test
+    void isDuplicate_withoutEventId_usesClientMsgId() {
+        // Given
+        SlackEventDeduplicator deduplicator = deduplicator(false);
+
+        // When & Then
+        assertFalse(deduplicator.isDuplicate(payload(null, "msg-1")));
+        assertTrue(deduplicator.isDuplicate(payload(null, "msg-1")));
+        assertFalse(deduplicator.isDuplicate(payload(null, null)));
+        assertFalse(deduplicator.isDuplicate(payload(null, null)));
+    }
+
+    // 다른 인스턴스가 Redis에 먼저 기록한 이벤트는 중복으로 판단하는지 검증
+    @Test
+    void isDuplicate_claimedByOtherInstance_isDuplicate() {
+        // Given
+        SlackEventDeduplicator deduplicator = deduplicator(true);
+        Mockito.when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        Mockito.when(valueOperations.setIfAbsent("slack:event:Ev1", "1", Duration.ofMinutes(10))).thenReturn(false);
+
+        // When & Then
+        assertTrue(deduplicator.isDuplicate(payload("Ev1", null)));
+    }
+
+    // Redis 장애 시 새 이벤트로 처리하는지 검증 (fail-open)
+    @Test
+    void isDuplicate_redisDown_treatsAsNewEvent() {
+        // Given
+        SlackEventDeduplicator deduplicator = deduplicator(true);
+        Mockito.when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        Mockito.when(valueOperations.setIfAbsent("slack:event:Ev1", "1", Duration.ofMinutes(10)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // When & Then
+        assertFalse(deduplicator.isDuplicate(payload("Ev1", null)));
+    }
+
+    // 선점 해제 후 같은 이벤트가 다시 들어오면 새 이벤트로 판단하는지 검증
+    @Test
+    void release_afterFailure_retryIsNotDuplicate() {
+        // Given
+        SlackEventDeduplicator deduplicator = deduplicator(true);
+        Mockito.when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        Mockito.when(valueOperations.setIfAbsent("slack:event:Ev1", "1", Duration.ofMinutes(10))).thenReturn(true);
+        assertFalse(deduplicator.isDuplicate(payload("Ev1", null)));
+
+        // When
+        deduplicator.release(payload("Ev1", null));
+
+        // Then
+        Mockito.verify(stringRedisTemplate).delete("slack:event:Ev1");
+        assertFalse(deduplicator.isDuplicate(payload("Ev1", null)));
+    }
+
+    private SlackEventDeduplicator deduplicator(boolean redisEnabled) {
+        return new SlackEventDeduplicator(stringRedisTemplate, meterRegistry, 100, Duration.ofMinutes(10), redisEnabled);
+    }
+
+    private SlackEventPayload payload(String eventId, String clientMsgId) {
+        SlackEventPayload.Event event = new SlackEventPayload.Event("message", "user123", "공부", null, "1700000000.000100", clientMsgId);
+        return new SlackEventPayload(SlackEventType.EVENT_CALLBACK, null, event, eventId);
+    }
+}
@@ -0,0 +1,189 @@
+package com.jia.study_tracker.slack;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * SlackEventQueue 테스트
+ *
+ * 목표:
+ * - 큐에 넣은 이벤트가 워커 스레드에서 처리되는지 확인한다.
+ *
+ * 테스트 시나리오:
+ * 1. 비동기 모드에서 submit된 이벤트는 워커 스레드가 SlackEventService로 처리한다.
+ * 2. 큐가 가득 차고 spill-over가 꺼져 있으면 요청 스레드에서 직접 처리한다.
+ * 3. spill-over 리스트가 한 번 비어 있었어도 주기적으로 다시 확인해서, 나중에 들어온 이벤트를 처리한다.
+ * 4. 처리에 실패하면 중복 제거 선점을 풀고 다시 큐에 넣어 재처리한다.
+ * 5. max-attempts만큼 실패하면 parking 리스트로 옮긴다.
+ * 6. 역직렬화할 수 없는 spill-over 항목은 버리지 않고 parking 리스트로 옮긴다.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SlackEventQueueTest {
+
+    @Mock
+    private SlackEventService slackEventService;
+
+    @Mock
+    private SlackEventDeduplicator slackEventDeduplicator;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ListOperations<String, String> listOperations;
+
+    // 운영과 같이 생성자 파라미터 이름으로 SlackEventPayload를 역직렬화할 수 있도록 모듈 등록
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private SimpleMeterRegistry meterRegistry;
+    private SlackEventQueue slackEventQueue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        slackEventQueue = new SlackEventQueue(slackEventService, slackEventDeduplicator, stringRedisTemplate, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(slackEventQueue, "workerCount", 1);
+        ReflectionTestUtils.setField(slackEventQueue, "spillOverEnabled", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slackEventQueue.stop();
+    }
+
+    // 비동기 모드에서 워커 스레드가 이벤트를 처리하는지 검증
+    @Test
+    void submit_asyncMode_processedByWorker() {
+        // Given
+        ReflectionTestUtils.setField(slackEventQueue, "async", true);
+        ReflectionTestUtils.setField(slackEventQueue, "queueCapacity", 10);
+        slackEventQueue.start();
+        SlackEventPayload payload = messagePayload();
+
+        // When
+        slackEventQueue.submit(payload);
+
+        // Then
+        Mockito.verify(slackEventService, Mockito.timeout(2000)).handleEvent(payload);
+        assertEquals(1, meterRegistry.get("slack.ingestion.lag").timer().count());
+    }
+
+    // 큐가 가득 차면 요청 스레드에서 직접 처리하는지 검증
+    @Test
+    void submit_queueFull_processesOnCallerThread() {
+        // Given: 워커가 없는 상태에서 용량 1짜리 큐
+        ReflectionTestUtils.setField(slackEventQueue, "async", false);
+        ReflectionTestUtils.setField(slackEventQueue, "queueCapacity", 1);
+        slackEventQueue.start();
+        SlackEventPayload first = messagePayload();
+        SlackEventPayload second = messagePayload();
+
+        // When
+        slackEventQueue.submit(first);
+        slackEventQueue.submit(second);
+
+        // Then
+        Mockito.verify(slackEventService).handleEvent(second);
+        Mockito.verify(slackEventService, Mockito.never()).handleEvent(first);
+        assertEquals(1.0, meterRegistry.get("slack.ingestion.queue.depth").gauge().value());
+    }
+
+    // 다른 인스턴스가 나중에 넣은 spill-over 이벤트도 처리하는지 검증
+    @Test
+    void drain_spillOverEmptyThenFilled_pollsAgainWithBackoff() throws Exception {
+        // Given: 처음 확인할 때는 비어 있고, 그 뒤에 다른 인스턴스가 이벤트를 넣음
+        ReflectionTestUtils.setField(slackEventQueue, "async", true);
+        ReflectionTestUtils.setField(slackEventQueue, "queueCapacity", 10);
+        ReflectionTestUtils.setField(slackEventQueue, "spillOverEnabled", true);
+        SlackEventPayload payload = messagePayload();
+        String json = objectMapper.writeValueAsString(new SlackEventQueue.QueuedSlackEvent(payload, System.currentTimeMillis(), 0));
+        given(stringRedisTemplate.opsForList()).willReturn(listOperations);
+        given(listOperations.leftPop("slack-event-spillover")).willReturn(null, json, null);
+
+        // When
+        slackEventQueue.start();
+
+        // Then
+        Mockito.verify(slackEventService, Mockito.timeout(3000)).handleEvent(any(SlackEventPayload.class));
+    }
+
+    // 처리에 실패한 이벤트를 선점 해제 후 다시 처리하는지 검증
+    @Test
+    void process_failure_releasesClaimAndRetries() {
+        // Given: 첫 시도만 실패
+        ReflectionTestUtils.setField(slackEventQueue, "async", true);
+        ReflectionTestUtils.setField(slackEventQueue, "queueCapacity", 10);
+        SlackEventPayload payload = messagePayload();
+        Mockito.doThrow(new IllegalStateException("DB 오류"))
+                .doNothing()
+                .when(slackEventService).handleEvent(payload);
+        slackEventQueue.start();
+
+        // When
+        slackEventQueue.submit(payload);
+
+        // Then
+        Mockito.verify(slackEventService, Mockito.timeout(2000).times(2)).handleEvent(payload);
+        Mockito.verify(slackEventDeduplicator).release(payload);
+        Mockito.verify(stringRedisTemplate, Mockito.never()).opsForList();
+    }
+
+    // 시도 횟수를 다 쓰면 parking 리스트로 옮기는지 검증
+    @Test
+    void process_failsUntilMaxAttempts_parksEvent() {
+        // Given: 항상 실패하고 최대 2회까지만 시도
+        ReflectionTestUtils.setField(slackEventQueue, "async", true);
+        ReflectionTestUtils.setField(slackEventQueue, "queueCapacity", 10);
+        ReflectionTestUtils.setField(slackEventQueue, "maxAttempts", 2);
+        SlackEventPayload payload = messagePayload();
+        Mockito.doThrow(new IllegalStateException("DB 오류")).when(slackEventService).handleEvent(payload);
+        given(stringRedisTemplate.opsForList()).willReturn(listOperations);
+        slackEventQueue.start();
+
+        // When
+        slackEventQueue.submit(payload);
+
+        // Then
+        Mockito.verify(listOperations, Mockito.timeout(2000))
+                .rightPush(eq("slack-event-spillover:parked"), anyString());
+        Mockito.verify(slackEventService, Mockito.times(2)).handleEvent(payload);
+    }
+
+    // 역직렬화할 수 없는 spill-over 항목을 parking 리스트로 옮기는지 검증
+    @Test
+    void drain_malformedSpillOverEntry_parksRawEntry() {
+        // Given
+        ReflectionTestUtils.setField(slackEventQueue, "async", true);
+        ReflectionTestUtils.setField(slackEventQueue, "queueCapacity", 10);
+        ReflectionTestUtils.setField(slackEventQueue, "spillOverEnabled", true);
+        given(stringRedisTemplate.opsForList()).willReturn(listOperations);
+        given(listOperations.leftPop("slack-event-spillover")).willReturn("{not-json", (String) null);
+
+        // When
+        slackEventQueue.start();
+
+        // Then
+        Mockito.verify(listOperations, Mockito.timeout(2000)).rightPush("slack-event-spillover:parked", "{not-json");
+        Mockito.verify(slackEventService, Mockito.never()).handleEvent(any(SlackEventPayload.class));
+    }
+
+    private SlackEventPayload messagePayload() {
+        SlackEventPayload.Event event = new SlackEventPayload.Event("message", "user123", "스프링을 공부했다", null, null, null);
+        return new SlackEventPayload(SlackEventType.EVENT_CALLBACK, null, event, null);
+    }
+}
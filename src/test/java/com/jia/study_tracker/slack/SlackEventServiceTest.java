@@ -3,7 +3,7 @@ package com.jia.study_tracker.slack;
 import com.jia.study_tracker.domain.StudyLog;
 import com.jia.study_tracker.domain.User;
 import com.jia.study_tracker.filter.StudyMessageFilter;
-import com.jia.study_tracker.repository.StudyLogRepository;
+import com.jia.study_tracker.service.StudyLogBatchWriter;
 import com.jia.study_tracker.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,7 +31,7 @@ public class SlackEventServiceTest {
     private UserService userService;
 
     @Mock
-    private StudyLogRepository studyLogRepository;
+    private StudyLogBatchWriter studyLogBatchWriter;
 
     @Mock
     private StudyMessageFilter studyMessageFilter;
@@ -45,8 +45,8 @@ public class SlackEventServiceTest {
         // Given
         String slackUserId = "user123";
         String message = "스프링을 공부했다";
-        SlackEventPayload.Event event = new SlackEventPayload.Event("message", slackUserId, message, null);
-        SlackEventPayload payload = new SlackEventPayload(SlackEventType.EVENT_CALLBACK, null, event);
+        SlackEventPayload.Event event = new SlackEventPayload.Event("message", slackUserId, message, null, null, null);
+        SlackEventPayload payload = new SlackEventPayload(SlackEventType.EVENT_CALLBACK, null, event, null);
 
         User user = new User(slackUserId, "testUser");
         Mockito.when(userService.findOrCreateUser(slackUserId, "unknown")).thenReturn(user);
@@ -56,7 +56,7 @@ public class SlackEventServiceTest {
         String response = slackEventService.handleEvent(payload);
 
         // Then
-        Mockito.verify(studyLogRepository).save(Mockito.any(StudyLog.class));
+        Mockito.verify(studyLogBatchWriter).write(Mockito.any(StudyLog.class));
         assertEquals("ok", response);
     }
 
@@ -64,7 +64,7 @@ public class SlackEventServiceTest {
     @Test
     void handleEvent_urlVerification_returnsChallenge() {
         // Given
-        SlackEventPayload payload = new SlackEventPayload(SlackEventType.URL_VERIFICATION, "testChallenge", null);
+        SlackEventPayload payload = new SlackEventPayload(SlackEventType.URL_VERIFICATION, "testChallenge", null, null);
 
         // When
         String response = slackEventService.handleEvent(payload);
@@ -0,0 +1,105 @@
+package com.jia.study_tracker.slack;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SlackReplayCache 테스트
+ *
+ * 목표:
+ * - 재전송된 요청이 구간(bucket) 안에서는 거부되고, 구간이 지나면 만료되는지 확인한다.
+ *
+ * 테스트 시나리오:
+ * 1. 기록된 (timestamp, signature)는 replay로 판단한다.
+ * 2. 같은 슬롯이 새 구간으로 재사용되면 이전 구간의 기록은 사라진다.
+ * 3. 다른 인스턴스가 Redis에 먼저 기록한 요청은 replay로 판단한다.
+ * 4. 서명 표기만 대문자로 바꾼 요청도 replay로 판단하고, Redis 키는 소문자 서명으로 만든다.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SlackReplayCacheTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    // 기록된 요청은 replay로 판단하는지 검증
+    @Test
+    void markSeen_thenIsReplay_returnsTrue() {
+        // Given
+        SlackReplayCache cache = cache(false);
+        long timestamp = 1_700_000_000L;
+
+        // When & Then
+        assertFalse(cache.isReplay(timestamp, "v0=abc"));
+        assertTrue(cache.markSeen(timestamp, "v0=abc"));
+        assertTrue(cache.isReplay(timestamp, "v0=abc"));
+        assertFalse(cache.markSeen(timestamp, "v0=abc"));
+        assertFalse(cache.isReplay(timestamp, "v0=def"));
+    }
+
+    // 슬롯이 새 구간으로 재사용되면 이전 기록이 만료되는지 검증
+    @Test
+    void slotReused_previousBucketExpires() {
+        // Given: window 1분, bucket 30초 -> 슬롯 6개 (180초마다 같은 슬롯 재사용)
+        SlackReplayCache cache = cache(false);
+        long timestamp = 1_700_000_010L;
+        long sameSlotLater = timestamp + 180;
+        cache.markSeen(timestamp, "v0=abc");
+
+        // When
+        cache.markSeen(sameSlotLater, "v0=new");
+
+        // Then
+        assertFalse(cache.isReplay(timestamp, "v0=abc"));
+        assertTrue(cache.isReplay(sameSlotLater, "v0=new"));
+    }
+
+    // 다른 인스턴스가 Redis에 먼저 기록한 요청은 replay로 판단하는지 검증
+    @Test
+    void markSeen_claimedByOtherInstance_returnsFalse() {
+        // Given
+        SlackReplayCache cache = cache(true);
+        Mockito.when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        Mockito.when(valueOperations.setIfAbsent("slack:replay:1700000000:v0=abc", "1", Duration.ofMinutes(2)))
+                .thenReturn(false);
+
+        // When & Then
+        assertFalse(cache.markSeen(1_700_000_000L, "v0=abc"));
+    }
+
+    // 대문자로 바꾼 서명도 같은 요청으로 판단하는지 검증
+    @Test
+    void uppercasedSignature_isReplayOfCanonical() {
+        // Given
+        SlackReplayCache cache = cache(true);
+        Mockito.when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        Mockito.when(valueOperations.setIfAbsent("slack:replay:1700000000:v0=abc", "1", Duration.ofMinutes(2)))
+                .thenReturn(true);
+        long timestamp = 1_700_000_000L;
+
+        // When
+        assertTrue(cache.markSeen(timestamp, "v0=abc"));
+
+        // Then
+        assertTrue(cache.isReplay(timestamp, "V0=ABC"));
+        assertFalse(cache.markSeen(timestamp, "v0=ABC"));
+    }
+
+    private SlackReplayCache cache(boolean redisEnabled) {
+        return new SlackReplayCache(stringRedisTemplate, new SimpleMeterRegistry(), true,
+                Duration.ofMinutes(1), Duration.ofSeconds(30), 1000, redisEnabled);
+    }
+}
@@ -1,5 +1,6 @@
 package com.jia.study_tracker.slack;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,6 +10,7 @@ import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HexFormat;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,6 +25,11 @@ import static org.junit.jupiter.api.Assertions.*;
  * - 유효한 서명이 전달되었을 때 검증이 성공해야 한다.
  * - 오래된 timestamp가 전달되면 실패해야 한다.
  * - 서명이 잘못된 경우 실패해야 한다.
+ * - 원본 본문 바이트(byte[])로도 같은 결과를 내야 한다.
+ * - 이미 검증을 통과한 요청이 다시 들어오면(replay) 실패해야 한다.
+ * - hex가 아닌 문자가 섞인 서명은 실패해야 한다.
+ * - 소문자가 아닌 hex(대문자) 서명은 실패해야 한다.
+ * - 검증을 통과한 요청을 서명만 대문자로 바꿔 다시 보내도 실패해야 한다.
  *
  * 참고:
  * - 서명 검증은 Signing Secret을 기반으로 HMAC-SHA256 방식으로 이루어진다.
@@ -38,7 +45,9 @@ public class SlackRequestVerifierTest {
 
     @BeforeEach
     void setUp() {
-        slackRequestVerifier = new SlackRequestVerifier();
+        SlackReplayCache replayCache = new SlackReplayCache(
+                null, new SimpleMeterRegistry(), true, Duration.ofMinutes(5), Duration.ofSeconds(30), 1000, false);
+        slackRequestVerifier = new SlackRequestVerifier(replayCache);
         slackRequestVerifier.setSigningSecret(DUMMY_SIGNING_SECRET);
         slackRequestVerifier.setVerifySignature(true);
     }
@@ -90,6 +99,86 @@ public class SlackRequestVerifierTest {
         assertFalse(isValid);
     }
 
+    // 원본 본문 바이트로 검증해도 같은 결과를 반환해야 한다.
+    @Test
+    void isValid_rawBodyBytes_returnsTrue() throws Exception {
+        // Given
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        String body = "{\"text\":\"오늘 강의 복습\"}";
+        String validSignature = "v0=" + calculateHmacSHA256("v0:" + timestamp + ":" + body, DUMMY_SIGNING_SECRET);
+        byte[] rawBody = body.getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        assertFalse(slackRequestVerifier.isValid(validSignature, timestamp, "tampered".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(slackRequestVerifier.isValid(validSignature, timestamp, rawBody));
+    }
+
+    // 검증을 통과한 요청을 그대로 다시 보내면 false를 반환해야 한다.
+    @Test
+    void isValid_replayedRequest_returnsFalse() throws Exception {
+        // Given
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        String body = "test_body";
+        String validSignature = "v0=" + calculateHmacSHA256("v0:" + timestamp + ":" + body, DUMMY_SIGNING_SECRET);
+
+        // When
+        boolean first = slackRequestVerifier.isValid(validSignature, timestamp, body);
+        boolean replayed = slackRequestVerifier.isValid(validSignature, timestamp, body);
+
+        // Then
+        assertTrue(first);
+        assertFalse(replayed);
+    }
+
+    // 길이는 맞지만 hex가 아닌 문자가 섞인 서명이면 false를 반환해야 한다.
+    @Test
+    void isValid_nonHexSignature_returnsFalse() throws Exception {
+        // Given
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        String body = "test_body";
+        String validHex = calculateHmacSHA256("v0:" + timestamp + ":" + body, DUMMY_SIGNING_SECRET);
+        String nonHexSignature = "v0=" + "zz" + validHex.substring(2);
+
+        // When
+        boolean isValid = slackRequestVerifier.isValid(nonHexSignature, timestamp, body);
+
+        // Then
+        assertFalse(isValid);
+    }
+
+    // 값은 같더라도 대문자 hex로 적힌 서명이면 false를 반환해야 한다.
+    @Test
+    void isValid_uppercaseHexSignature_returnsFalse() throws Exception {
+        // Given
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        String body = "test_body";
+        String validHex = calculateHmacSHA256("v0:" + timestamp + ":" + body, DUMMY_SIGNING_SECRET);
+        String uppercaseSignature = "v0=" + validHex.toUpperCase();
+
+        // When
+        boolean isValid = slackRequestVerifier.isValid(uppercaseSignature, timestamp, body);
+
+        // Then
+        assertFalse(isValid);
+    }
+
+    // 검증을 통과한 요청을 서명 표기만 대문자로 바꿔 다시 보내면 false를 반환해야 한다.
+    @Test
+    void isValid_replayedWithUppercasedSignature_returnsFalse() throws Exception {
+        // Given
+        String timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+        String body = "test_body";
+        String validHex = calculateHmacSHA256("v0:" + timestamp + ":" + body, DUMMY_SIGNING_SECRET);
+
+        // When
+        boolean first = slackRequestVerifier.isValid("v0=" + validHex, timestamp, body);
+        boolean replayed = slackRequestVerifier.isValid("v0=" + validHex.toUpperCase(), timestamp, body);
+
+        // Then
+        assertTrue(first);
+        assertFalse(replayed);
+    }
+
     // 테스트용 HMAC-SHA256 서명 생성 메서드
     private String calculateHmacSHA256(String data, String secret) throws Exception {
         SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
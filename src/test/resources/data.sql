@@ -1,4 +1,5 @@
 -- 기존 데이터 제거 (테스트 초기화용)
+DELETE FROM summary;
 DELETE FROM study_log;
 DELETE FROM users;
 
@@ -20,4 +21,10 @@ INSERT INTO study_log (content, timestamp, user_slack_user_id) VALUES
 
 -- 다른 유저의 StudyLog
 INSERT INTO study_log (content, timestamp, user_slack_user_id) VALUES
-('영어를 공부함', '2025-05-02T10:00:00', 'U999999');
\ No newline at end of file
+('영어를 공부함', '2025-05-02T10:00:00', 'U999999');
+
+-- 'jia'의 일간 요약 (rollup 테스트용: 5/1은 재시도로 두 번 저장됨, 5/3은 요약 없음)
+INSERT INTO summary (date, summary, feedback, success, user_slack_user_id, type) VALUES
+('2025-05-01', '자바 기초 (첫 시도)', '좋아요', TRUE, 'U123456', 'DAILY'),
+('2025-05-01', '자바 기초 학습', '좋아요', TRUE, 'U123456', 'DAILY'),
+('2025-05-02', 'JPA 복습', '좋아요', TRUE, 'U123456', 'DAILY');
@@ -1,5 +1,10 @@
+DROP TABLE IF EXISTS summary;
 DROP TABLE IF EXISTS study_log;
 DROP TABLE IF EXISTS users;
+DROP SEQUENCE IF EXISTS study_log_seq;
+
+-- StudyLog의 pooled 시퀀스 (allocationSize = 50)
+CREATE SEQUENCE study_log_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE users (
   slack_user_id VARCHAR(255) PRIMARY KEY,
@@ -7,9 +12,25 @@ CREATE TABLE users (
 );
 
 CREATE TABLE study_log (
-  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  id BIGINT DEFAULT NEXT VALUE FOR study_log_seq PRIMARY KEY,
   content VARCHAR(255),
   timestamp TIMESTAMP,
   user_slack_user_id VARCHAR(255),
   CONSTRAINT fk_user FOREIGN KEY (user_slack_user_id) REFERENCES users(slack_user_id)
 );
+
+CREATE INDEX idx_study_log_user_timestamp ON study_log (user_slack_user_id, timestamp);
+
+CREATE TABLE summary (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  date DATE,
+  summary VARCHAR(5000),
+  feedback VARCHAR(5000),
+  success BOOLEAN NOT NULL,
+  failure_reason VARCHAR(255),
+  user_slack_user_id VARCHAR(255),
+  type VARCHAR(255),
+  CONSTRAINT fk_summary_user FOREIGN KEY (user_slack_user_id) REFERENCES users(slack_user_id)
+);
+
+CREATE INDEX idx_summary_user_type_date ON summary (user_slack_user_id, type, date);